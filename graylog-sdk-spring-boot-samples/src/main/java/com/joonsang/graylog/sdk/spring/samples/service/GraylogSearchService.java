@@ -34,8 +34,7 @@ public class GraylogSearchService {
         SortConfig sort
     ) throws IOException {
 
-        @SuppressWarnings("unchecked")
-        Page<GraylogMessage> messages = (Page<GraylogMessage>) graylogSearch.getMessages(
+        Page<GraylogMessage> messages = graylogSearch.getMessages(
             List.of(GRAYLOG_STREAM_ID),
             timerange,
             query.build(),
@@ -41,8 +41,7 @@ public class LegacyGraylogSearchService {
         GraylogQuery query
     ) throws IOException, ReflectiveOperationException {
 
-        @SuppressWarnings("unchecked")
-        List<GraylogMessage> messages = (List<GraylogMessage>) legacyGraylogSearch.getMessages(
+        List<GraylogMessage> messages = legacyGraylogSearch.getMessages(
             GRAYLOG_STREAM_ID,
             fromDateTime,
             toDateTime,
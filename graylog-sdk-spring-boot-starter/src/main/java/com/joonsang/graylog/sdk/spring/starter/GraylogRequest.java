@@ -1,13 +1,28 @@
 package com.joonsang.graylog.sdk.spring.starter;
 
 import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogCluster;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogNode;
+import com.joonsang.graylog.sdk.spring.starter.cluster.HedgingPolicy;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogRequestRejectedException;
 import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+import com.joonsang.graylog.sdk.spring.starter.protection.RequestProtection;
+import com.joonsang.graylog.sdk.spring.starter.protection.RetryPolicy;
+import lombok.Builder;
 import okhttp3.*;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Graylog REST API Request
@@ -16,17 +31,69 @@ import java.util.Objects;
  */
 public class GraylogRequest {
 
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+
     private final OkHttpClient okHttpClient;
 
     private final GraylogApiProperties graylogApiProperties;
 
+    private final Executor callbackExecutor;
+
+    private final GraylogCluster graylogCluster;
+
+    private final HedgingPolicy hedgingPolicy;
+
+    private final RequestProtection requestProtection;
+
+    private final RetryPolicy retryPolicy;
+
     public GraylogRequest(
         OkHttpClient okHttpClient,
         GraylogApiProperties graylogApiProperties
     ) {
 
+        this(okHttpClient, graylogApiProperties, null, null, null, null, null);
+    }
+
+    /**
+     * Graylog REST API request built with {@link #builder()}.
+     * Collaborators which are not given are created from properties,
+     * and futures complete on the common fork join pool unless a callback executor is given.
+     * @param okHttpClient OkHttp client
+     * @param graylogApiProperties Graylog API properties
+     * @param callbackExecutor executor completing futures of asynchronous requests
+     * @param graylogCluster Graylog API nodes
+     * @param hedgingPolicy hedging policy of read-only requests
+     * @param requestProtection circuit breakers and concurrency limit of requests
+     * @param retryPolicy retry policy of read-only requests
+     * @since 2.1.0
+     */
+    @Builder
+    private GraylogRequest(
+        OkHttpClient okHttpClient,
+        GraylogApiProperties graylogApiProperties,
+        Executor callbackExecutor,
+        GraylogCluster graylogCluster,
+        HedgingPolicy hedgingPolicy,
+        RequestProtection requestProtection,
+        RetryPolicy retryPolicy
+    ) {
+
         this.okHttpClient = okHttpClient;
         this.graylogApiProperties = graylogApiProperties;
+        this.callbackExecutor = callbackExecutor == null ? ForkJoinPool.commonPool() : callbackExecutor;
+        this.graylogCluster = graylogCluster == null
+            ? GraylogCluster.create(graylogApiProperties, okHttpClient)
+            : graylogCluster;
+        this.hedgingPolicy = hedgingPolicy == null
+            ? new HedgingPolicy(graylogApiProperties.getHedging())
+            : hedgingPolicy;
+        this.requestProtection = requestProtection == null
+            ? new RequestProtection(graylogApiProperties.getProtection())
+            : requestProtection;
+        this.retryPolicy = retryPolicy == null
+            ? new RetryPolicy(graylogApiProperties.getRetry())
+            : retryPolicy;
     }
 
     /**
@@ -37,16 +104,25 @@ public class GraylogRequest {
      * @since 1.0.0
      */
     public String httpGetRequest(HttpUrl httpUrl) throws IOException {
+        return httpGetRequest(httpUrl, ResponseBody::string);
+    }
+
+    /**
+     * HTTP GET request with streaming response handler.
+     * @param httpUrl OkHttp HttpUrl object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> T httpGetRequest(HttpUrl httpUrl, ResponseHandler<T> responseHandler) throws IOException {
         Request request = new Request.Builder()
             .url(httpUrl)
             .get()
             .build();
 
-        Response response = okHttpClient.newCall(request).execute();
-
-        validateResponse(response);
-
-        return Objects.requireNonNull(response.body()).string();
+        return execute(request, responseHandler);
     }
 
     /**
@@ -58,16 +134,94 @@ public class GraylogRequest {
      * @since 2.0.0
      */
     public String httpPostRequest(HttpUrl httpUrl, RequestBody requestBody) throws IOException {
+        return httpPostRequest(httpUrl, requestBody, ResponseBody::string);
+    }
+
+    /**
+     * HTTP POST request with streaming response handler.
+     * @param httpUrl OkHttp HttpUrl object
+     * @param requestBody OkHttp RequestBody object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> T httpPostRequest(
+        HttpUrl httpUrl,
+        RequestBody requestBody,
+        ResponseHandler<T> responseHandler
+    ) throws IOException {
+
         Request request = new Request.Builder()
             .url(httpUrl)
             .post(requestBody)
             .build();
 
-        Response response = okHttpClient.newCall(request).execute();
+        return execute(request, responseHandler);
+    }
 
-        validateResponse(response);
+    /**
+     * Asynchronous HTTP GET request.
+     * @param httpUrl OkHttp HttpUrl object
+     * @return Future of response from Graylog, completed on the callback executor
+     * @since 2.1.0
+     */
+    public CompletableFuture<String> httpGetRequestAsync(HttpUrl httpUrl) {
+        return httpGetRequestAsync(httpUrl, ResponseBody::string);
+    }
 
-        return Objects.requireNonNull(response.body()).string();
+    /**
+     * Asynchronous HTTP GET request with streaming response handler.
+     * Response handler runs on OkHttp dispatcher thread while bytes arrive.
+     * @param httpUrl OkHttp HttpUrl object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, completed on the callback executor
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<T> httpGetRequestAsync(HttpUrl httpUrl, ResponseHandler<T> responseHandler) {
+        Request request = new Request.Builder()
+            .url(httpUrl)
+            .get()
+            .build();
+
+        return enqueue(request, responseHandler);
+    }
+
+    /**
+     * Asynchronous HTTP POST request.
+     * @param httpUrl OkHttp HttpUrl object
+     * @param requestBody OkHttp RequestBody object
+     * @return Future of response from Graylog, completed on the callback executor
+     * @since 2.1.0
+     */
+    public CompletableFuture<String> httpPostRequestAsync(HttpUrl httpUrl, RequestBody requestBody) {
+        return httpPostRequestAsync(httpUrl, requestBody, ResponseBody::string);
+    }
+
+    /**
+     * Asynchronous HTTP POST request with streaming response handler.
+     * Response handler runs on OkHttp dispatcher thread while bytes arrive.
+     * @param httpUrl OkHttp HttpUrl object
+     * @param requestBody OkHttp RequestBody object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, completed on the callback executor
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<T> httpPostRequestAsync(
+        HttpUrl httpUrl,
+        RequestBody requestBody,
+        ResponseHandler<T> responseHandler
+    ) {
+
+        Request request = new Request.Builder()
+            .url(httpUrl)
+            .post(requestBody)
+            .build();
+
+        return enqueue(request, responseHandler);
     }
 
     /**
@@ -82,6 +236,544 @@ public class GraylogRequest {
             .port(graylogApiProperties.getPort());
     }
 
+    /**
+     * Execute request and hand over response body to response handler.
+     * Read-only requests are retried with backoff within the retry deadline when retry is enabled.
+     * @param request OkHttp Request object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    private <T> T execute(Request request, ResponseHandler<T> responseHandler) throws IOException {
+        if (!isRetried(request)) {
+            try {
+                return executeOnce(request, responseHandler, NO_DEADLINE);
+            } catch (IOException e) {
+                throw unwrap(e);
+            }
+        }
+
+        long deadline = System.nanoTime() + retryPolicy.getDeadlineNanos();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(request, responseHandler, deadline);
+            } catch (IOException e) {
+                long delayNanos = retryDelayNanos(attempt, e, deadline);
+
+                if (delayNanos < 0) {
+                    throw unwrap(e);
+                }
+
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+
+                    throw new InterruptedIOException("Interrupted while waiting to retry Graylog request.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Execute request once on a node selected from Graylog cluster and hand over response body to response handler.
+     * Read-only requests are hedged when hedging is enabled, and then response handler runs on OkHttp dispatcher thread.
+     * When request protection is enabled, the calling thread waits up to max wait time for a free concurrency slot.
+     * @param request OkHttp Request object
+     * @param responseHandler handler consuming response body
+     * @param deadline time the call must be over by, in nanoseconds
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    private <T> T executeOnce(Request request, ResponseHandler<T> responseHandler, long deadline) throws IOException {
+        if (isHedged(request)) {
+            return await(send(request, responseHandler, true, true, deadline));
+        }
+
+        GraylogNode node = graylogCluster.select();
+        Request routedRequest = route(request, node);
+        RequestProtection.Permit permit = requestProtection.acquire(node, request, true);
+
+        long startedAt = System.nanoTime();
+        graylogCluster.onStart(node);
+
+        Response response;
+
+        try {
+            response = newCall(routedRequest, deadline).execute();
+        } catch (IOException | RuntimeException e) {
+            graylogCluster.onFailure(node);
+            permit.onFailure(System.nanoTime() - startedAt);
+            throw e;
+        }
+
+        try (response) {
+            recordResponse(node, response, startedAt, permit);
+            validateResponse(response);
+
+            return handle(responseHandler, response);
+        }
+    }
+
+    /**
+     * Enqueue request on OkHttp dispatcher without blocking the calling thread.
+     * Request is sent to a node selected from Graylog cluster, and hedged when it is read-only and hedging is enabled.
+     * Read-only requests are retried with backoff within the retry deadline when retry is enabled.
+     * Cancelling the returned future cancels the underlying calls and pending retries.
+     * When request protection is enabled, request is rejected at once if no concurrency slot is free.
+     * @param request OkHttp Request object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog
+     * @since 2.1.0
+     */
+    private <T> CompletableFuture<T> enqueue(Request request, ResponseHandler<T> responseHandler) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long deadline = isRetried(request) ? System.nanoTime() + retryPolicy.getDeadlineNanos() : NO_DEADLINE;
+
+        enqueueAttempt(future, request, responseHandler, 1, deadline);
+
+        return future;
+    }
+
+    /**
+     * Enqueue an attempt of a request, scheduling another attempt when it fails with a retryable failure.
+     * @param future future of handled response
+     * @param request OkHttp Request object
+     * @param responseHandler handler consuming response body
+     * @param attempt number of this attempt
+     * @param deadline time the request must be over by, in nanoseconds
+     * @param <T> type of handled result
+     * @since 2.1.0
+     */
+    private <T> void enqueueAttempt(
+        CompletableFuture<T> future,
+        Request request,
+        ResponseHandler<T> responseHandler,
+        int attempt,
+        long deadline
+    ) {
+
+        CompletableFuture<T> sent;
+
+        try {
+            sent = send(request, responseHandler, isHedged(request), false, deadline);
+        } catch (IOException e) {
+            retryOrFail(future, request, responseHandler, attempt, deadline, e);
+
+            return;
+        }
+
+        sent.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                completeOnCallbackExecutor(future, result, null);
+            } else {
+                retryOrFail(future, request, responseHandler, attempt, deadline, throwable);
+            }
+        });
+
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                sent.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * Schedule another attempt of a request if failure is retryable, or fail the request.
+     * @param future future of handled response
+     * @param request OkHttp Request object
+     * @param responseHandler handler consuming response body
+     * @param attempt number of the failed attempt
+     * @param deadline time the request must be over by, in nanoseconds
+     * @param throwable failure cause
+     * @param <T> type of handled result
+     * @since 2.1.0
+     */
+    private <T> void retryOrFail(
+        CompletableFuture<T> future,
+        Request request,
+        ResponseHandler<T> responseHandler,
+        int attempt,
+        long deadline,
+        Throwable throwable
+    ) {
+
+        long delayNanos = deadline != NO_DEADLINE && throwable instanceof IOException
+            ? retryDelayNanos(attempt, (IOException) throwable, deadline)
+            : -1;
+
+        if (delayNanos < 0 || future.isDone()) {
+            Throwable failure = throwable instanceof IOException ? unwrap((IOException) throwable) : throwable;
+
+            completeOnCallbackExecutor(future, null, failure);
+
+            return;
+        }
+
+        ScheduledFuture<?> retry = retryPolicy.schedule(
+            () -> enqueueAttempt(future, request, responseHandler, attempt + 1, deadline),
+            delayNanos
+        );
+
+        future.whenComplete((result, failure) -> retry.cancel(false));
+    }
+
+    /**
+     * Delay before retrying a failed attempt.
+     * Transport failures and retryable HTTP status codes are retried, waiting as long as Retry-After header asks.
+     * Failures of the response handler, such as a malformed response body, are not retried,
+     * as the same response would fail the same way.
+     * @param attempt number of the failed attempt
+     * @param e failure cause
+     * @param deadline time the request must be over by, in nanoseconds
+     * @return Delay in nanoseconds, or -1 if the request is not retried
+     * @since 2.1.0
+     */
+    private long retryDelayNanos(int attempt, IOException e, long deadline) {
+        if (attempt >= retryPolicy.getMaxAttempts() || Thread.currentThread().isInterrupted()) {
+            return -1;
+        }
+
+        long delayNanos;
+
+        if (e instanceof RetryableResponseException) {
+            long retryAfterNanos = ((RetryableResponseException) e).getRetryAfterNanos();
+
+            delayNanos = retryAfterNanos >= 0 ? retryAfterNanos : retryPolicy.backoffNanos(attempt);
+        } else if (e instanceof ResponseHandlingException
+            || e instanceof GraylogServerException
+            || e instanceof GraylogRequestRejectedException
+            || (e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException))) {
+
+            return -1;
+        } else {
+            delayNanos = retryPolicy.backoffNanos(attempt);
+        }
+
+        return deadline - System.nanoTime() - delayNanos > 0 ? delayNanos : -1;
+    }
+
+    /**
+     * Hand over response body to response handler.
+     * Failures of the handler are wrapped unless they are transport failures while reading the body,
+     * so that they are told apart from failures raised before the handler runs.
+     * @param responseHandler handler consuming response body
+     * @param response OkHttp Response object
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException failure reading or handling response body
+     * @since 2.1.0
+     */
+    private static <T> T handle(ResponseHandler<T> responseHandler, Response response) throws IOException {
+        try {
+            return responseHandler.handle(Objects.requireNonNull(response.body()));
+        } catch (SocketException | SocketTimeoutException | UnknownHostException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ResponseHandlingException(e);
+        }
+    }
+
+    /**
+     * Unwrap failure of response handler to the one the handler threw.
+     * @param e failure cause
+     * @return Failure to hand over to the caller
+     * @since 2.1.0
+     */
+    private static IOException unwrap(IOException e) {
+        return e instanceof ResponseHandlingException ? ((ResponseHandlingException) e).getCause() : e;
+    }
+
+    /**
+     * Create call, bounded by given deadline.
+     * @param request OkHttp Request object
+     * @param deadline time the call must be over by, in nanoseconds
+     * @return OkHttp Call object
+     * @since 2.1.0
+     */
+    private Call newCall(Request request, long deadline) {
+        Call call = okHttpClient.newCall(request);
+
+        if (deadline != NO_DEADLINE) {
+            long remainingNanos = Math.max(deadline - System.nanoTime(), 1L);
+            long timeoutNanos = call.timeout().timeoutNanos();
+
+            if (timeoutNanos == 0 || timeoutNanos > remainingNanos) {
+                call.timeout().timeout(remainingNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        return call;
+    }
+
+    /**
+     * Send request asynchronously to a node selected from Graylog cluster.
+     * When hedged and the node has not answered within the delay of hedging policy,
+     * the request is sent once more to another node if hedging budget allows.
+     * The first handled response wins and the other call is cancelled.
+     * Hedges are skipped when request protection does not admit them.
+     * @param request OkHttp Request object
+     * @param responseHandler handler consuming response body
+     * @param hedged whether the request may be hedged
+     * @param wait whether to wait for a free concurrency slot
+     * @param deadline time the calls must be over by, in nanoseconds
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, completed on OkHttp dispatcher thread
+     * @throws IOException request is rejected by request protection
+     * @since 2.1.0
+     */
+    private <T> CompletableFuture<T> send(
+        Request request,
+        ResponseHandler<T> responseHandler,
+        boolean hedged,
+        boolean wait,
+        long deadline
+    ) throws IOException {
+
+        Attempts<T> attempts = new Attempts<>(deadline);
+        GraylogNode node = graylogCluster.select();
+
+        dispatch(request, node, requestProtection.acquire(node, request, wait), responseHandler, attempts);
+
+        long delayNanos = hedged ? hedgingPolicy.getDelayNanos() : -1;
+
+        if (hedged) {
+            hedgingPolicy.onRequest();
+        }
+
+        if (delayNanos >= 0 && !attempts.result.isDone()) {
+            ScheduledFuture<?> timer = hedgingPolicy.schedule(() -> {
+                if (attempts.answered.get() || !hedgingPolicy.tryAcquire()) {
+                    return;
+                }
+
+                GraylogNode hedgeNode = graylogCluster.select(node);
+                RequestProtection.Permit permit;
+
+                try {
+                    permit = requestProtection.acquire(hedgeNode, request, false);
+                } catch (IOException e) {
+                    return;
+                }
+
+                if (attempts.pending.getAndUpdate(pending -> pending == 0 ? 0 : pending + 1) == 0) {
+                    permit.onCancel();
+
+                    return;
+                }
+
+                dispatch(request, hedgeNode, permit, responseHandler, attempts);
+            }, delayNanos);
+
+            attempts.result.whenComplete((result, throwable) -> timer.cancel(false));
+        }
+
+        attempts.result.whenComplete((result, throwable) -> attempts.calls.forEach(Call::cancel));
+
+        return attempts.result;
+    }
+
+    /**
+     * Dispatch one attempt of a request to given node.
+     * Response of an attempt which lost to another one is not handed over to response handler.
+     * @param request OkHttp Request object
+     * @param node Graylog node
+     * @param permit permit of request protection
+     * @param responseHandler handler consuming response body
+     * @param attempts attempts of the request
+     * @param <T> type of handled result
+     * @since 2.1.0
+     */
+    private <T> void dispatch(
+        Request request,
+        GraylogNode node,
+        RequestProtection.Permit permit,
+        ResponseHandler<T> responseHandler,
+        Attempts<T> attempts
+    ) {
+
+        Call call = newCall(route(request, node), attempts.deadline);
+
+        long startedAt = System.nanoTime();
+        graylogCluster.onStart(node);
+
+        attempts.calls.add(call);
+
+        if (attempts.result.isDone()) {
+            call.cancel();
+        }
+
+        call.enqueue(new Callback() {
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    graylogCluster.onCancel(node);
+                    permit.onCancel();
+                } else {
+                    graylogCluster.onFailure(node);
+                    permit.onFailure(System.nanoTime() - startedAt);
+                }
+
+                attempts.fail(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    recordResponse(node, response, startedAt, permit);
+                    attempts.answered.set(true);
+
+                    if (attempts.result.isDone()) {
+                        return;
+                    }
+
+                    validateResponse(response);
+
+                    attempts.result.complete(handle(responseHandler, response));
+                } catch (IOException | RuntimeException e) {
+                    attempts.fail(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Wait for asynchronously sent request.
+     * @param future future of handled response
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    private <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for Graylog server response.");
+        }
+    }
+
+    /**
+     * Whether request is hedged.
+     * @param request OkHttp Request object
+     * @return true if hedging is enabled and request is read-only
+     * @since 2.1.0
+     */
+    private boolean isHedged(Request request) {
+        return hedgingPolicy.isEnabled() && isReadOnly(request);
+    }
+
+    /**
+     * Whether request is retried.
+     * @param request OkHttp Request object
+     * @return true if retry is enabled and request is read-only
+     * @since 2.1.0
+     */
+    private boolean isRetried(Request request) {
+        return retryPolicy.isEnabled() && isReadOnly(request);
+    }
+
+    /**
+     * Whether request only reads from Graylog, so that it can be sent more than once.
+     * Synchronous searches are read-only although they are sent with HTTP POST.
+     * @param request OkHttp Request object
+     * @return true if request is read-only
+     * @since 2.1.0
+     */
+    private boolean isReadOnly(Request request) {
+        return "GET".equals(request.method()) || request.url().encodedPath().endsWith("/views/search/sync");
+    }
+
+    /**
+     * Route request to given node.
+     * @param request OkHttp Request object
+     * @param node Graylog node
+     * @return Request targeting the node
+     * @since 2.1.0
+     */
+    private Request route(Request request, GraylogNode node) {
+        HttpUrl httpUrl = node.resolve(request.url());
+
+        if (httpUrl == request.url()) {
+            return request;
+        }
+
+        return request.newBuilder().url(httpUrl).build();
+    }
+
+    /**
+     * Record response of a node to Graylog cluster, server errors count as node failure.
+     * Too many requests and service unavailable responses are overload signals as well,
+     * which shrink the concurrency limit and count against the circuit breaker rather than as successes.
+     * Latency of read-only requests answered successfully is recorded to hedging policy as well.
+     * @param node Graylog node
+     * @param response OkHttp Response object
+     * @param startedAt time the request was sent, in nanoseconds
+     * @param permit permit of request protection
+     * @since 2.1.0
+     */
+    private void recordResponse(GraylogNode node, Response response, long startedAt, RequestProtection.Permit permit) {
+        long latencyNanos = System.nanoTime() - startedAt;
+
+        if (response.code() >= 500 || response.code() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            graylogCluster.onFailure(node);
+            permit.onFailure(latencyNanos);
+        } else {
+            graylogCluster.onSuccess(node, latencyNanos);
+            permit.onSuccess(latencyNanos);
+
+            if (isReadOnly(response.request())) {
+                hedgingPolicy.recordLatency(latencyNanos);
+            }
+        }
+    }
+
+    /**
+     * Complete future on callback executor, so that dependent stages do not run on OkHttp dispatcher threads.
+     * @param future future to complete
+     * @param result handled response
+     * @param throwable failure cause
+     * @param <T> type of handled result
+     * @since 2.1.0
+     */
+    private <T> void completeOnCallbackExecutor(CompletableFuture<T> future, T result, Throwable throwable) {
+        Runnable completion = () -> {
+            if (throwable == null) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        };
+
+        try {
+            callbackExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
     /**
      * Validate Graylog server response.
      * @param response OkHttp Response object
@@ -116,6 +808,13 @@ public class GraylogRequest {
                         : "Graylog server error: " + errorBody;
             }
 
+            if (retryPolicy.isRetryableStatus(code)) {
+                throw new RetryableResponseException(
+                    codeText + message,
+                    RetryPolicy.parseRetryAfter(response.header("Retry-After"))
+                );
+            }
+
             throw new GraylogServerException(codeText + message);
         }
 
@@ -123,4 +822,63 @@ public class GraylogRequest {
             throw new GraylogServerException(codeText + "Graylog server responded empty HTTP response body.");
         }
     }
+
+    /**
+     * Attempts of a request, completed by the first handled response or the failure of the last attempt.
+     * @param <T> type of handled result
+     */
+    private static class Attempts<T> {
+
+        private final long deadline;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final List<Call> calls = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private final AtomicBoolean answered = new AtomicBoolean();
+
+        private Attempts(long deadline) {
+            this.deadline = deadline;
+        }
+
+        private void fail(Throwable throwable) {
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    /**
+     * Failure of response handler, which is not retried and is unwrapped before reaching the caller.
+     */
+    private static class ResponseHandlingException extends IOException {
+
+        private ResponseHandlingException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    /**
+     * Graylog server failure with HTTP status code which may be retried.
+     */
+    private static class RetryableResponseException extends GraylogServerException {
+
+        private final long retryAfterNanos;
+
+        private RetryableResponseException(String message, long retryAfterNanos) {
+            super(message);
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        private long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+    }
 }
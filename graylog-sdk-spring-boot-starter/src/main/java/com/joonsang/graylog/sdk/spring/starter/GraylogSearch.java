@@ -3,11 +3,13 @@ package com.joonsang.graylog.sdk.spring.starter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joonsang.graylog.sdk.spring.starter.domain.*;
 import com.joonsang.graylog.sdk.spring.starter.search.Search;
+import com.joonsang.graylog.sdk.spring.starter.search.SearchBatch;
+import com.joonsang.graylog.sdk.spring.starter.search.SearchTemplate;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Graylog Search
@@ -16,15 +18,24 @@ import java.util.stream.Collectors;
  */
 public class GraylogSearch {
 
-    private final ObjectMapper objectMapper;
-
     private final Search search;
 
-    public GraylogSearch(ObjectMapper objectMapper, Search search) {
-        this.objectMapper = objectMapper;
+    public GraylogSearch(Search search) {
         this.search = search;
     }
 
+    /**
+     * Graylog search with an object mapper, which is not used.
+     * @param objectMapper object mapper, ignored
+     * @param search search client
+     * @deprecated use {@link #GraylogSearch(Search)} instead
+     * @since 2.0.0
+     */
+    @Deprecated
+    public GraylogSearch(ObjectMapper objectMapper, Search search) {
+        this(search);
+    }
+
     /**
      * Message list with paging.
      * @param streamIds Graylog stream ID list
@@ -34,36 +45,131 @@ public class GraylogSearch {
      * @param pageNo page number
      * @param sort Graylog sort config object
      * @param messageObject message object
+     * @param <T> type of message object
      * @return List of message with paging
      * @throws IOException Graylog server failure
      * @since 2.0.0
      */
-    public Page<?> getMessages(
+    public <T> Page<T> getMessages(
         List<String> streamIds,
         Timerange timerange,
         String searchQuery,
         int pageSize,
         int pageNo,
         SortConfig sort,
-        Class<?> messageObject
+        Class<T> messageObject
+    ) throws IOException {
+
+        return getMessages(streamIds, timerange, searchQuery, pageSize, pageNo, sort, messageObject, List.of());
+    }
+
+    /**
+     * Message list with paging and parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param pageSize size of each page
+     * @param pageNo page number
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @param <T> type of message object
+     * @return List of message with paging
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> Page<T> getMessages(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        int pageSize,
+        int pageNo,
+        SortConfig sort,
+        Class<T> messageObject,
+        List<Parameter> parameters
     ) throws IOException {
 
         int offset = (pageSize * pageNo) - pageSize;
 
-        MessageList messageList = search.getMessages(timerange, searchQuery, pageSize, offset, sort, streamIds);
+        TypedMessageList<T> messageList = search.getMessages(
+            timerange,
+            searchQuery,
+            pageSize,
+            offset,
+            sort,
+            streamIds,
+            messageObject,
+            parameters
+        );
 
-        List<Map<String, Map<String, ?>>> messageMapList = messageList.getMessages();
+        return convertToPage(messageList, pageSize, pageNo);
+    }
 
-        return Page.builder()
-            .pageNo(pageNo)
-            .pageSize(pageSize)
-            .list(
-                messageMapList.stream()
-                    .map(e -> objectMapper.convertValue(e.get("message"), messageObject))
-                    .collect(Collectors.toList())
-            )
-            .totalCount(messageList.getTotalCount())
-            .build();
+    /**
+     * Asynchronous message list with paging.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param pageSize size of each page
+     * @param pageNo page number
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Future of list of message with paging
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<Page<T>> getMessagesAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        int pageSize,
+        int pageNo,
+        SortConfig sort,
+        Class<T> messageObject
+    ) {
+
+        return getMessagesAsync(streamIds, timerange, searchQuery, pageSize, pageNo, sort, messageObject, List.of());
+    }
+
+    /**
+     * Asynchronous message list with paging and parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param pageSize size of each page
+     * @param pageNo page number
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @param <T> type of message object
+     * @return Future of list of message with paging
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<Page<T>> getMessagesAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        int pageSize,
+        int pageNo,
+        SortConfig sort,
+        Class<T> messageObject,
+        List<Parameter> parameters
+    ) {
+
+        int offset = (pageSize * pageNo) - pageSize;
+
+        CompletableFuture<TypedMessageList<T>> messageList = search.getMessagesAsync(
+            timerange,
+            searchQuery,
+            pageSize,
+            offset,
+            sort,
+            streamIds,
+            messageObject,
+            parameters
+        );
+
+        return messageList.thenApply(typedMessageList -> convertToPage(typedMessageList, pageSize, pageNo));
     }
 
     /**
@@ -83,7 +189,69 @@ public class GraylogSearch {
         List<Series> seriesList
     ) throws IOException {
 
-        return search.getStatistics(timerange, searchQuery, seriesList, streamIds);
+        return getStatistics(streamIds, timerange, searchQuery, seriesList, List.of());
+    }
+
+    /**
+     * Statistics with parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Statistics from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public List<Statistics> getStatistics(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        return search.getStatistics(timerange, searchQuery, seriesList, streamIds, parameters);
+    }
+
+    /**
+     * Asynchronous statistics.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @return Future of statistics from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<List<Statistics>> getStatisticsAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList
+    ) {
+
+        return getStatisticsAsync(streamIds, timerange, searchQuery, seriesList, List.of());
+    }
+
+    /**
+     * Asynchronous statistics with parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Future of statistics from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<List<Statistics>> getStatisticsAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<Parameter> parameters
+    ) {
+
+        return search.getStatisticsAsync(timerange, searchQuery, seriesList, streamIds, parameters);
     }
 
     /**
@@ -109,7 +277,158 @@ public class GraylogSearch {
         SortConfig sort
     ) throws IOException {
 
-        return search.getTerms(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
+        return getTerms(streamIds, timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, List.of());
+    }
+
+    /**
+     * Terms with parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Terms from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public Terms getTerms(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        return search.getTerms(
+            timerange,
+            searchQuery,
+            seriesList,
+            rowGroups,
+            columnGroups,
+            sort,
+            streamIds,
+            parameters
+        );
+    }
+
+    /**
+     * Asynchronous terms.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Future of terms from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Terms> getTermsAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) {
+
+        return getTermsAsync(streamIds, timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, List.of());
+    }
+
+    /**
+     * Asynchronous terms with parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Future of terms from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Terms> getTermsAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<Parameter> parameters
+    ) {
+
+        return search.getTermsAsync(
+            timerange,
+            searchQuery,
+            seriesList,
+            rowGroups,
+            columnGroups,
+            sort,
+            streamIds,
+            parameters
+        );
+    }
+
+    /**
+     * Columnar terms.
+     * Holds row keys encoded with a label dictionary and series values in primitive arrays,
+     * and can be converted to {@link Terms} with {@link ColumnarTerms#toTerms()}.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Columnar terms from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public ColumnarTerms getColumnarTerms(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) throws IOException {
+
+        return search.getColumnarTerms(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
+    }
+
+    /**
+     * Asynchronous columnar terms.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Future of columnar terms from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<ColumnarTerms> getColumnarTermsAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) {
+
+        return search.getColumnarTermsAsync(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
     }
 
     /**
@@ -133,7 +452,295 @@ public class GraylogSearch {
         List<SearchTypePivot> columnGroups
     ) throws IOException {
 
-        return search.getHistogram(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+        return getHistogram(streamIds, timerange, interval, searchQuery, seriesList, columnGroups, List.of());
+    }
+
+    /**
+     * Histogram with parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Histogram from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public Histogram getHistogram(
+        List<String> streamIds,
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        return search.getHistogram(timerange, interval, searchQuery, seriesList, columnGroups, streamIds, parameters);
+    }
+
+    /**
+     * Asynchronous histogram.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Future of histogram from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Histogram> getHistogramAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) {
+
+        return getHistogramAsync(streamIds, timerange, interval, searchQuery, seriesList, columnGroups, List.of());
+    }
+
+    /**
+     * Asynchronous histogram with parameters.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Future of histogram from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Histogram> getHistogramAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<Parameter> parameters
+    ) {
+
+        return search.getHistogramAsync(
+            timerange,
+            interval,
+            searchQuery,
+            seriesList,
+            columnGroups,
+            streamIds,
+            parameters
+        );
+    }
+
+    /**
+     * Columnar histogram.
+     * Holds bucket timestamps and series values in primitive arrays,
+     * and can be converted to {@link Histogram} with {@link ColumnarHistogram#toHistogram()}.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Columnar histogram from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public ColumnarHistogram getColumnarHistogram(
+        List<String> streamIds,
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) throws IOException {
+
+        return search.getColumnarHistogram(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+    }
+
+    /**
+     * Asynchronous columnar histogram.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Future of columnar histogram from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<ColumnarHistogram> getColumnarHistogramAsync(
+        List<String> streamIds,
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) {
+
+        return search.getColumnarHistogramAsync(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+    }
+
+    /**
+     * Statistics of several periods, compared in one request.
+     * @param streamIds Graylog stream ID list
+     * @param periods Graylog time range object of each period
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @return Statistics of each period, in the order of periods
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public List<List<Statistics>> compareStatistics(
+        List<String> streamIds,
+        List<Timerange> periods,
+        String searchQuery,
+        List<Series> seriesList
+    ) throws IOException {
+
+        return search.compareStatistics(periods, searchQuery, seriesList, streamIds);
+    }
+
+    /**
+     * Asynchronous statistics of several periods, compared in one request.
+     * @param streamIds Graylog stream ID list
+     * @param periods Graylog time range object of each period
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @return Future of statistics of each period, in the order of periods
+     * @since 2.1.0
+     */
+    public CompletableFuture<List<List<Statistics>>> compareStatisticsAsync(
+        List<String> streamIds,
+        List<Timerange> periods,
+        String searchQuery,
+        List<Series> seriesList
+    ) {
+
+        return search.compareStatisticsAsync(periods, searchQuery, seriesList, streamIds);
+    }
+
+    /**
+     * Histograms of several periods, compared in one request with buckets aligned by offset from the period start.
+     * @param streamIds Graylog stream ID list
+     * @param periods Graylog time range object of each period
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Histogram comparison
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public HistogramComparison compareHistogram(
+        List<String> streamIds,
+        List<Timerange> periods,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) throws IOException {
+
+        return search.compareHistogram(periods, interval, searchQuery, seriesList, columnGroups, streamIds);
+    }
+
+    /**
+     * Asynchronous histograms of several periods, compared in one request with buckets aligned by offset.
+     * Buckets are re-keyed to milliseconds from the start of each period.
+     * @param streamIds Graylog stream ID list
+     * @param periods Graylog time range object of each period
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Future of histogram comparison
+     * @since 2.1.0
+     */
+    public CompletableFuture<HistogramComparison> compareHistogramAsync(
+        List<String> streamIds,
+        List<Timerange> periods,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) {
+
+        return search.compareHistogramAsync(periods, interval, searchQuery, seriesList, columnGroups, streamIds);
+    }
+
+    /**
+     * Batch of searches sharing time range, search query and streams, executed in one request.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @return Search batch
+     * @since 2.1.0
+     */
+    public SearchBatch batch(List<String> streamIds, Timerange timerange, String searchQuery) {
+        return search.batch(timerange, searchQuery, streamIds);
+    }
+
+    /**
+     * Statistics template, compiled once and executed with time range and search query.
+     * @param streamIds Graylog stream ID list
+     * @param seriesList Gralog series object list
+     * @return Search template of statistics
+     * @throws IOException failure serializing search spec
+     * @since 2.1.0
+     */
+    public SearchTemplate<List<Statistics>> statisticsTemplate(
+        List<String> streamIds,
+        List<Series> seriesList
+    ) throws IOException {
+
+        return search.statisticsTemplate(seriesList, streamIds);
+    }
+
+    /**
+     * Terms template, compiled once and executed with time range and search query.
+     * @param streamIds Graylog stream ID list
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Search template of terms
+     * @throws IOException failure serializing search spec
+     * @since 2.1.0
+     */
+    public SearchTemplate<Terms> termsTemplate(
+        List<String> streamIds,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) throws IOException {
+
+        return search.termsTemplate(seriesList, rowGroups, columnGroups, sort, streamIds);
+    }
+
+    /**
+     * Histogram template, compiled once and executed with time range and search query.
+     * @param streamIds Graylog stream ID list
+     * @param interval Graylog interval object
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Search template of histogram
+     * @throws IOException failure serializing search spec
+     * @since 2.1.0
+     */
+    public SearchTemplate<Histogram> histogramTemplate(
+        List<String> streamIds,
+        Interval interval,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) throws IOException {
+
+        return search.histogramTemplate(interval, seriesList, columnGroups, streamIds);
     }
 
     /**
@@ -146,4 +753,55 @@ public class GraylogSearch {
     public String raw(SearchSpec searchSpec) throws IOException {
         return search.syncSearch(searchSpec);
     }
+
+    /**
+     * Raw search with streaming response handler.
+     * @param searchSpec Graylog search spec object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> T raw(SearchSpec searchSpec, ResponseHandler<T> responseHandler) throws IOException {
+        return search.syncSearch(searchSpec, responseHandler);
+    }
+
+    /**
+     * Asynchronous raw search.
+     * @param searchSpec Graylog search spec object
+     * @return Future of response body from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<String> rawAsync(SearchSpec searchSpec) {
+        return search.syncSearchAsync(searchSpec);
+    }
+
+    /**
+     * Warm up request serialization and response parsing, without requesting Graylog.
+     * @param messageObjects message objects which messages are bound into
+     * @throws IOException failure serializing or parsing synthetic payloads
+     * @since 2.1.0
+     */
+    public void warmUp(Collection<Class<?>> messageObjects) throws IOException {
+        search.warmUp(messageObjects);
+    }
+
+    /**
+     * Convert message list to page of message object.
+     * @param messageList typed message list from Graylog
+     * @param pageSize size of each page
+     * @param pageNo page number
+     * @param <T> type of message object
+     * @return List of message with paging
+     * @since 2.1.0
+     */
+    private <T> Page<T> convertToPage(TypedMessageList<T> messageList, int pageSize, int pageNo) {
+        return Page.<T>builder()
+            .pageNo(pageNo)
+            .pageSize(pageSize)
+            .list(messageList.getMessages())
+            .totalCount(messageList.getTotalCount())
+            .build();
+    }
 }
@@ -1,7 +1,9 @@
 package com.joonsang.graylog.sdk.spring.starter;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.joonsang.graylog.sdk.spring.starter.constant.TimeUnit;
+import okhttp3.ResponseBody;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -31,6 +33,31 @@ public class GraylogUtils {
         }
     }
 
+    /**
+     * Get Double value from JSON path of parsed JSON document.
+     * @param document parsed JSON document
+     * @param path JSON path to get
+     * @return Converted Double value
+     * @since 2.1.0
+     */
+    public static Double getDoubleFromJsonPath(DocumentContext document, String path) {
+        try {
+            return document.read(path, Double.class);
+        } catch (NumberFormatException nfe) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Parse JSON document while response body is streamed from Graylog.
+     * @param responseBody OkHttp ResponseBody object
+     * @return Parsed JSON document
+     * @since 2.1.0
+     */
+    public static DocumentContext parseJsonDocument(ResponseBody responseBody) {
+        return JsonPath.parse(responseBody.byteStream());
+    }
+
     /**
      * Parse Big Decimal number to Double.
      * @param number Big Decimal number
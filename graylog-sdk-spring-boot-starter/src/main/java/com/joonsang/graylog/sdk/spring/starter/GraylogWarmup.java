@@ -0,0 +1,171 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogCluster;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogNode;
+import okhttp3.*;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Graylog Warm-up
+ * <p>
+ * Runs once at startup, before the web server takes traffic.
+ * Opens pooled connections to every Graylog node and exercises request serialization and response parsing
+ * for registered message objects, so that the first requests do not pay for handshakes and cold code paths.
+ * Warm-up failures are logged and never fail startup.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class GraylogWarmup implements SmartLifecycle {
+
+    private static final Log log = LogFactory.getLog(GraylogWarmup.class);
+
+    private static final String PROBE_PATH = "api/system/lbstatus";
+
+    private final GraylogApiProperties.Warmup properties;
+
+    private final OkHttpClient okHttpClient;
+
+    private final GraylogCluster graylogCluster;
+
+    private final GraylogSearch graylogSearch;
+
+    private final LegacyGraylogSearch legacyGraylogSearch;
+
+    private volatile boolean running;
+
+    public GraylogWarmup(
+        GraylogApiProperties.Warmup properties,
+        OkHttpClient okHttpClient,
+        GraylogCluster graylogCluster,
+        GraylogSearch graylogSearch,
+        LegacyGraylogSearch legacyGraylogSearch
+    ) {
+
+        this.properties = properties;
+        this.okHttpClient = okHttpClient;
+        this.graylogCluster = graylogCluster;
+        this.graylogSearch = graylogSearch;
+        this.legacyGraylogSearch = legacyGraylogSearch;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+
+        long startedAt = System.nanoTime();
+        int connections = openConnections();
+
+        warmUpCodePaths();
+
+        log.info(
+            "Graylog warm-up opened " + connections + " connections in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + " ms."
+        );
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before the web server, which starts in the phase just below the default one.
+     * @return Lifecycle phase
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2;
+    }
+
+    /**
+     * Open connections to every node concurrently through load balancer status API,
+     * so that each of them is established in the connection pool.
+     * @return Number of connections which have been answered
+     * @since 2.1.0
+     */
+    private int openConnections() {
+        List<GraylogNode> nodes = graylogCluster.getNodes();
+        int connections = Math.max(properties.getConnections(), 0);
+
+        CountDownLatch latch = new CountDownLatch(nodes.size() * connections);
+        AtomicInteger answered = new AtomicInteger();
+        List<Call> calls = new ArrayList<>();
+
+        for (GraylogNode node : nodes) {
+            HttpUrl httpUrl = new HttpUrl.Builder()
+                .scheme(node.getScheme())
+                .host(node.getHost())
+                .port(node.getPort())
+                .addPathSegments(PROBE_PATH)
+                .build();
+
+            for (int i = 0; i < connections; i++) {
+                Call call = okHttpClient.newCall(new Request.Builder().url(httpUrl).get().build());
+                calls.add(call);
+
+                call.enqueue(new Callback() {
+
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        log.debug("Graylog warm-up failed to connect to " + httpUrl.host() + ":" + httpUrl.port(), e);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        response.close();
+                        answered.incrementAndGet();
+                        latch.countDown();
+                    }
+                });
+            }
+        }
+
+        try {
+            if (!latch.await(properties.getTimeout(), TimeUnit.MILLISECONDS)) {
+                log.warn("Graylog warm-up timed out opening connections.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            calls.forEach(Call::cancel);
+        }
+
+        return answered.get();
+    }
+
+    /**
+     * Exercise request serialization and response parsing with synthetic payloads.
+     * @since 2.1.0
+     */
+    private void warmUpCodePaths() {
+        List<Class<?>> messageObjects = properties.getMessageClasses();
+
+        try {
+            if (graylogSearch != null) {
+                graylogSearch.warmUp(messageObjects);
+            }
+
+            if (legacyGraylogSearch != null) {
+                legacyGraylogSearch.warmUp(messageObjects);
+            }
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            log.warn("Graylog warm-up failed exercising serialization and parsing.", e);
+        }
+    }
+}
@@ -14,9 +14,9 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Legacy Graylog Search
@@ -45,17 +45,18 @@ public class LegacyGraylogSearch {
      * @param toDateTime time range end
      * @param query Graylog search query
      * @param messageObject message object
+     * @param <T> type of message object
      * @return List of message
      * @throws IOException Graylog server failure
      * @throws ReflectiveOperationException if given message object does not have constructor
      * @since 1.0.0
      */
-    public List<?> getMessages(
+    public <T> List<T> getMessages(
         String streamId,
         LocalDateTime fromDateTime,
         LocalDateTime toDateTime,
         String query,
-        Class<?> messageObject
+        Class<T> messageObject
     ) throws IOException, ReflectiveOperationException {
 
         String filter = "streams:" + streamId;
@@ -69,19 +70,16 @@ public class LegacyGraylogSearch {
 
         List<String> fieldList = new ArrayList<>(objectMap.keySet());
 
-        List<Map<String, Map<String, ?>>> messageMapList = legacySearchAbsolute.getMessages(
+        return legacySearchAbsolute.getMessages(
             StringUtils.join(fieldList, ","),
             query,
             from,
             to,
             StringUtils.EMPTY,
             StringUtils.EMPTY,
-            filter
+            filter,
+            messageObject
         ).getMessages();
-
-        return messageMapList.stream()
-            .map(e -> objectMapper.convertValue(e.get("message"), messageObject))
-            .collect(Collectors.toList());
     }
 
     /**
@@ -93,19 +91,20 @@ public class LegacyGraylogSearch {
      * @param pageSize size of each page
      * @param pageNo page number
      * @param messageObject message object
+     * @param <T> type of message object
      * @return List of message with paging
      * @throws IOException Graylog server failure
      * @throws ReflectiveOperationException if given message object does not have constructor
      * @since 1.2.0
      */
-    public Page<?> getMessages(
+    public <T> Page<T> getMessages(
         String streamId,
         LocalDateTime fromDateTime,
         LocalDateTime toDateTime,
         String query,
         int pageSize,
         int pageNo,
-        Class<?> messageObject
+        Class<T> messageObject
     ) throws IOException, ReflectiveOperationException {
 
         String filter = "streams:" + streamId;
@@ -121,26 +120,21 @@ public class LegacyGraylogSearch {
 
         int offset = (pageSize * pageNo) - pageSize;
 
-        MessageList messageList = legacySearchAbsolute.getMessages(
+        TypedMessageList<T> messageList = legacySearchAbsolute.getMessages(
             StringUtils.join(fieldList, ","),
             query,
             from,
             to,
             String.valueOf(pageSize),
             String.valueOf(offset),
-            filter
+            filter,
+            messageObject
         );
 
-        List<Map<String, Map<String, ?>>> messageMapList = messageList.getMessages();
-
-        return Page.builder()
+        return Page.<T>builder()
             .pageNo(pageNo)
             .pageSize(pageSize)
-            .list(
-                messageMapList.stream()
-                    .map(e -> objectMapper.convertValue(e.get("message"), messageObject))
-                    .collect(Collectors.toList())
-            )
+            .list(messageList.getMessages())
             .totalCount(messageList.getTotalCount())
             .build();
     }
@@ -268,4 +262,22 @@ public class LegacyGraylogSearch {
             topValuesOnly
         );
     }
+
+    /**
+     * Warm up response parsing and field introspection of message objects, without requesting Graylog.
+     * @param messageObjects message objects which messages are bound into
+     * @throws IOException failure parsing synthetic payloads
+     * @throws ReflectiveOperationException if given message object does not have constructor
+     * @since 2.1.0
+     */
+    public void warmUp(Collection<Class<?>> messageObjects) throws IOException, ReflectiveOperationException {
+        legacySearchAbsolute.warmUp(messageObjects);
+
+        for (Class<?> messageObject : messageObjects) {
+            objectMapper.convertValue(
+                messageObject.getDeclaredConstructor().newInstance(),
+                new TypeReference<Map<String, Object>>() {}
+            );
+        }
+    }
 }
@@ -0,0 +1,218 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import com.joonsang.graylog.sdk.spring.starter.domain.*;
+import com.joonsang.graylog.sdk.spring.starter.search.Search;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive Graylog Search
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class ReactiveGraylogSearch {
+
+    private final Search search;
+
+    public ReactiveGraylogSearch(Search search) {
+        this.search = search;
+    }
+
+    /**
+     * Message list with paging.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param pageSize size of each page
+     * @param pageNo page number
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return List of message with paging
+     * @since 2.1.0
+     */
+    public <T> Mono<Page<T>> getMessages(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        int pageSize,
+        int pageNo,
+        SortConfig sort,
+        Class<T> messageObject
+    ) {
+
+        int offset = (pageSize * pageNo) - pageSize;
+
+        return Mono.defer(() ->
+            Mono.fromFuture(search.getMessagesAsync(timerange, searchQuery, pageSize, offset, sort, streamIds, messageObject))
+        )
+            .map(messageList ->
+                Page.<T>builder()
+                    .pageNo(pageNo)
+                    .pageSize(pageSize)
+                    .list(messageList.getMessages())
+                    .totalCount(messageList.getTotalCount())
+                    .build()
+            );
+    }
+
+    /**
+     * Stream of every message matching search query.
+     * Pages of given size are requested one after another as the subscriber consumes messages,
+     * so an absolute time range should be used to get a stable result.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param pageSize number of messages requested at once
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Stream of message
+     * @since 2.1.0
+     */
+    public <T> Flux<T> getMessageStream(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        int pageSize,
+        SortConfig sort,
+        Class<T> messageObject
+    ) {
+
+        return getMessageChunk(streamIds, timerange, searchQuery, pageSize, 0, sort, messageObject)
+            .expand(chunk -> {
+                int nextOffset = chunk.offset + chunk.messageList.getMessages().size();
+
+                if (chunk.messageList.getMessages().isEmpty() || nextOffset >= chunk.messageList.getTotalCount()) {
+                    return Mono.empty();
+                }
+
+                return getMessageChunk(streamIds, timerange, searchQuery, pageSize, nextOffset, sort, messageObject);
+            })
+            .concatMapIterable(chunk -> chunk.messageList.getMessages());
+    }
+
+    /**
+     * Statistics.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @return Statistics from Graylog
+     * @since 2.1.0
+     */
+    public Mono<List<Statistics>> getStatistics(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList
+    ) {
+
+        return Mono.defer(() -> Mono.fromFuture(search.getStatisticsAsync(timerange, searchQuery, seriesList, streamIds)));
+    }
+
+    /**
+     * Terms.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Terms from Graylog
+     * @since 2.1.0
+     */
+    public Mono<Terms> getTerms(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) {
+
+        return Mono.defer(() ->
+            Mono.fromFuture(search.getTermsAsync(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds))
+        );
+    }
+
+    /**
+     * Histogram.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Histogram from Graylog
+     * @since 2.1.0
+     */
+    public Mono<Histogram> getHistogram(
+        List<String> streamIds,
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) {
+
+        return Mono.defer(() ->
+            Mono.fromFuture(search.getHistogramAsync(timerange, interval, searchQuery, seriesList, columnGroups, streamIds))
+        );
+    }
+
+    /**
+     * Raw search.
+     * @param searchSpec Graylog search spec object
+     * @return Response body from Graylog
+     * @since 2.1.0
+     */
+    public Mono<String> raw(SearchSpec searchSpec) {
+        return Mono.defer(() -> Mono.fromFuture(search.syncSearchAsync(searchSpec)));
+    }
+
+    /**
+     * Request a chunk of message list starting from given offset.
+     * @param streamIds Graylog stream ID list
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Chunk of message list
+     * @since 2.1.0
+     */
+    private <T> Mono<MessageChunk<T>> getMessageChunk(
+        List<String> streamIds,
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        Class<T> messageObject
+    ) {
+
+        return Mono.defer(() ->
+            Mono.fromFuture(search.getMessagesAsync(timerange, searchQuery, limit, offset, sort, streamIds, messageObject))
+        )
+            .map(messageList -> new MessageChunk<>(offset, messageList));
+    }
+
+    private static class MessageChunk<T> {
+
+        private final int offset;
+
+        private final TypedMessageList<T> messageList;
+
+        private MessageChunk(int offset, TypedMessageList<T> messageList) {
+            this.offset = offset;
+            this.messageList = messageList;
+        }
+    }
+}
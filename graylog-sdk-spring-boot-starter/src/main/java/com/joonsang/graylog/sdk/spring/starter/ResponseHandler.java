@@ -0,0 +1,29 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Graylog REST API Response Handler
+ * <p>
+ * Consumes response body while bytes arrive from Graylog,
+ * through {@link ResponseBody#source()} or {@link ResponseBody#byteStream()},
+ * without materializing the whole body as a String first.
+ * Response is closed by {@link GraylogRequest} after the handler returns.
+ * @param <T> type of handled result
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface ResponseHandler<T> {
+
+    /**
+     * Handle successful response body.
+     * @param responseBody OkHttp ResponseBody object
+     * @return Handled result
+     * @throws IOException failure reading response body
+     * @since 2.1.0
+     */
+    T handle(ResponseBody responseBody) throws IOException;
+}
@@ -0,0 +1,64 @@
+package com.joonsang.graylog.sdk.spring.starter.autoconfigure;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Socket factory applying socket buffer sizes to every socket it creates.
+ * TLS sockets are layered over these sockets, so buffer sizes apply to them as well.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+class BufferSizeSocketFactory extends SocketFactory {
+
+    private final SocketFactory delegate;
+
+    private final Integer sendBufferSize;
+
+    private final Integer receiveBufferSize;
+
+    BufferSizeSocketFactory(SocketFactory delegate, Integer sendBufferSize, Integer receiveBufferSize) {
+        this.delegate = delegate;
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return configure(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return configure(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return configure(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return configure(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        return configure(delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    private Socket configure(Socket socket) throws IOException {
+        if (sendBufferSize != null) {
+            socket.setSendBufferSize(sendBufferSize);
+        }
+
+        if (receiveBufferSize != null) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+
+        return socket;
+    }
+}
@@ -1,9 +1,15 @@
 package com.joonsang.graylog.sdk.spring.starter.autoconfigure;
 
+import com.joonsang.graylog.sdk.spring.starter.constant.IdGeneration;
+import com.joonsang.graylog.sdk.spring.starter.constant.NodeBalancing;
+import com.joonsang.graylog.sdk.spring.starter.constant.TransportProtocol;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Graylog API Properties
  * @author debugrammer
@@ -23,4 +29,277 @@ public class GraylogApiProperties {
     private String credentials = "";
 
     private Long timeout = 60000L;
+
+    private IdGeneration idGeneration = IdGeneration.SEQUENTIAL;
+
+    private Transport transport = new Transport();
+
+    private Cluster cluster = new Cluster();
+
+    private Hedging hedging = new Hedging();
+
+    private Protection protection = new Protection();
+
+    private Retry retry = new Retry();
+
+    private Warmup warmup = new Warmup();
+
+    private Cache cache = new Cache();
+
+    /**
+     * Transport Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Transport {
+
+        private Integer maxIdleConnections = 10;
+
+        private Long keepAlive = 10000L;
+
+        /**
+         * Maximum number of asynchronous requests in flight
+         */
+        private Integer maxRequests = 64;
+
+        /**
+         * Maximum number of asynchronous requests in flight per node
+         */
+        private Integer maxRequestsPerHost = 32;
+
+        /**
+         * Connect timeout in milliseconds, graylog.sdk.api.timeout is used when not set
+         */
+        private Long connectTimeout;
+
+        /**
+         * Read timeout in milliseconds, graylog.sdk.api.timeout is used when not set
+         */
+        private Long readTimeout;
+
+        /**
+         * Write timeout in milliseconds, graylog.sdk.api.timeout is used when not set
+         */
+        private Long writeTimeout;
+
+        /**
+         * Timeout of a whole call in milliseconds, 0 for no timeout
+         */
+        private Long callTimeout = 0L;
+
+        private TransportProtocol protocol = TransportProtocol.HTTP_2;
+
+        /**
+         * Socket send buffer size in bytes, system default is used when not set
+         */
+        private Integer sendBufferSize;
+
+        /**
+         * Socket receive buffer size in bytes, system default is used when not set
+         */
+        private Integer receiveBufferSize;
+    }
+
+    /**
+     * Graylog Cluster Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Cluster {
+
+        /**
+         * Graylog API node URLs such as http://graylog-1:9000, scheme, host and port are used when empty
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        private NodeBalancing balancing = NodeBalancing.ROUND_ROBIN;
+
+        private Integer failureThreshold = 5;
+
+        private Long ejectionTime = 30000L;
+
+        private Long maxEjectionTime = 300000L;
+
+        private Integer maxEjectionPercent = 50;
+
+        private Long probeInterval = 10000L;
+
+        private Long probeTimeout = 5000L;
+
+        private Long latencyDecayTime = 10000L;
+    }
+
+    /**
+     * Request Hedging Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Hedging {
+
+        private Boolean enabled = false;
+
+        /**
+         * Percentile of recent read latency after which an unanswered read is hedged
+         */
+        private Double percentile = 95.0;
+
+        private Long minDelay = 10L;
+
+        /**
+         * Maximum share of read traffic sent as hedges, in percent
+         */
+        private Integer budgetPercent = 5;
+
+        private Integer windowSize = 1000;
+    }
+
+    /**
+     * Request Protection Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Protection {
+
+        private Boolean enabled = false;
+
+        /**
+         * Failure rate of a node and endpoint in percent, at which its circuit breaker opens
+         */
+        private Integer failureRateThreshold = 50;
+
+        private Integer minimumCalls = 20;
+
+        private Integer slidingWindowSize = 50;
+
+        private Long openTime = 30000L;
+
+        private Integer halfOpenCalls = 3;
+
+        private Integer initialLimit = 20;
+
+        private Integer minLimit = 2;
+
+        private Integer maxLimit = 200;
+
+        private Double backoffRatio = 0.9;
+
+        /**
+         * Latency above this multiple of the long-term average latency shrinks the concurrency limit
+         */
+        private Double latencyTolerance = 2.0;
+
+        /**
+         * Time a blocking request waits for a free slot when the concurrency limit is reached, in milliseconds
+         */
+        private Long maxWait = 0L;
+    }
+
+    /**
+     * Retry Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        private Boolean enabled = false;
+
+        private Integer maxAttempts = 3;
+
+        private Long initialBackoff = 100L;
+
+        private Long maxBackoff = 5000L;
+
+        private Double multiplier = 2.0;
+
+        /**
+         * Total time budget of a request over all attempts and backoffs, in milliseconds
+         */
+        private Long deadline = 60000L;
+
+        private List<Integer> retryableStatuses = new ArrayList<>(List.of(429, 502, 503, 504));
+    }
+
+    /**
+     * Warm-up Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Warmup {
+
+        private Boolean enabled = false;
+
+        /**
+         * Number of connections opened to each node
+         */
+        private Integer connections = 2;
+
+        /**
+         * Message classes whose binding is warmed up
+         */
+        private List<Class<?>> messageClasses = new ArrayList<>();
+
+        private Long timeout = 10000L;
+    }
+
+    /**
+     * Search Cache Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether identical searches in flight share one request and its result
+         */
+        private Boolean coalescing = false;
+
+        /**
+         * Whether parsed search results are cached
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Maximum total weight of cached results in bytes, weighed by the size of their responses
+         */
+        private Long maxWeight = 67108864L;
+
+        /**
+         * Time to live of cached results in milliseconds
+         */
+        private Long ttl = 30000L;
+
+        /**
+         * Age in milliseconds after which a cached result is refreshed in the background while still served,
+         * or 0 to disable
+         */
+        private Long refreshAfter = 0L;
+
+        /**
+         * Number of threads refreshing cached results
+         */
+        private Integer refreshThreads = 2;
+
+        /**
+         * Grid in milliseconds which relative and "last N units" keyword time ranges are aligned to, or 0 to disable;
+         * other keyword and absolute time ranges are left as they are
+         */
+        private Long timerangeAlignment = 0L;
+
+        /**
+         * Whether histograms with a fixed interval only fetch buckets which have not been closed yet
+         */
+        private Boolean incrementalHistogram = false;
+
+        /**
+         * Time in milliseconds after the end of a histogram bucket before it is closed, for late messages to arrive
+         */
+        private Long histogramSettleTime = 60000L;
+    }
 }
@@ -6,20 +6,39 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.joonsang.graylog.sdk.spring.starter.LegacyGraylogSearch;
 import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
 import com.joonsang.graylog.sdk.spring.starter.GraylogSearch;
+import com.joonsang.graylog.sdk.spring.starter.GraylogWarmup;
+import com.joonsang.graylog.sdk.spring.starter.cache.ImmutableRangeCache;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchResultCache;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogCluster;
+import com.joonsang.graylog.sdk.spring.starter.cluster.HedgingPolicy;
+import com.joonsang.graylog.sdk.spring.starter.constant.TransportProtocol;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategy;
+import com.joonsang.graylog.sdk.spring.starter.protection.RequestProtection;
+import com.joonsang.graylog.sdk.spring.starter.protection.RetryPolicy;
 import com.joonsang.graylog.sdk.spring.starter.search.LegacySearchAbsolute;
 import com.joonsang.graylog.sdk.spring.starter.search.Search;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+
+import javax.net.SocketFactory;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -62,12 +81,34 @@ public class GraylogSdkAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "graylogOkHttpClient")
     public OkHttpClient graylogOkHttpClient() {
+        GraylogApiProperties.Transport transport = graylogApiProperties.getTransport();
+        long timeout = graylogApiProperties.getTimeout();
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(transport.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(transport.getMaxRequestsPerHost());
+
         OkHttpClient.Builder builder = new OkHttpClient.Builder()
-            .connectionPool(new ConnectionPool(10, 10, TimeUnit.SECONDS))
+            .connectionPool(
+                new ConnectionPool(transport.getMaxIdleConnections(), transport.getKeepAlive(), TimeUnit.MILLISECONDS)
+            )
+            .dispatcher(dispatcher)
             .retryOnConnectionFailure(true)
-            .connectTimeout(60, TimeUnit.SECONDS)
-            .readTimeout(60, TimeUnit.SECONDS)
-            .writeTimeout(60, TimeUnit.SECONDS);
+            .connectTimeout(Objects.requireNonNullElse(transport.getConnectTimeout(), timeout), TimeUnit.MILLISECONDS)
+            .readTimeout(Objects.requireNonNullElse(transport.getReadTimeout(), timeout), TimeUnit.MILLISECONDS)
+            .writeTimeout(Objects.requireNonNullElse(transport.getWriteTimeout(), timeout), TimeUnit.MILLISECONDS)
+            .callTimeout(transport.getCallTimeout(), TimeUnit.MILLISECONDS)
+            .protocols(protocols(transport.getProtocol()));
+
+        if (transport.getSendBufferSize() != null || transport.getReceiveBufferSize() != null) {
+            builder.socketFactory(
+                new BufferSizeSocketFactory(
+                    SocketFactory.getDefault(),
+                    transport.getSendBufferSize(),
+                    transport.getReceiveBufferSize()
+                )
+            );
+        }
 
         builder.networkInterceptors().add(chain -> {
             Request request = chain.request().newBuilder()
@@ -83,31 +124,164 @@ public class GraylogSdkAutoConfiguration {
         return builder.build();
     }
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnBean(name = "graylogOkHttpClient")
+    @ConditionalOnMissingBean(name = "graylogCluster")
+    public GraylogCluster graylogCluster(@Qualifier("graylogOkHttpClient") OkHttpClient okHttpClient) {
+        return GraylogCluster.create(graylogApiProperties, okHttpClient);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = "graylogHedgingPolicy")
+    public HedgingPolicy graylogHedgingPolicy() {
+        return new HedgingPolicy(graylogApiProperties.getHedging());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "graylogRequestProtection")
+    public RequestProtection graylogRequestProtection() {
+        return new RequestProtection(graylogApiProperties.getProtection());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = "graylogRetryPolicy")
+    public RetryPolicy graylogRetryPolicy() {
+        return new RetryPolicy(graylogApiProperties.getRetry());
+    }
+
     @Bean
-    @ConditionalOnBean(name = {"graylogObjectMapper", "graylogOkHttpClient"})
+    @ConditionalOnMissingBean(IdStrategy.class)
+    public IdStrategy graylogIdStrategy() {
+        return IdStrategies.of(graylogApiProperties.getIdGeneration());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "legacyGraylogImmutableRangeCache")
+    public ImmutableRangeCache legacyGraylogImmutableRangeCache() {
+        return new ImmutableRangeCache(legacyGraylogSdkProperties.getCache());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = "graylogSearchResultCache")
+    public SearchResultCache graylogSearchResultCache() {
+        return new SearchResultCache(graylogApiProperties.getCache());
+    }
+
+    @Bean
+    @ConditionalOnBean(
+        name = {
+            "graylogObjectMapper",
+            "graylogOkHttpClient",
+            "graylogCluster",
+            "graylogHedgingPolicy",
+            "graylogRequestProtection",
+            "graylogRetryPolicy",
+            "legacyGraylogImmutableRangeCache"
+        }
+    )
     @ConditionalOnMissingBean(name = "legacyGraylogSearch")
     public LegacyGraylogSearch legacyGraylogSearch(
         @Qualifier("graylogObjectMapper") ObjectMapper objectMapper,
-        @Qualifier("graylogOkHttpClient") OkHttpClient okHttpClient
+        @Qualifier("graylogOkHttpClient") OkHttpClient okHttpClient,
+        @Qualifier("graylogCluster") GraylogCluster graylogCluster,
+        @Qualifier("graylogHedgingPolicy") HedgingPolicy hedgingPolicy,
+        @Qualifier("graylogRequestProtection") RequestProtection requestProtection,
+        @Qualifier("graylogRetryPolicy") RetryPolicy retryPolicy,
+        @Qualifier("legacyGraylogImmutableRangeCache") ImmutableRangeCache immutableRangeCache
     ) {
 
-        GraylogRequest request = new GraylogRequest(okHttpClient, graylogApiProperties);
-        LegacySearchAbsolute absolute = new LegacySearchAbsolute(request, legacyGraylogSdkProperties);
+        GraylogRequest request = GraylogRequest.builder()
+            .okHttpClient(okHttpClient)
+            .graylogApiProperties(graylogApiProperties)
+            .graylogCluster(graylogCluster)
+            .hedgingPolicy(hedgingPolicy)
+            .requestProtection(requestProtection)
+            .retryPolicy(retryPolicy)
+            .build();
+        LegacySearchAbsolute absolute = new LegacySearchAbsolute(
+            request,
+            legacyGraylogSdkProperties,
+            objectMapper,
+            immutableRangeCache
+        );
 
         return new LegacyGraylogSearch(objectMapper, absolute);
     }
 
     @Bean
-    @ConditionalOnBean(name = {"graylogObjectMapper", "graylogOkHttpClient"})
-    @ConditionalOnMissingBean(name = "graylogSearch")
-    public GraylogSearch graylogSearch(
+    @ConditionalOnBean(
+        name = {
+            "graylogObjectMapper",
+            "graylogOkHttpClient",
+            "graylogCluster",
+            "graylogHedgingPolicy",
+            "graylogRequestProtection",
+            "graylogRetryPolicy",
+            "graylogSearchResultCache"
+        }
+    )
+    @ConditionalOnMissingBean(name = "graylogSearchClient")
+    public Search graylogSearchClient(
         @Qualifier("graylogObjectMapper") ObjectMapper objectMapper,
-        @Qualifier("graylogOkHttpClient") OkHttpClient okHttpClient
+        @Qualifier("graylogOkHttpClient") OkHttpClient okHttpClient,
+        @Qualifier("graylogCluster") GraylogCluster graylogCluster,
+        @Qualifier("graylogHedgingPolicy") HedgingPolicy hedgingPolicy,
+        @Qualifier("graylogRequestProtection") RequestProtection requestProtection,
+        @Qualifier("graylogRetryPolicy") RetryPolicy retryPolicy,
+        @Qualifier("graylogSearchResultCache") SearchResultCache searchResultCache,
+        @Qualifier("graylogCallbackExecutor") ObjectProvider<Executor> callbackExecutor,
+        IdStrategy idStrategy
     ) {
 
-        GraylogRequest request = new GraylogRequest(okHttpClient, graylogApiProperties);
-        Search search = new Search(request, graylogApiProperties, objectMapper);
+        GraylogRequest request = GraylogRequest.builder()
+            .okHttpClient(okHttpClient)
+            .graylogApiProperties(graylogApiProperties)
+            .callbackExecutor(callbackExecutor.getIfAvailable())
+            .graylogCluster(graylogCluster)
+            .hedgingPolicy(hedgingPolicy)
+            .requestProtection(requestProtection)
+            .retryPolicy(retryPolicy)
+            .build();
+
+        return new Search(request, graylogApiProperties, objectMapper, searchResultCache, idStrategy);
+    }
+
+    @Bean
+    @ConditionalOnBean(name = "graylogSearchClient")
+    @ConditionalOnMissingBean(name = "graylogSearch")
+    public GraylogSearch graylogSearch(@Qualifier("graylogSearchClient") Search search) {
+        return new GraylogSearch(search);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "graylog.sdk.api.warmup", name = "enabled", havingValue = "true")
+    @ConditionalOnBean(name = {"graylogOkHttpClient", "graylogCluster"})
+    @ConditionalOnMissingBean(name = "graylogWarmup")
+    public GraylogWarmup graylogWarmup(
+        @Qualifier("graylogOkHttpClient") OkHttpClient okHttpClient,
+        @Qualifier("graylogCluster") GraylogCluster graylogCluster,
+        ObjectProvider<GraylogSearch> graylogSearch,
+        ObjectProvider<LegacyGraylogSearch> legacyGraylogSearch
+    ) {
+
+        return new GraylogWarmup(
+            graylogApiProperties.getWarmup(),
+            okHttpClient,
+            graylogCluster,
+            graylogSearch.getIfAvailable(),
+            legacyGraylogSearch.getIfAvailable()
+        );
+    }
 
-        return new GraylogSearch(objectMapper, search);
+    private static List<Protocol> protocols(TransportProtocol protocol) {
+        switch (protocol) {
+            case HTTP_1_1:
+                return List.of(Protocol.HTTP_1_1);
+            case H2C:
+                return List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+            case HTTP_2:
+            default:
+                return List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        }
     }
 }
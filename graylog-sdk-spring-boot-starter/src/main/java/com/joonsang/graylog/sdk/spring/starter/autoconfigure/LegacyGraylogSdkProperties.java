@@ -15,4 +15,45 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class LegacyGraylogSdkProperties {
 
     private String timezone = "US/Eastern";
+
+    private Cache cache = new Cache();
+
+    /**
+     * Immutable Range Cache Properties
+     * @since 2.1.0
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether responses of time ranges ended longer than ingest lag ago are cached
+         */
+        private Boolean enabled = false;
+
+        /**
+         * Time in milliseconds after which no message arrives in a time range anymore
+         */
+        private Long ingestLag = 3600000L;
+
+        /**
+         * Maximum total size of responses cached in memory in bytes
+         */
+        private Long maxWeight = 67108864L;
+
+        /**
+         * Maximum total size of responses cached on disk in bytes, beyond which the oldest ones are deleted
+         */
+        private Long maxDiskWeight = 1073741824L;
+
+        /**
+         * Time in milliseconds cached responses are kept for since written, both in memory and on disk
+         */
+        private Long ttl = 604800000L;
+
+        /**
+         * Directory responses are cached in on disk, or none to cache in memory only
+         */
+        private String directory;
+    }
 }
@@ -0,0 +1,33 @@
+package com.joonsang.graylog.sdk.spring.starter.autoconfigure;
+
+import com.joonsang.graylog.sdk.spring.starter.ReactiveGraylogSearch;
+import com.joonsang.graylog.sdk.spring.starter.search.Search;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reactive Graylog SDK Auto Configuration
+ * <p>
+ * Active only when Reactor is on the classpath.
+ * The reactive facade shares the search client of {@link GraylogSdkAutoConfiguration} with the blocking one,
+ * and so its cluster, protection and cache state.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Configuration
+@ConditionalOnClass(name = "reactor.core.publisher.Mono")
+@AutoConfigureAfter(GraylogSdkAutoConfiguration.class)
+public class ReactiveGraylogSdkAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(name = "graylogSearchClient")
+    @ConditionalOnMissingBean(name = "reactiveGraylogSearch")
+    public ReactiveGraylogSearch reactiveGraylogSearch(@Qualifier("graylogSearchClient") Search search) {
+        return new ReactiveGraylogSearch(search);
+    }
+}
@@ -0,0 +1,278 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.LegacyGraylogSdkProperties;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Immutable Range Cache
+ * <p>
+ * Caches responses of legacy searches whose absolute time range ended longer than ingest lag ago,
+ * as no message can arrive in such a range anymore and their answers do not change.
+ * Responses are kept in memory, bounded by their total size, and optionally in a directory on disk,
+ * so that they outlive memory eviction and restarts.
+ * Both tiers expire a response the same time after it was written, and a response read back from disk
+ * keeps the time it was written at, which is the modification time of its file.
+ * Files beyond the maximum disk weight are deleted, oldest first.
+ * Searches of recent time ranges bypass the cache.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class ImmutableRangeCache {
+
+    private static final Log log = LogFactory.getLog(ImmutableRangeCache.class);
+
+    private final boolean enabled;
+
+    private final long ingestLag;
+
+    private final long ttl;
+
+    private final long maxDiskWeight;
+
+    private final Path directory;
+
+    private final Cache<String, Entry> cache;
+
+    private final LongSupplier clock;
+
+    /**
+     * Total size of files on disk, counted from the directory on first write
+     */
+    private final AtomicLong diskWeight = new AtomicLong();
+
+    private volatile boolean diskWeightCounted;
+
+    public ImmutableRangeCache(LegacyGraylogSdkProperties.Cache properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    /**
+     * @param properties cache properties
+     * @param clock current time in milliseconds
+     */
+    ImmutableRangeCache(LegacyGraylogSdkProperties.Cache properties, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = properties.getEnabled();
+        this.ingestLag = Math.max(properties.getIngestLag(), 0L);
+        this.ttl = Math.max(properties.getTtl(), 0L);
+        this.maxDiskWeight = Math.max(properties.getMaxDiskWeight(), 0L);
+        this.directory = StringUtils.isEmpty(properties.getDirectory()) ? null : Paths.get(properties.getDirectory());
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(properties.getMaxWeight(), 0L))
+            .weigher((String key, Entry entry) -> key.length() + entry.response.length)
+            .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Whether results of a time range ending at given time are immutable and cached.
+     * @param to time range end, in ISO-8601 or "yyyy-MM-dd HH:mm:ss" format which Graylog reads as UTC
+     * @return true if cached
+     * @since 2.1.0
+     */
+    public boolean isCached(String to) {
+        if (!enabled) {
+            return false;
+        }
+
+        Instant end = parseInstant(to);
+
+        return end != null && end.toEpochMilli() + ingestLag < clock.getAsLong();
+    }
+
+    /**
+     * Cached response of a search, from memory or disk.
+     * @param searchKey search key, such as search URL
+     * @return Response body, or null if absent
+     * @since 2.1.0
+     */
+    public byte[] get(String searchKey) {
+        long now = clock.getAsLong();
+        Entry entry = cache.getIfPresent(searchKey);
+
+        if (entry != null) {
+            if (!isExpired(entry.writtenAt, now)) {
+                return entry.response;
+            }
+
+            cache.invalidate(searchKey);
+        }
+
+        if (directory == null) {
+            return null;
+        }
+
+        Path file = file(searchKey);
+
+        try {
+            long writtenAt = Files.getLastModifiedTime(file).toMillis();
+
+            if (isExpired(writtenAt, now)) {
+                Files.deleteIfExists(file);
+
+                return null;
+            }
+
+            byte[] response = Files.readAllBytes(file);
+            cache.put(searchKey, new Entry(response, writtenAt));
+
+            return response;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("Failed to read cached Graylog response from " + file, e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Cache response of a search, in memory and on disk.
+     * @param searchKey search key, such as search URL
+     * @param response response body
+     * @since 2.1.0
+     */
+    public void put(String searchKey, byte[] response) {
+        long writtenAt = clock.getAsLong();
+
+        cache.put(searchKey, new Entry(response, writtenAt));
+
+        if (directory == null) {
+            return;
+        }
+
+        Path file = file(searchKey);
+
+        try {
+            Files.createDirectories(directory);
+
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, response);
+            Files.setLastModifiedTime(temporary, FileTime.fromMillis(writtenAt));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Failed to write cached Graylog response to " + file, e);
+
+            return;
+        }
+
+        if (!diskWeightCounted || diskWeight.addAndGet(response.length) > maxDiskWeight) {
+            trimDisk(writtenAt);
+        }
+    }
+
+    /**
+     * Hit, miss and eviction statistics of memory tier.
+     * @return Cache statistics
+     * @since 2.1.0
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private boolean isExpired(long writtenAt, long now) {
+        return writtenAt + ttl < now;
+    }
+
+    /**
+     * Delete expired files, and the oldest ones while total size of files exceeds maximum disk weight.
+     * @param now current time in milliseconds
+     * @since 2.1.0
+     */
+    private synchronized void trimDisk(long now) {
+        Map<Path, BasicFileAttributes> files = new HashMap<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : stream) {
+                files.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        } catch (IOException e) {
+            log.debug("Failed to list cached Graylog responses in " + directory, e);
+
+            return;
+        }
+
+        List<Path> oldestFirst = new ArrayList<>(files.keySet());
+        oldestFirst.sort(Comparator.comparing(file -> files.get(file).lastModifiedTime()));
+
+        long weight = files.values().stream().mapToLong(BasicFileAttributes::size).sum();
+
+        for (Path file : oldestFirst) {
+            if (weight <= maxDiskWeight && !isExpired(files.get(file).lastModifiedTime().toMillis(), now)) {
+                break;
+            }
+
+            try {
+                Files.deleteIfExists(file);
+                weight -= files.get(file).size();
+            } catch (IOException e) {
+                log.debug("Failed to delete cached Graylog response " + file, e);
+            }
+        }
+
+        diskWeight.set(weight);
+        diskWeightCounted = true;
+    }
+
+    private Path file(String searchKey) {
+        return directory.resolve(Hashing.sha256().hashString(searchKey, StandardCharsets.UTF_8) + ".json");
+    }
+
+    /**
+     * Parse date time with offset, or local date time in UTC.
+     * @param dateTime date time string
+     * @return Instant, or null if absent or invalid
+     * @since 2.1.0
+     */
+    private static Instant parseInstant(String dateTime) {
+        if (StringUtils.isEmpty(dateTime)) {
+            return null;
+        }
+
+        try {
+            return OffsetDateTime.parse(dateTime).toInstant();
+        } catch (DateTimeParseException e) {
+            // Graylog reads date time without offset as UTC
+        }
+
+        try {
+            return LocalDateTime.parse(dateTime.replace(' ', 'T')).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static class Entry {
+
+        private final byte[] response;
+
+        /**
+         * Time in milliseconds the response was written at, in memory or on disk
+         */
+        private final long writtenAt;
+
+        private Entry(byte[] response, long writtenAt) {
+            this.response = response;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
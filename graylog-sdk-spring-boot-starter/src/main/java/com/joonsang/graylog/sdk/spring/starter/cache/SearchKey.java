@@ -0,0 +1,76 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Search Key
+ * <p>
+ * Identifies a search by the canonical JSON of its search spec and the type of result read from it.
+ * IDs of search spec, queries and search types are random for every search, so they are left out of the key.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@EqualsAndHashCode
+public final class SearchKey {
+
+    private final String resultType;
+
+    private final String canonicalSearch;
+
+    private SearchKey(String resultType, String canonicalSearch) {
+        this.resultType = resultType;
+        this.canonicalSearch = canonicalSearch;
+    }
+
+    /**
+     * Create key of a search.
+     * @param objectMapper object mapper the search spec is serialized with
+     * @param searchSpec Graylog search spec object
+     * @param resultType type of result read from the search, such as the handler reading it
+     * @return Search key
+     * @throws JsonProcessingException failure serializing search spec
+     * @since 2.1.0
+     */
+    public static SearchKey of(
+        ObjectMapper objectMapper,
+        SearchSpec searchSpec,
+        String resultType
+    ) throws JsonProcessingException {
+
+        ObjectNode spec = objectMapper.valueToTree(searchSpec);
+        spec.remove("id");
+
+        for (JsonNode query : spec.path("queries")) {
+            ((ObjectNode) query).remove("id");
+
+            for (JsonNode searchType : query.path("search_types")) {
+                ((ObjectNode) searchType).remove("id");
+            }
+        }
+
+        return new SearchKey(resultType, objectMapper.writeValueAsString(spec));
+    }
+
+    /**
+     * Create key of a search which is already serialized canonically, such as one rendered from a search template.
+     * @param canonicalSearch canonical search spec JSON
+     * @param resultType type of result read from the search, such as the handler reading it
+     * @return Search key
+     * @since 2.1.0
+     */
+    public static SearchKey of(String canonicalSearch, String resultType) {
+        return new SearchKey(resultType, canonicalSearch);
+    }
+
+    @Override
+    public String toString() {
+        return resultType + " " + canonicalSearch;
+    }
+}
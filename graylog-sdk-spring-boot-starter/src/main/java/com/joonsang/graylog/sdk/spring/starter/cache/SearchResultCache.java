@@ -0,0 +1,289 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Search Result Cache
+ * <p>
+ * Caches parsed search results by search key for a time to live, bounded by the total weight of the entries.
+ * The weight of an entry is the size of the whole response it was read from plus the size of its key,
+ * and least recently used entries are evicted first once the bound is reached.
+ * When refresh is enabled, a result older than refresh time is still served,
+ * while a single refresh per search key repopulates it in the background.
+ * Cached results are shared by every caller, so they must not be modified.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class SearchResultCache implements Closeable {
+
+    private static final Log log = LogFactory.getLog(SearchResultCache.class);
+
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
+
+    private final boolean enabled;
+
+    private final long refreshAfterNanos;
+
+    private final int refreshThreads;
+
+    private final Cache<SearchKey, CachedResult> cache;
+
+    private final Set<SearchKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    public SearchResultCache(GraylogApiProperties.Cache properties) {
+        this.enabled = properties.getEnabled();
+        this.refreshAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getRefreshAfter(), 0L));
+        this.refreshThreads = Math.max(properties.getRefreshThreads(), 1);
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(properties.getMaxWeight(), 0L))
+            .weigher((SearchKey key, CachedResult result) -> result.weight)
+            .expireAfterWrite(Math.max(properties.getTtl(), 0L), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Whether result cache is enabled.
+     * @return true if enabled
+     * @since 2.1.0
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cached result of a search.
+     * @param searchKey search key
+     * @return Cached result, or null if absent or cache is disabled
+     * @since 2.1.0
+     */
+    public Object getIfPresent(SearchKey searchKey) {
+        return getIfPresent(searchKey, null);
+    }
+
+    /**
+     * Cached result of a search, refreshed in the background once it is older than refresh time.
+     * @param searchKey search key
+     * @param refresh search repopulating the cached result, or null not to refresh
+     * @return Cached result, or null if absent or cache is disabled
+     * @since 2.1.0
+     */
+    public Object getIfPresent(SearchKey searchKey, Refresh refresh) {
+        if (!enabled) {
+            return null;
+        }
+
+        CachedResult result = cache.getIfPresent(searchKey);
+
+        if (result == null) {
+            return null;
+        }
+
+        if (refresh != null && refreshAfterNanos > 0 && System.nanoTime() - result.writtenAt >= refreshAfterNanos) {
+            refreshInBackground(searchKey, refresh);
+        }
+
+        return result.value;
+    }
+
+    /**
+     * Wrap response handler to cache its result, weighed by the length of the response.
+     * When the response does not tell its length, the part the handler left unread is drained and counted.
+     * @param searchKey search key
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Response handler caching its result, or the given one if cache is disabled
+     * @since 2.1.0
+     */
+    public <T> ResponseHandler<T> recording(SearchKey searchKey, ResponseHandler<T> responseHandler) {
+        if (!enabled) {
+            return responseHandler;
+        }
+
+        return responseBody -> {
+            CountingSource source = new CountingSource(responseBody.source());
+            ResponseBody countedBody = ResponseBody.create(
+                Okio.buffer(source),
+                responseBody.contentType(),
+                responseBody.contentLength()
+            );
+
+            T result = responseHandler.handle(countedBody);
+
+            if (result != null) {
+                long weight = responseLength(countedBody, source) + searchKey.getCanonicalSearch().length();
+                cache.put(searchKey, new CachedResult(result, (int) Math.min(weight, Integer.MAX_VALUE)));
+            }
+
+            return result;
+        };
+    }
+
+    /**
+     * Length of a response, from its header or by counting it to the end.
+     * @param responseBody response body handed over to response handler
+     * @param source counting source the response body reads from
+     * @return Response length in bytes
+     * @since 2.1.0
+     */
+    private static long responseLength(ResponseBody responseBody, CountingSource source) {
+        if (responseBody.contentLength() >= 0) {
+            return responseBody.contentLength();
+        }
+
+        try {
+            responseBody.source().readAll(Okio.blackhole());
+        } catch (IOException | IllegalStateException e) {
+            // response body closed by the handler, count what has been read
+        }
+
+        return source.count;
+    }
+
+    /**
+     * Discard every cached result.
+     * @since 2.1.0
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
+        }
+    }
+
+    /**
+     * Run refresh of a search key on the refresh executor, unless it is already refreshing.
+     * Refresh is dropped when the executor queue is full.
+     * @param searchKey search key
+     * @param refresh search repopulating the cached result
+     * @since 2.1.0
+     */
+    private void refreshInBackground(SearchKey searchKey, Refresh refresh) {
+        if (!refreshing.add(searchKey)) {
+            return;
+        }
+
+        try {
+            getRefreshExecutor().execute(() -> {
+                try {
+                    refresh.run();
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Graylog search result refresh failed.", e);
+                } finally {
+                    refreshing.remove(searchKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(searchKey);
+        }
+    }
+
+    private synchronized Executor getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+
+            refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads,
+                refreshThreads,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "graylog-cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+            );
+            refreshExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return refreshExecutor;
+    }
+
+    /**
+     * Number of cached results.
+     * @return Number of cached results
+     * @since 2.1.0
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Hit, miss and eviction statistics.
+     * @return Cache statistics
+     * @since 2.1.0
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Search repopulating a cached result.
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    public interface Refresh {
+
+        void run() throws IOException;
+    }
+
+    private static class CachedResult {
+
+        private final Object value;
+
+        private final int weight;
+
+        private final long writtenAt = System.nanoTime();
+
+        private CachedResult(Object value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static class CountingSource extends ForwardingSource {
+
+        private long count;
+
+        private CountingSource(Source delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+
+            if (read > 0) {
+                count += read;
+            }
+
+            return read;
+        }
+    }
+}
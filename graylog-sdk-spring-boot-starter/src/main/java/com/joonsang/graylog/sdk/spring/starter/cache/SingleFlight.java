@@ -0,0 +1,130 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Single Flight
+ * <p>
+ * Coalesces concurrent calls with the same key into one call.
+ * The first caller of a key performs the call, and callers arriving while it is in flight share its result or failure.
+ * Nothing is kept once the call is over.
+ * @param <K> type of key
+ * @param <V> type of result
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Perform call, or wait for the call of the same key already in flight.
+     * @param key key of the call
+     * @param call blocking call
+     * @return Result of the call
+     * @throws IOException failure of the call
+     * @since 2.1.0
+     */
+    public V call(K key, Call<V> call) throws IOException {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = call.call();
+            created.complete(result);
+
+            return result;
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Perform asynchronous call, or share the call of the same key already in flight.
+     * Cancelling the returned future does not cancel the shared call.
+     * @param key key of the call
+     * @param call asynchronous call
+     * @return Future of result of the call
+     * @since 2.1.0
+     */
+    public CompletableFuture<V> callAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            call.get().whenComplete((result, throwable) -> {
+                inFlight.remove(key, created);
+
+                if (throwable == null) {
+                    created.complete(result);
+                } else {
+                    created.completeExceptionally(throwable);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+
+        return created.copy();
+    }
+
+    /**
+     * Number of calls in flight.
+     * @return Calls in flight
+     * @since 2.1.0
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for coalesced Graylog request.");
+        }
+    }
+
+    /**
+     * Blocking call.
+     * @param <V> type of result
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    public interface Call<V> {
+
+        V call() throws IOException;
+    }
+}
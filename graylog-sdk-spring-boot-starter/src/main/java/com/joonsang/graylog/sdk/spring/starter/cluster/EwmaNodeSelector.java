@@ -0,0 +1,16 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+/**
+ * Latency Weighted Node Selector
+ * <p>
+ * Load is the decaying average latency of a node weighted by its outstanding requests.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class EwmaNodeSelector extends PowerOfTwoChoicesNodeSelector {
+
+    @Override
+    protected double load(GraylogNode node) {
+        return node.getEwmaNanos() * (node.getOutstanding() + 1);
+    }
+}
@@ -0,0 +1,294 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graylog Cluster
+ * <p>
+ * Balances requests over Graylog API nodes with a node selector.
+ * Nodes failing consecutively are ejected for a growing period of time,
+ * and re-probed through the load balancer status API before they take requests again.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class GraylogCluster implements Closeable {
+
+    private static final String PROBE_PATH = "api/system/lbstatus";
+
+    private final List<GraylogNode> nodes;
+
+    private final NodeSelector nodeSelector;
+
+    private final int failureThreshold;
+
+    private final long ejectionNanos;
+
+    private final long maxEjectionNanos;
+
+    private final int maxEjectedNodes;
+
+    private final long probeIntervalMillis;
+
+    private final OkHttpClient probeClient;
+
+    private volatile List<GraylogNode> availableNodes;
+
+    private ScheduledExecutorService prober;
+
+    public GraylogCluster(
+        List<GraylogNode> nodes,
+        NodeSelector nodeSelector,
+        GraylogApiProperties.Cluster properties,
+        OkHttpClient okHttpClient
+    ) {
+
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Graylog cluster requires at least one node.");
+        }
+
+        this.nodes = List.copyOf(nodes);
+        this.nodeSelector = nodeSelector;
+        this.failureThreshold = Math.max(properties.getFailureThreshold(), 1);
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(properties.getEjectionTime());
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxEjectionTime());
+        this.maxEjectedNodes = nodes.size() * properties.getMaxEjectionPercent() / 100;
+        this.probeIntervalMillis = Math.max(properties.getProbeInterval(), 1L);
+        this.probeClient = okHttpClient.newBuilder()
+            .callTimeout(properties.getProbeTimeout(), TimeUnit.MILLISECONDS)
+            .build();
+        this.availableNodes = this.nodes;
+    }
+
+    /**
+     * Create cluster from Graylog API properties.
+     * @param graylogApiProperties Graylog API properties
+     * @param okHttpClient OkHttp client used for probing nodes
+     * @return Graylog cluster
+     * @since 2.1.0
+     */
+    public static GraylogCluster create(GraylogApiProperties graylogApiProperties, OkHttpClient okHttpClient) {
+        GraylogApiProperties.Cluster properties = graylogApiProperties.getCluster();
+        long decayTimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getLatencyDecayTime(), 1L));
+
+        List<GraylogNode> nodes = new ArrayList<>();
+
+        if (properties.getNodes().isEmpty()) {
+            nodes.add(
+                new GraylogNode(
+                    graylogApiProperties.getScheme(),
+                    graylogApiProperties.getHost(),
+                    graylogApiProperties.getPort(),
+                    decayTimeNanos
+                )
+            );
+        }
+
+        for (String node : properties.getNodes()) {
+            String url = node.contains("://") ? node : graylogApiProperties.getScheme() + "://" + node;
+            HttpUrl httpUrl = HttpUrl.parse(url);
+
+            if (httpUrl == null) {
+                throw new IllegalArgumentException("Invalid Graylog node URL: " + node);
+            }
+
+            nodes.add(new GraylogNode(httpUrl.scheme(), httpUrl.host(), httpUrl.port(), decayTimeNanos));
+        }
+
+        return new GraylogCluster(nodes, createNodeSelector(properties), properties, okHttpClient);
+    }
+
+    /**
+     * Select a node to send request to.
+     * Every node is a candidate when all of them are ejected.
+     * @return Selected node
+     * @since 2.1.0
+     */
+    public GraylogNode select() {
+        List<GraylogNode> candidates = availableNodes;
+
+        return nodeSelector.select(candidates.isEmpty() ? nodes : candidates);
+    }
+
+    /**
+     * Select a node other than given one, used for hedging a request.
+     * Given node is selected when it is the only candidate.
+     * @param excluded node to avoid
+     * @return Selected node
+     * @since 2.1.0
+     */
+    public GraylogNode select(GraylogNode excluded) {
+        List<GraylogNode> candidates = availableNodes;
+        List<GraylogNode> others = new ArrayList<>(nodes.size());
+
+        for (GraylogNode node : candidates.isEmpty() ? nodes : candidates) {
+            if (node != excluded) {
+                others.add(node);
+            }
+        }
+
+        return others.isEmpty() ? excluded : nodeSelector.select(others);
+    }
+
+    /**
+     * All nodes of this cluster.
+     * @return Graylog nodes
+     * @since 2.1.0
+     */
+    public List<GraylogNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Notify that a request has been sent to a node.
+     * @param node Graylog node
+     * @since 2.1.0
+     */
+    public void onStart(GraylogNode node) {
+        node.requestStarted();
+    }
+
+    /**
+     * Notify that a node has responded.
+     * @param node Graylog node
+     * @param latencyNanos time until response headers arrived, in nanoseconds
+     * @since 2.1.0
+     */
+    public void onSuccess(GraylogNode node, long latencyNanos) {
+        node.requestFinished();
+        node.recordLatency(latencyNanos);
+        node.recordSuccess();
+    }
+
+    /**
+     * Notify that a node has failed to respond or responded with server error.
+     * @param node Graylog node
+     * @since 2.1.0
+     */
+    public void onFailure(GraylogNode node) {
+        node.requestFinished();
+
+        if (node.recordFailure() >= failureThreshold) {
+            eject(node);
+        }
+    }
+
+    /**
+     * Notify that a request to a node has been cancelled by the client.
+     * @param node Graylog node
+     * @since 2.1.0
+     */
+    public void onCancel(GraylogNode node) {
+        node.requestFinished();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+            prober = null;
+        }
+    }
+
+    private synchronized void eject(GraylogNode node) {
+        if (node.isEjected()) {
+            return;
+        }
+
+        long ejectedNodes = nodes.stream().filter(GraylogNode::isEjected).count();
+
+        if (ejectedNodes >= maxEjectedNodes) {
+            return;
+        }
+
+        node.eject(System.nanoTime(), ejectionNanos, maxEjectionNanos);
+        refreshAvailableNodes();
+
+        if (prober == null) {
+            prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "graylog-cluster-prober");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+
+            prober.scheduleWithFixedDelay(this::probe, probeIntervalMillis, probeIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void probe() {
+        for (GraylogNode node : nodes) {
+            if (!node.isProbeDue(System.nanoTime())) {
+                continue;
+            }
+
+            boolean alive = probe(node);
+
+            synchronized (this) {
+                if (alive) {
+                    node.reinstate();
+                } else {
+                    node.eject(System.nanoTime(), ejectionNanos, maxEjectionNanos);
+                }
+
+                refreshAvailableNodes();
+            }
+        }
+    }
+
+    private boolean probe(GraylogNode node) {
+        HttpUrl httpUrl = new HttpUrl.Builder()
+            .scheme(node.getScheme())
+            .host(node.getHost())
+            .port(node.getPort())
+            .addPathSegments(PROBE_PATH)
+            .build();
+
+        Request request = new Request.Builder()
+            .url(httpUrl)
+            .get()
+            .build();
+
+        try (Response response = probeClient.newCall(request).execute()) {
+            return response.isSuccessful();
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void refreshAvailableNodes() {
+        List<GraylogNode> available = new ArrayList<>(nodes.size());
+
+        for (GraylogNode node : nodes) {
+            if (!node.isEjected()) {
+                available.add(node);
+            }
+        }
+
+        availableNodes = Collections.unmodifiableList(available);
+    }
+
+    private static NodeSelector createNodeSelector(GraylogApiProperties.Cluster properties) {
+        switch (properties.getBalancing()) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingNodeSelector();
+            case EWMA:
+                return new EwmaNodeSelector();
+            case ROUND_ROBIN:
+            default:
+                return new RoundRobinNodeSelector();
+        }
+    }
+}
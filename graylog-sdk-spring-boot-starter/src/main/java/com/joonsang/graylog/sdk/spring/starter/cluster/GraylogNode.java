@@ -0,0 +1,158 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import lombok.Getter;
+import okhttp3.HttpUrl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Graylog API Node
+ * <p>
+ * Address of a Graylog API node and its runtime state used for balancing:
+ * outstanding requests, decaying average latency, consecutive failures and ejection.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class GraylogNode {
+
+    @Getter
+    private final String scheme;
+
+    @Getter
+    private final String host;
+
+    @Getter
+    private final int port;
+
+    private final long decayTimeNanos;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private double ewmaNanos;
+
+    private long ewmaUpdatedAt;
+
+    private volatile boolean ejected;
+
+    private volatile long ejectedUntilNanos;
+
+    private int ejectionCount;
+
+    public GraylogNode(String scheme, String host, int port, long decayTimeNanos) {
+        this.scheme = scheme;
+        this.host = host;
+        this.port = port;
+        this.decayTimeNanos = decayTimeNanos;
+        this.ewmaUpdatedAt = System.nanoTime();
+    }
+
+    /**
+     * Rewrite scheme, host and port of given URL to this node.
+     * @param httpUrl OkHttp HttpUrl object
+     * @return URL targeting this node
+     * @since 2.1.0
+     */
+    public HttpUrl resolve(HttpUrl httpUrl) {
+        if (httpUrl.scheme().equals(scheme) && httpUrl.host().equals(host) && httpUrl.port() == port) {
+            return httpUrl;
+        }
+
+        return httpUrl.newBuilder()
+            .scheme(scheme)
+            .host(host)
+            .port(port)
+            .build();
+    }
+
+    /**
+     * Number of requests in flight on this node.
+     * @return Outstanding requests
+     * @since 2.1.0
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Latency average decayed over time, in nanoseconds.
+     * @return Average latency
+     * @since 2.1.0
+     */
+    public synchronized double getEwmaNanos() {
+        return decayedEwma(System.nanoTime());
+    }
+
+    /**
+     * Whether this node has been ejected from balancing.
+     * @return true if ejected
+     * @since 2.1.0
+     */
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    synchronized void recordLatency(long latencyNanos) {
+        long now = System.nanoTime();
+        double weight = decay(now);
+
+        // slower responses are taken at once, so a stalling node is avoided right away
+        ewmaNanos = latencyNanos > ewmaNanos ? latencyNanos : ewmaNanos * weight + latencyNanos * (1 - weight);
+        ewmaUpdatedAt = now;
+    }
+
+    /**
+     * Record success and reset consecutive failures.
+     * @since 2.1.0
+     */
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Record failure.
+     * @return Number of consecutive failures
+     * @since 2.1.0
+     */
+    int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    synchronized void eject(long nowNanos, long baseEjectionNanos, long maxEjectionNanos) {
+        ejectionCount++;
+        ejected = true;
+        ejectedUntilNanos = nowNanos + Math.min(baseEjectionNanos * ejectionCount, maxEjectionNanos);
+    }
+
+    synchronized void reinstate() {
+        ejected = false;
+        ejectionCount = 0;
+        consecutiveFailures.set(0);
+    }
+
+    boolean isProbeDue(long nowNanos) {
+        return ejected && nowNanos - ejectedUntilNanos >= 0;
+    }
+
+    private double decayedEwma(long now) {
+        return ewmaNanos * decay(now);
+    }
+
+    private double decay(long now) {
+        return Math.exp(-(double) Math.max(now - ewmaUpdatedAt, 0) / decayTimeNanos);
+    }
+
+    @Override
+    public String toString() {
+        return scheme + "://" + host + ":" + port;
+    }
+}
@@ -0,0 +1,153 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+/**
+ * Hedging Policy
+ * <p>
+ * Decides when a read-only request which has not been answered yet is sent once more to another node.
+ * The delay is a percentile of recently observed latency, and hedges are paid from a budget
+ * which grows by a fixed percentage of requests, so hedging cannot add more than that share of load.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class HedgingPolicy implements Closeable {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private static final int RECALCULATION_INTERVAL = 64;
+
+    private static final double MAX_TOKENS = 10;
+
+    private final boolean enabled;
+
+    private final double percentile;
+
+    private final long minDelayNanos;
+
+    private final double tokensPerRequest;
+
+    private final long[] latencies;
+
+    private int latencyIndex;
+
+    private int latencyCount;
+
+    private int recordedSinceCalculation;
+
+    private volatile long delayNanos = -1;
+
+    private double tokens;
+
+    private ScheduledExecutorService scheduler;
+
+    public HedgingPolicy(GraylogApiProperties.Hedging properties) {
+        this.enabled = properties.getEnabled();
+        this.percentile = Math.min(Math.max(properties.getPercentile(), 0.0), 100.0);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMinDelay());
+        this.tokensPerRequest = properties.getBudgetPercent() / 100.0;
+        this.latencies = new long[Math.max(properties.getWindowSize(), MIN_SAMPLES)];
+    }
+
+    /**
+     * Whether hedging is enabled.
+     * @return true if enabled
+     * @since 2.1.0
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Delay after which an unanswered request is hedged.
+     * @return Delay in nanoseconds, or -1 until enough latency has been observed
+     * @since 2.1.0
+     */
+    public long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Record latency of an answered read-only request.
+     * @param latencyNanos time until response headers arrived, in nanoseconds
+     * @since 2.1.0
+     */
+    public synchronized void recordLatency(long latencyNanos) {
+        latencies[latencyIndex] = latencyNanos;
+        latencyIndex = (latencyIndex + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+
+        if (latencyCount < MIN_SAMPLES) {
+            return;
+        }
+
+        if (delayNanos < 0 || ++recordedSinceCalculation >= RECALCULATION_INTERVAL) {
+            recordedSinceCalculation = 0;
+
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+
+            int rank = (int) Math.ceil(percentile / 100.0 * latencyCount) - 1;
+
+            delayNanos = Math.max(sorted[Math.min(Math.max(rank, 0), latencyCount - 1)], minDelayNanos);
+        }
+    }
+
+    /**
+     * Earn hedging budget for a request.
+     * @since 2.1.0
+     */
+    public synchronized void onRequest() {
+        tokens = Math.min(tokens + tokensPerRequest, MAX_TOKENS);
+    }
+
+    /**
+     * Spend hedging budget for a hedge.
+     * @return true if budget allows the hedge
+     * @since 2.1.0
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens -= 1;
+
+        return true;
+    }
+
+    /**
+     * Schedule a hedge.
+     * @param hedge task sending the hedge
+     * @param delayNanos delay in nanoseconds
+     * @return Scheduled future of the hedge
+     * @since 2.1.0
+     */
+    public synchronized ScheduledFuture<?> schedule(Runnable hedge, long delayNanos) {
+        if (scheduler == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "graylog-hedging");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+
+        return scheduler.schedule(hedge, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
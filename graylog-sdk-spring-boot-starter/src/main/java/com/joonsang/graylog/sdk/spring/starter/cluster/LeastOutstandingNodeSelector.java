@@ -0,0 +1,14 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+/**
+ * Least Outstanding Requests Node Selector
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class LeastOutstandingNodeSelector extends PowerOfTwoChoicesNodeSelector {
+
+    @Override
+    protected double load(GraylogNode node) {
+        return node.getOutstanding();
+    }
+}
@@ -0,0 +1,20 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import java.util.List;
+
+/**
+ * Graylog Node Selector
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface NodeSelector {
+
+    /**
+     * Select a node to send request to.
+     * @param nodes available nodes, never empty
+     * @return Selected node
+     * @since 2.1.0
+     */
+    GraylogNode select(List<GraylogNode> nodes);
+}
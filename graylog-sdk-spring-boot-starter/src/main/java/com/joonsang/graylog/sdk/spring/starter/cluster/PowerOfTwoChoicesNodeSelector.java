@@ -0,0 +1,46 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of Two Choices Node Selector
+ * <p>
+ * Picks two distinct nodes at random and selects the one with lower load,
+ * which avoids herding every client onto the single least loaded node.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public abstract class PowerOfTwoChoicesNodeSelector implements NodeSelector {
+
+    @Override
+    public GraylogNode select(List<GraylogNode> nodes) {
+        int size = nodes.size();
+
+        if (size == 1) {
+            return nodes.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        GraylogNode firstNode = nodes.get(first);
+        GraylogNode secondNode = nodes.get(second);
+
+        return load(secondNode) < load(firstNode) ? secondNode : firstNode;
+    }
+
+    /**
+     * Load of a node, lower is preferred.
+     * @param node Graylog node
+     * @return Load
+     * @since 2.1.0
+     */
+    protected abstract double load(GraylogNode node);
+}
@@ -0,0 +1,19 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round Robin Node Selector
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class RoundRobinNodeSelector implements NodeSelector {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public GraylogNode select(List<GraylogNode> nodes) {
+        return nodes.get(Math.floorMod(counter.getAndIncrement(), nodes.size()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.joonsang.graylog.sdk.spring.starter.constant;
+
+/**
+ * Search Spec, Query and Search Type ID Generation Strategies Enumeration
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public enum IdGeneration {
+
+    SEQUENTIAL, RANDOM, DETERMINISTIC
+}
@@ -0,0 +1,11 @@
+package com.joonsang.graylog.sdk.spring.starter.constant;
+
+/**
+ * Graylog Cluster Node Balancing Strategies Enumeration
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public enum NodeBalancing {
+
+    ROUND_ROBIN, LEAST_OUTSTANDING, EWMA
+}
@@ -0,0 +1,11 @@
+package com.joonsang.graylog.sdk.spring.starter.constant;
+
+/**
+ * Graylog API Transport Protocols Enumeration
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public enum TransportProtocol {
+
+    HTTP_1_1, HTTP_2, H2C
+}
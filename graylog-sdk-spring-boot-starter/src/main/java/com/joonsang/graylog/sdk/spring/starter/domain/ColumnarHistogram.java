@@ -0,0 +1,82 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Columnar Histogram
+ * <p>
+ * Histogram holding bucket timestamps as epoch milliseconds and
+ * values of each series and stacked column as primitive arrays.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@ToString
+public class ColumnarHistogram extends ColumnarResult {
+
+    private static final DateTimeFormatter BASE_LABEL_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").withZone(ZoneOffset.UTC);
+
+    public ColumnarHistogram(long[] timestamps, String[] labels, List<MetricColumn> columns) {
+        super(labels, columns);
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * Bucket timestamps in epoch milliseconds
+     */
+    private final long[] timestamps;
+
+    /**
+     * Number of buckets.
+     * @return Number of buckets
+     * @since 2.1.0
+     */
+    @JsonIgnore
+    public int getSize() {
+        return timestamps.length;
+    }
+
+    /**
+     * Convert to row oriented histogram.
+     * Base labels are formatted in UTC.
+     * @return Histogram
+     * @since 2.1.0
+     */
+    public Histogram toHistogram() {
+        List<MetricColumn> rowColumns = rowColumns();
+        Map<List<String>, List<MetricColumn>> stackedColumnGroups = stackedColumnGroups();
+
+        List<Histogram.HistogramData> histogramDataList = new ArrayList<>(timestamps.length);
+
+        for (int row = 0; row < timestamps.length; row++) {
+            List<Histogram.StackedColumn> stackedColumns = new ArrayList<>();
+
+            toStackedStatistics(stackedColumnGroups, row).forEach((columnLabels, statisticsList) ->
+                stackedColumns.add(
+                    Histogram.StackedColumn.builder()
+                        .columnLabels(columnLabels)
+                        .statisticsList(statisticsList)
+                        .build()
+                )
+            );
+
+            histogramDataList.add(
+                Histogram.HistogramData.builder()
+                    .baseLabel(BASE_LABEL_FORMATTER.format(Instant.ofEpochMilli(timestamps[row])))
+                    .statisticsList(MetricColumn.toStatisticsList(rowColumns, row))
+                    .stackedColumns(stackedColumns)
+                    .build()
+            );
+        }
+
+        return Histogram.builder().histogram(histogramDataList).build();
+    }
+}
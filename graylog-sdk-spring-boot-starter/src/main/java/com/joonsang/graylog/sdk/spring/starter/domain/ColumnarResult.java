@@ -0,0 +1,118 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Columnar Result
+ * <p>
+ * Base of pivot results holding values of each series and stacked column as primitive arrays,
+ * with every label stored once in a label dictionary.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+public abstract class ColumnarResult implements Serializable {
+
+    protected ColumnarResult(String[] labels, List<MetricColumn> columns) {
+        this.labels = labels;
+        this.columns = columns;
+    }
+
+    /**
+     * Label dictionary of encoded keys
+     */
+    private final String[] labels;
+
+    private final List<MetricColumn> columns;
+
+    /**
+     * Decode column labels of a metric column.
+     * @param column metric column of this result
+     * @return Column labels
+     * @since 2.1.0
+     */
+    public List<String> getColumnLabels(MetricColumn column) {
+        return decode(column.getColumnKey(), 0, column.getColumnKey().length);
+    }
+
+    /**
+     * Decode labels from label dictionary.
+     * @param codes encoded labels
+     * @param from first position, inclusive
+     * @param to last position, exclusive
+     * @return Labels
+     * @since 2.1.0
+     */
+    protected List<String> decode(int[] codes, int from, int to) {
+        List<String> decoded = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++) {
+            decoded.add(labels[codes[i]]);
+        }
+
+        return decoded;
+    }
+
+    /**
+     * Metric columns holding values of rows themselves.
+     * @return Metric columns
+     * @since 2.1.0
+     */
+    protected List<MetricColumn> rowColumns() {
+        List<MetricColumn> rowColumns = new ArrayList<>();
+
+        for (MetricColumn column : columns) {
+            if (column.isRowColumn()) {
+                rowColumns.add(column);
+            }
+        }
+
+        return rowColumns;
+    }
+
+    /**
+     * Metric columns of stacked columns grouped by column labels, in order of appearance.
+     * @return Metric columns by column labels
+     * @since 2.1.0
+     */
+    protected Map<List<String>, List<MetricColumn>> stackedColumnGroups() {
+        Map<List<String>, List<MetricColumn>> groups = new LinkedHashMap<>();
+
+        for (MetricColumn column : columns) {
+            if (!column.isRowColumn()) {
+                groups.computeIfAbsent(getColumnLabels(column), key -> new ArrayList<>()).add(column);
+            }
+        }
+
+        return groups;
+    }
+
+    /**
+     * Convert values of stacked columns at given row to statistics.
+     * Stacked columns without any value at the row are left out.
+     * @param stackedColumnGroups metric columns by column labels
+     * @param row row index
+     * @return Statistics list by column labels
+     * @since 2.1.0
+     */
+    protected static Map<List<String>, List<Statistics>> toStackedStatistics(
+        Map<List<String>, List<MetricColumn>> stackedColumnGroups,
+        int row
+    ) {
+
+        Map<List<String>, List<Statistics>> stackedStatistics = new LinkedHashMap<>();
+
+        for (Map.Entry<List<String>, List<MetricColumn>> group : stackedColumnGroups.entrySet()) {
+            List<Statistics> statisticsList = MetricColumn.toStatisticsList(group.getValue(), row);
+
+            if (!statisticsList.isEmpty()) {
+                stackedStatistics.put(group.getKey(), statisticsList);
+            }
+        }
+
+        return stackedStatistics;
+    }
+}
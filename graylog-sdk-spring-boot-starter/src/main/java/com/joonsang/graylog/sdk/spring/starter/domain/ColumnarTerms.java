@@ -0,0 +1,292 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.*;
+
+/**
+ * Columnar Terms
+ * <p>
+ * Terms holding row keys as codes of a label dictionary shared with column labels,
+ * and values of each series and stacked column as primitive arrays.
+ * Rows are addressed by index, so terms can be iterated or sliced without a row object per term.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@ToString
+public class ColumnarTerms extends ColumnarResult {
+
+    public ColumnarTerms(int[] rowKeyOffsets, int[] rowKeyCodes, String[] labels, List<MetricColumn> columns) {
+        super(labels, columns);
+        this.rowKeyOffsets = rowKeyOffsets;
+        this.rowKeyCodes = rowKeyCodes;
+    }
+
+    /**
+     * Start of each row key in row key codes, followed by the end of the last row key
+     */
+    @JsonProperty("row_key_offsets")
+    private final int[] rowKeyOffsets;
+
+    /**
+     * Row keys encoded with label dictionary, one after another
+     */
+    @JsonProperty("row_key_codes")
+    private final int[] rowKeyCodes;
+
+    /**
+     * Number of rows.
+     * @return Number of rows
+     * @since 2.1.0
+     */
+    @JsonIgnore
+    public int getSize() {
+        return rowKeyOffsets.length - 1;
+    }
+
+    /**
+     * Decode base labels of a row.
+     * @param row row index
+     * @return Base labels
+     * @since 2.1.0
+     */
+    public List<String> getBaseLabels(int row) {
+        return decode(rowKeyCodes, rowKeyOffsets[row], rowKeyOffsets[row + 1]);
+    }
+
+    /**
+     * Base label of a row at given row group position.
+     * @param row row index
+     * @param position position of row group
+     * @return Base label
+     * @since 2.1.0
+     */
+    public String getBaseLabel(int row, int position) {
+        return getLabels()[getBaseLabelCode(row, position)];
+    }
+
+    /**
+     * Dictionary code of base label of a row at given row group position.
+     * Rows sharing a label share its code, so codes can be compared instead of labels.
+     * @param row row index
+     * @param position position of row group
+     * @return Label dictionary code
+     * @since 2.1.0
+     */
+    public int getBaseLabelCode(int row, int position) {
+        int offset = rowKeyOffsets[row] + position;
+
+        if (position < 0 || offset >= rowKeyOffsets[row + 1]) {
+            throw new IndexOutOfBoundsException("Row " + row + " has no row group at position " + position);
+        }
+
+        return rowKeyCodes[offset];
+    }
+
+    /**
+     * Indexes of rows with the largest values of a metric column, in descending order of value.
+     * Rows without the value are never selected, and rows with equal values are kept in row order.
+     * @param column metric column of these terms
+     * @param limit maximum number of rows
+     * @return Row indexes
+     * @since 2.1.0
+     */
+    public int[] topRows(MetricColumn column, int limit) {
+        double[] values = column.getValues();
+        int size = Math.min(limit, getSize());
+
+        if (size <= 0) {
+            return new int[0];
+        }
+
+        // min-heap of row indexes ordered by rank, holding the highest ranked rows seen so far
+        int[] heap = new int[size];
+        int heapSize = 0;
+
+        for (int row = 0; row < values.length; row++) {
+            if (Double.isNaN(values[row])) {
+                continue;
+            }
+
+            if (heapSize < size) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize, values);
+                heapSize++;
+            } else if (ranksBelow(heap[0], row, values)) {
+                heap[0] = row;
+                siftDown(heap, heapSize, values);
+            }
+        }
+
+        int[] top = new int[heapSize];
+
+        for (int i = heapSize - 1; i >= 0; i--) {
+            top[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i, values);
+        }
+
+        return top;
+    }
+
+    /**
+     * Terms of rows with the largest values of a metric column, in descending order of value.
+     * Label dictionary is shared with these terms.
+     * @param column metric column of these terms
+     * @param limit maximum number of rows
+     * @return Top terms
+     * @since 2.1.0
+     */
+    public ColumnarTerms top(MetricColumn column, int limit) {
+        return slice(topRows(column, limit));
+    }
+
+    /**
+     * Terms of given rows, in given order.
+     * Label dictionary is shared with these terms.
+     * @param rows row indexes
+     * @return Sliced terms
+     * @since 2.1.0
+     */
+    public ColumnarTerms slice(int[] rows) {
+        int[] slicedOffsets = new int[rows.length + 1];
+        int keyLength = 0;
+
+        for (int i = 0; i < rows.length; i++) {
+            slicedOffsets[i] = keyLength;
+            keyLength += rowKeyOffsets[rows[i] + 1] - rowKeyOffsets[rows[i]];
+        }
+
+        slicedOffsets[rows.length] = keyLength;
+
+        int[] slicedCodes = new int[keyLength];
+
+        for (int i = 0; i < rows.length; i++) {
+            int from = rowKeyOffsets[rows[i]];
+
+            System.arraycopy(rowKeyCodes, from, slicedCodes, slicedOffsets[i], rowKeyOffsets[rows[i] + 1] - from);
+        }
+
+        List<MetricColumn> slicedColumns = new ArrayList<>(getColumns().size());
+
+        for (MetricColumn column : getColumns()) {
+            double[] slicedValues = new double[rows.length];
+
+            for (int i = 0; i < rows.length; i++) {
+                slicedValues[i] = column.getValue(rows[i]);
+            }
+
+            slicedColumns.add(
+                new MetricColumn(
+                    column.getField(),
+                    column.getType(),
+                    column.getPercentileRank(),
+                    column.getColumnKey(),
+                    slicedValues
+                )
+            );
+        }
+
+        return new ColumnarTerms(slicedOffsets, slicedCodes, getLabels(), slicedColumns);
+    }
+
+    /**
+     * Convert to row oriented terms.
+     * @return Terms
+     * @since 2.1.0
+     */
+    public Terms toTerms() {
+        List<MetricColumn> rowColumns = rowColumns();
+        Map<List<String>, List<MetricColumn>> stackedColumnGroups = stackedColumnGroups();
+
+        int size = getSize();
+
+        List<Terms.TermsData> termsDataList = new ArrayList<>(size);
+
+        for (int row = 0; row < size; row++) {
+            List<Terms.StackedColumn> stackedColumns = new ArrayList<>();
+
+            toStackedStatistics(stackedColumnGroups, row).forEach((columnLabels, statisticsList) ->
+                stackedColumns.add(
+                    Terms.StackedColumn.builder()
+                        .columnLabels(columnLabels)
+                        .statisticsList(statisticsList)
+                        .build()
+                )
+            );
+
+            termsDataList.add(
+                Terms.TermsData.builder()
+                    .baseLabels(getBaseLabels(row))
+                    .statisticsList(MetricColumn.toStatisticsList(rowColumns, row))
+                    .stackedColumns(stackedColumns)
+                    .build()
+            );
+        }
+
+        return Terms.builder().terms(termsDataList).build();
+    }
+
+    /**
+     * Whether a row ranks below another row, having a smaller value or an equal value at a later row.
+     * @param row row index
+     * @param other row index to compare with
+     * @param values values of metric column
+     * @return true if the row ranks below the other row
+     * @since 2.1.0
+     */
+    private static boolean ranksBelow(int row, int other, double[] values) {
+        return values[row] < values[other] || (values[row] == values[other] && row > other);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] values) {
+        int row = heap[index];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+
+            if (!ranksBelow(row, heap[parent], values)) {
+                break;
+            }
+
+            heap[index] = heap[parent];
+            index = parent;
+        }
+
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int heapSize, double[] values) {
+        if (heapSize == 0) {
+            return;
+        }
+
+        int row = heap[0];
+        int index = 0;
+
+        while (true) {
+            int child = (index << 1) + 1;
+
+            if (child >= heapSize) {
+                break;
+            }
+
+            if (child + 1 < heapSize && ranksBelow(heap[child + 1], heap[child], values)) {
+                child++;
+            }
+
+            if (!ranksBelow(heap[child], row, values)) {
+                break;
+            }
+
+            heap[index] = heap[child];
+            index = child;
+        }
+
+        heap[index] = row;
+    }
+}
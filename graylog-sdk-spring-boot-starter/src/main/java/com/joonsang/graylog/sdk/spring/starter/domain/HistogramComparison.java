@@ -0,0 +1,62 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Histogram Comparison
+ * <p>
+ * Histograms of several periods, with buckets re-keyed to their offset from the start of each period
+ * so that the periods can be overlaid.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class HistogramComparison implements Serializable {
+
+    @Builder
+    public HistogramComparison(List<Histogram> histograms, List<ComparisonData> comparison) {
+        this.histograms = histograms;
+        this.comparison = comparison;
+    }
+
+    /**
+     * Histogram of each period, in the order of requested time ranges
+     */
+    private List<Histogram> histograms;
+
+    /**
+     * Buckets of every period aligned by offset, in ascending order of offset
+     */
+    private List<ComparisonData> comparison;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @ToString
+    public static class ComparisonData implements Serializable {
+
+        @Builder
+        public ComparisonData(Long offset, List<Histogram.HistogramData> periods) {
+            this.offset = offset;
+            this.periods = periods;
+        }
+
+        /**
+         * Milliseconds from the start of the period
+         */
+        private Long offset;
+
+        /**
+         * Bucket of each period at the offset, null where a period has no bucket
+         */
+        @JsonProperty("periods")
+        private List<Histogram.HistogramData> periods;
+    }
+}
@@ -0,0 +1,96 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Metric Column
+ * <p>
+ * Values of a single series, either of the row itself or of a stacked column, for every row of a columnar result.
+ * Rows without the value hold {@link Double#NaN}.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@ToString
+public class MetricColumn implements Serializable {
+
+    public MetricColumn(String field, SeriesType type, String percentileRank, int[] columnKey, double[] values) {
+        this.field = field;
+        this.type = type;
+        this.percentileRank = percentileRank;
+        this.columnKey = columnKey;
+        this.values = values;
+    }
+
+    private final String field;
+
+    private final SeriesType type;
+
+    @JsonProperty("percentile_rank")
+    private final String percentileRank;
+
+    /**
+     * Column labels encoded with label dictionary of the result, empty for values of the row itself
+     */
+    @JsonProperty("column_key")
+    private final int[] columnKey;
+
+    private final double[] values;
+
+    /**
+     * Whether this column holds values of the row itself rather than of a stacked column.
+     * @return true if the column has no column labels
+     * @since 2.1.0
+     */
+    @JsonIgnore
+    public boolean isRowColumn() {
+        return columnKey.length == 0;
+    }
+
+    /**
+     * Value at given row.
+     * @param row row index
+     * @return Value, or NaN if the row has no value
+     * @since 2.1.0
+     */
+    public double getValue(int row) {
+        return values[row];
+    }
+
+    /**
+     * Convert values of given row to statistics, one per field, in order of columns.
+     * @param columns metric columns
+     * @param row row index
+     * @return Statistics list
+     * @since 2.1.0
+     */
+    public static List<Statistics> toStatisticsList(List<MetricColumn> columns, int row) {
+        Map<String, Statistics> statisticsMap = new LinkedHashMap<>();
+
+        for (MetricColumn column : columns) {
+            double value = column.values[row];
+
+            if (Double.isNaN(value)) {
+                continue;
+            }
+
+            Statistics statistics = statisticsMap.computeIfAbsent(column.field, field -> {
+                Statistics created = new Statistics();
+                created.setField(field);
+
+                return created;
+            });
+
+            statistics.apply(column.type, column.percentileRank, value);
+        }
+
+        return new ArrayList<>(statisticsMap.values());
+    }
+}
@@ -32,4 +32,23 @@ public class Parameter {
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private final ParameterBinding binding;
+
+    /**
+     * Value parameter bound to given value, referenced as $name$ in search query.
+     * The value is bound by Graylog rather than written into search query, so it needs no escaping.
+     * @param name parameter name
+     * @param value bound value
+     * @return Graylog parameter object
+     * @since 2.1.0
+     */
+    public static Parameter of(String name, String value) {
+        return Parameter.builder()
+            .type("value-parameter-v1")
+            .name(name)
+            .title(name)
+            .dataType("any")
+            .optional(false)
+            .binding(ParameterBinding.builder().type("value").value(value).build())
+            .build();
+    }
 }
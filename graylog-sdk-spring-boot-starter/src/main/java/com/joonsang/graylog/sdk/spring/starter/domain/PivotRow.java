@@ -0,0 +1,34 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Pivot Row
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PivotRow {
+
+    private final List<String> key;
+
+    private final List<PivotValue> values;
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class PivotValue {
+
+        private final List<String> key;
+
+        private final Number value;
+
+        private final String source;
+    }
+}
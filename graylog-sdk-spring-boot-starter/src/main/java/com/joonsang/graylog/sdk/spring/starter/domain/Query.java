@@ -2,7 +2,8 @@ package com.joonsang.graylog.sdk.spring.starter.domain;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.uuid.Generators;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategy;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Singular;
@@ -18,8 +19,7 @@ import java.util.List;
 @Getter
 public class Query {
 
-    @Builder.Default
-    private final String id = Generators.randomBasedGenerator().generate().toString();
+    private volatile String id;
 
     private final SearchQuery query;
 
@@ -31,4 +31,36 @@ public class Query {
     @Singular
     @JsonProperty("search_types")
     private final List<SearchType> searchTypes;
+
+    /**
+     * ID of this query, generated by the fallback ID strategy the first time it is read
+     * unless given to the builder or assigned before.
+     * @return Query ID
+     * @since 2.1.0
+     */
+    public String getId() {
+        return assignId(IdStrategies.get());
+    }
+
+    /**
+     * Assign ID generated by given ID strategy, unless this query already has one.
+     * @param idStrategy ID strategy
+     * @return Query ID
+     * @since 2.1.0
+     */
+    public String assignId(IdStrategy idStrategy) {
+        String current = id;
+
+        if (current == null) {
+            synchronized (this) {
+                if (id == null) {
+                    id = idStrategy.queryId(this);
+                }
+
+                current = id;
+            }
+        }
+
+        return current;
+    }
 }
@@ -1,9 +1,10 @@
 package com.joonsang.graylog.sdk.spring.starter.domain;
 
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategy;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Singular;
-import org.bson.types.ObjectId;
 
 import java.util.List;
 
@@ -16,12 +17,43 @@ import java.util.List;
 @Getter
 public class SearchSpec {
 
-    @Builder.Default
-    private final String id = new ObjectId().toString();
+    private volatile String id;
 
     @Singular
     private final List<Query> queries;
 
     @Singular
     private final List<Parameter> parameters;
+
+    /**
+     * ID of this search spec, generated by the fallback ID strategy the first time it is read
+     * unless given to the builder or assigned before.
+     * @return Search spec ID
+     * @since 2.1.0
+     */
+    public String getId() {
+        return assignId(IdStrategies.get());
+    }
+
+    /**
+     * Assign ID generated by given ID strategy, unless this search spec already has one.
+     * @param idStrategy ID strategy
+     * @return Search spec ID
+     * @since 2.1.0
+     */
+    public String assignId(IdStrategy idStrategy) {
+        String current = id;
+
+        if (current == null) {
+            synchronized (this) {
+                if (id == null) {
+                    id = idStrategy.searchSpecId(this);
+                }
+
+                current = id;
+            }
+        }
+
+        return current;
+    }
 }
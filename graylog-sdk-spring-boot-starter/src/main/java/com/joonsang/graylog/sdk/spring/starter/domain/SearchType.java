@@ -2,8 +2,9 @@ package com.joonsang.graylog.sdk.spring.starter.domain;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.uuid.Generators;
 import com.joonsang.graylog.sdk.spring.starter.constant.SearchTypeType;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategy;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Singular;
@@ -20,8 +21,7 @@ import java.util.List;
 @Getter
 public class SearchType {
 
-    @Builder.Default
-    private final String id = Generators.randomBasedGenerator().generate().toString();
+    private volatile String id;
 
     private final String name;
 
@@ -86,4 +86,36 @@ public class SearchType {
      */
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private final Integer offset;
+
+    /**
+     * ID of this search type, generated by the fallback ID strategy the first time it is read
+     * unless given to the builder or assigned before.
+     * @return Search type ID
+     * @since 2.1.0
+     */
+    public String getId() {
+        return assignId(IdStrategies.get());
+    }
+
+    /**
+     * Assign ID generated by given ID strategy, unless this search type already has one.
+     * @param idStrategy ID strategy
+     * @return Search type ID
+     * @since 2.1.0
+     */
+    public String assignId(IdStrategy idStrategy) {
+        String current = id;
+
+        if (current == null) {
+            synchronized (this) {
+                if (id == null) {
+                    id = idStrategy.searchTypeId(this);
+                }
+
+                current = id;
+            }
+        }
+
+        return current;
+    }
 }
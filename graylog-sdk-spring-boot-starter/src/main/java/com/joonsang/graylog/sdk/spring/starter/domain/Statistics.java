@@ -2,9 +2,11 @@ package com.joonsang.graylog.sdk.spring.starter.domain;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
 import lombok.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -56,4 +58,57 @@ public class Statistics implements Serializable {
     @JsonProperty("percentile_ranks")
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     private List<String> percentileRanks;
+
+    /**
+     * Apply value of a series to the statistics field of its type.
+     * @param type series type
+     * @param percentileRank percentile rank, only used with SeriesType.percentile
+     * @param value series value
+     * @since 2.1.0
+     */
+    public void apply(SeriesType type, String percentileRank, Number value) {
+        Double doubleValue = value == null ? null : value.doubleValue();
+        Integer intValue = value == null ? null : value.intValue();
+
+        switch (type) {
+            case avg:
+                this.average = doubleValue;
+                break;
+            case card:
+                this.cardinality = intValue;
+                break;
+            case count:
+                this.count = intValue;
+                break;
+            case max:
+                this.max = doubleValue;
+                break;
+            case min:
+                this.min = doubleValue;
+                break;
+            case stddev:
+                this.stdDeviation = doubleValue;
+                break;
+            case sum:
+                this.sum = doubleValue;
+                break;
+            case sumofsquares:
+                this.sumOfSquares = doubleValue;
+                break;
+            case variance:
+                this.variance = doubleValue;
+                break;
+            case percentile:
+                if (this.percentiles == null) {
+                    this.percentiles = new ArrayList<>();
+                    this.percentileRanks = new ArrayList<>();
+                }
+
+                this.percentiles.add(doubleValue);
+                this.percentileRanks.add(percentileRank);
+                break;
+            default:
+                break;
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.joonsang.graylog.sdk.spring.starter.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Typed Message List Domain
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@Getter
+@Setter
+@ToString
+public class TypedMessageList<T> {
+
+    @Builder
+    public TypedMessageList(List<T> messages, Integer totalCount) {
+        this.messages = messages;
+        this.totalCount = totalCount;
+    }
+
+    private List<T> messages;
+
+    private Integer totalCount;
+}
@@ -0,0 +1,19 @@
+package com.joonsang.graylog.sdk.spring.starter.exception;
+
+import java.io.IOException;
+
+/**
+ * GraylogRequestRejectedException will be produced when
+ * Graylog SDK rejects a request before sending it, because a circuit breaker is open
+ * or the concurrency limit is reached.
+ * It is not a {@link GraylogServerException}, as the request never reached Graylog server.
+ *
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class GraylogRequestRejectedException extends IOException {
+
+    public GraylogRequestRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,69 @@
+package com.joonsang.graylog.sdk.spring.starter.id;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.joonsang.graylog.sdk.spring.starter.domain.Query;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Deterministic ID Strategy
+ * <p>
+ * Derives IDs from a hash of the content, leaving out IDs,
+ * so that equal search specs are serialized into identical requests.
+ * Search types of a query must differ in content, e.g. by name, to get distinct IDs.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class DeterministicIdStrategy implements IdStrategy {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .registerModule(new JavaTimeModule())
+        .addMixIn(SearchSpec.class, WithoutId.class)
+        .addMixIn(Query.class, WithoutId.class)
+        .addMixIn(SearchType.class, WithoutId.class);
+
+    @Override
+    public String searchSpecId(SearchSpec searchSpec) {
+        return hash(searchSpec).toString().substring(0, 24);
+    }
+
+    @Override
+    public String queryId(Query query) {
+        return toUuid(hash(query));
+    }
+
+    @Override
+    public String searchTypeId(SearchType searchType) {
+        return toUuid(hash(searchType));
+    }
+
+    private HashCode hash(Object content) {
+        try {
+            return Hashing.murmur3_128().hashString(objectMapper.writeValueAsString(content), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + content.getClass().getSimpleName() + " to derive ID.", e);
+        }
+    }
+
+    private static String toUuid(HashCode hashCode) {
+        ByteBuffer buffer = ByteBuffer.wrap(hashCode.asBytes());
+
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    @JsonIgnoreProperties("id")
+    private abstract static class WithoutId {
+    }
+}
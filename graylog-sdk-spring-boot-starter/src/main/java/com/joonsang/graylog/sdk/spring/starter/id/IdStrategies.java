@@ -0,0 +1,47 @@
+package com.joonsang.graylog.sdk.spring.starter.id;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.IdGeneration;
+
+/**
+ * ID Strategies
+ * <p>
+ * Holds the immutable fallback ID strategy, used by search specs, queries and search types which are read
+ * without an ID assigned by a {@code Search}, such as ones built and serialized outside of Spring.
+ * Spring applications configure the ID strategy of their searches through an {@link IdStrategy} bean instead.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public final class IdStrategies {
+
+    private static final IdStrategy FALLBACK = new SequentialIdStrategy();
+
+    private IdStrategies() {
+    }
+
+    /**
+     * Fallback ID strategy, which is sequential and never replaced.
+     * @return ID strategy
+     * @since 2.1.0
+     */
+    public static IdStrategy get() {
+        return FALLBACK;
+    }
+
+    /**
+     * Built-in ID strategy.
+     * @param idGeneration ID generation strategy
+     * @return ID strategy
+     * @since 2.1.0
+     */
+    public static IdStrategy of(IdGeneration idGeneration) {
+        switch (idGeneration) {
+            case RANDOM:
+                return new RandomIdStrategy();
+            case DETERMINISTIC:
+                return new DeterministicIdStrategy();
+            case SEQUENTIAL:
+            default:
+                return new SequentialIdStrategy();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.joonsang.graylog.sdk.spring.starter.id;
+
+import com.joonsang.graylog.sdk.spring.starter.domain.Query;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+
+/**
+ * ID Strategy
+ * <p>
+ * Generates IDs of search specs, queries and search types which are built without an explicit ID.
+ * An ID is generated once, the first time it is read, so that a strategy may derive it from the content.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public interface IdStrategy {
+
+    /**
+     * Generate ID of a search spec.
+     * Graylog requires it to be a 24 digit hexadecimal string.
+     * @param searchSpec search spec without ID
+     * @return Search spec ID
+     * @since 2.1.0
+     */
+    String searchSpecId(SearchSpec searchSpec);
+
+    /**
+     * Generate ID of a query, unique within its search spec.
+     * @param query query without ID
+     * @return Query ID
+     * @since 2.1.0
+     */
+    String queryId(Query query);
+
+    /**
+     * Generate ID of a search type, unique within its query.
+     * @param searchType search type without ID
+     * @return Search type ID
+     * @since 2.1.0
+     */
+    String searchTypeId(SearchType searchType);
+}
@@ -0,0 +1,41 @@
+package com.joonsang.graylog.sdk.spring.starter.id;
+
+import com.joonsang.graylog.sdk.spring.starter.domain.Query;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random ID Strategy
+ * <p>
+ * Generates random IDs from a thread-local, non-cryptographic random number generator.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class RandomIdStrategy implements IdStrategy {
+
+    @Override
+    public String searchSpecId(SearchSpec searchSpec) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return String.format("%016x%08x", random.nextLong(), random.nextInt());
+    }
+
+    @Override
+    public String queryId(Query query) {
+        return nextUuid();
+    }
+
+    @Override
+    public String searchTypeId(SearchType searchType) {
+        return nextUuid();
+    }
+
+    private String nextUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
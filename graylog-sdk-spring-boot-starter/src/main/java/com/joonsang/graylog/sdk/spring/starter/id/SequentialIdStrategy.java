@@ -0,0 +1,62 @@
+package com.joonsang.graylog.sdk.spring.starter.id;
+
+import com.joonsang.graylog.sdk.spring.starter.domain.Query;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequential ID Strategy
+ * <p>
+ * Generates IDs from a counter and a random prefix drawn once per instance,
+ * which are unique without drawing random numbers per ID.
+ * Search spec IDs are laid out like BSON object IDs: seconds since epoch, random prefix and counter,
+ * so they sort by second of creation.
+ * Query and search type IDs are the prefix and counter written in UUID format.
+ * They are neither time-ordered nor RFC 4122 UUIDs, as they carry no version or variant bits.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class SequentialIdStrategy implements IdStrategy {
+
+    private final long prefix;
+
+    private final AtomicLong counter;
+
+    public SequentialIdStrategy() {
+        SecureRandom random = new SecureRandom();
+
+        this.prefix = random.nextLong();
+        this.counter = new AtomicLong(random.nextInt());
+    }
+
+    @Override
+    public String searchSpecId(SearchSpec searchSpec) {
+        long seconds = System.currentTimeMillis() / 1000L;
+        long count = counter.incrementAndGet();
+
+        return String.format(
+            "%08x%010x%06x",
+            seconds & 0xFFFFFFFFL,
+            prefix & 0xFFFFFFFFFFL,
+            count & 0xFFFFFFL
+        );
+    }
+
+    @Override
+    public String queryId(Query query) {
+        return nextUuid();
+    }
+
+    @Override
+    public String searchTypeId(SearchType searchType) {
+        return nextUuid();
+    }
+
+    private String nextUuid() {
+        return new UUID(prefix, counter.incrementAndGet()).toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.joonsang.graylog.sdk.spring.starter.protection;
+
+/**
+ * Circuit Breaker
+ * <p>
+ * Opens when the failure rate over a sliding window of recent calls reaches the threshold,
+ * rejects calls while open, and lets a few trial calls through once the open time is over.
+ * The breaker closes when every trial call succeeds, and opens again when one of them fails.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+
+    private final int minimumCalls;
+
+    private final long openNanos;
+
+    private final int halfOpenCalls;
+
+    private final boolean[] failures;
+
+    private int outcomeIndex;
+
+    private int callCount;
+
+    private int failureCount;
+
+    private State state = State.CLOSED;
+
+    private long openUntilNanos;
+
+    private int halfOpenPermits;
+
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(
+        int failureRateThreshold,
+        int minimumCalls,
+        int slidingWindowSize,
+        long openNanos,
+        int halfOpenCalls
+    ) {
+
+        int windowSize = Math.max(slidingWindowSize, 1);
+
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.min(Math.max(minimumCalls, 1), windowSize);
+        this.openNanos = openNanos;
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+        this.failures = new boolean[windowSize];
+    }
+
+    /**
+     * Current state of this breaker.
+     * @return Circuit breaker state
+     * @since 2.1.0
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Ask permission to send a call.
+     * @param nowNanos current time in nanoseconds
+     * @return true if the call is permitted
+     * @since 2.1.0
+     */
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (state == State.OPEN) {
+            if (nowNanos - openUntilNanos < 0) {
+                return false;
+            }
+
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+
+            halfOpenPermits++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Record a successful call.
+     * @since 2.1.0
+     */
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+
+            return;
+        }
+
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Record a failed call.
+     * @param nowNanos current time in nanoseconds
+     * @since 2.1.0
+     */
+    synchronized void onFailure(long nowNanos) {
+        if (state == State.HALF_OPEN) {
+            open(nowNanos);
+
+            return;
+        }
+
+        if (state == State.CLOSED) {
+            record(true);
+
+            if (callCount >= minimumCalls && failureCount * 100 >= failureRateThreshold * callCount) {
+                open(nowNanos);
+            }
+        }
+    }
+
+    /**
+     * Give back permission of a call which has been cancelled or never sent.
+     * @since 2.1.0
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (callCount == failures.length) {
+            if (failures[outcomeIndex]) {
+                failureCount--;
+            }
+        } else {
+            callCount++;
+        }
+
+        failures[outcomeIndex] = failure;
+        outcomeIndex = (outcomeIndex + 1) % failures.length;
+
+        if (failure) {
+            failureCount++;
+        }
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openUntilNanos = nowNanos + openNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        outcomeIndex = 0;
+        callCount = 0;
+        failureCount = 0;
+    }
+}
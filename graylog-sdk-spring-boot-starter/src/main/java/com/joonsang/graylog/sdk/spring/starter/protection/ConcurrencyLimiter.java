@@ -0,0 +1,118 @@
+package com.joonsang.graylog.sdk.spring.starter.protection;
+
+/**
+ * Adaptive Concurrency Limiter
+ * <p>
+ * Limits requests in flight with an AIMD limit.
+ * The limit grows by one for each request answered in time while the limit is in use,
+ * and shrinks by the backoff ratio when a request fails
+ * or takes longer than the latency tolerance times the long-term average latency.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class ConcurrencyLimiter {
+
+    private static final double BASELINE_WEIGHT = 0.01;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final double latencyTolerance;
+
+    private double limit;
+
+    private int inFlight;
+
+    private double baselineNanos;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+    }
+
+    /**
+     * Current concurrency limit.
+     * @return Concurrency limit
+     * @since 2.1.0
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Number of requests in flight.
+     * @return Requests in flight
+     * @since 2.1.0
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Acquire a slot for a request, waiting for a free one up to given time.
+     * @param maxWaitNanos maximum time to wait in nanoseconds, zero not to wait
+     * @return true if a slot is acquired
+     * @throws InterruptedException interrupted while waiting
+     * @since 2.1.0
+     */
+    synchronized boolean acquire(long maxWaitNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+
+        while (inFlight >= (int) limit) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            wait(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+        }
+
+        inFlight++;
+
+        return true;
+    }
+
+    /**
+     * Release the slot of an answered request and adjust the limit.
+     * @param latencyNanos time until response headers arrived, in nanoseconds
+     * @param failed whether the request failed
+     * @since 2.1.0
+     */
+    synchronized void release(long latencyNanos, boolean failed) {
+        boolean inUse = inFlight * 2 >= (int) limit;
+
+        inFlight--;
+
+        boolean overloaded = failed || (baselineNanos > 0 && latencyNanos > baselineNanos * latencyTolerance);
+
+        if (!failed) {
+            baselineNanos = baselineNanos == 0
+                ? latencyNanos
+                : baselineNanos + (latencyNanos - baselineNanos) * BASELINE_WEIGHT;
+        }
+
+        if (overloaded) {
+            limit = Math.max(limit * backoffRatio, minLimit);
+        } else if (inUse) {
+            limit = Math.min(limit + 1, maxLimit);
+        }
+
+        notifyAll();
+    }
+
+    /**
+     * Release the slot of a request which has been cancelled or never sent, without adjusting the limit.
+     * @since 2.1.0
+     */
+    synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+}
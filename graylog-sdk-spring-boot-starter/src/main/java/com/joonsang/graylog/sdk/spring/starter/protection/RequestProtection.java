@@ -0,0 +1,191 @@
+package com.joonsang.graylog.sdk.spring.starter.protection;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogNode;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogRequestRejectedException;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request Protection
+ * <p>
+ * Admits requests through a circuit breaker per node and endpoint and an adaptive concurrency limiter,
+ * so that requests fail fast at a bounded concurrency while Graylog is overloaded.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class RequestProtection {
+
+    private static final Permit NO_OP_PERMIT = new Permit(null, null);
+
+    private final boolean enabled;
+
+    private final GraylogApiProperties.Protection properties;
+
+    private final long maxWaitNanos;
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public RequestProtection(GraylogApiProperties.Protection properties) {
+        this.enabled = properties.getEnabled();
+        this.properties = properties;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getMaxWait(), 0L));
+        this.concurrencyLimiter = new ConcurrencyLimiter(
+            properties.getInitialLimit(),
+            properties.getMinLimit(),
+            properties.getMaxLimit(),
+            properties.getBackoffRatio(),
+            properties.getLatencyTolerance()
+        );
+    }
+
+    /**
+     * Whether request protection is enabled.
+     * @return true if enabled
+     * @since 2.1.0
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Concurrency limiter shared by every request.
+     * @return Concurrency limiter
+     * @since 2.1.0
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Circuit breaker of a node and endpoint.
+     * @param node Graylog node
+     * @param request OkHttp Request object
+     * @return Circuit breaker
+     * @since 2.1.0
+     */
+    public CircuitBreaker getCircuitBreaker(GraylogNode node, Request request) {
+        String key = node.getScheme() + "://" + node.getHost() + ":" + node.getPort() + request.url().encodedPath();
+
+        return circuitBreakers.computeIfAbsent(key, k ->
+            new CircuitBreaker(
+                properties.getFailureRateThreshold(),
+                properties.getMinimumCalls(),
+                properties.getSlidingWindowSize(),
+                TimeUnit.MILLISECONDS.toNanos(properties.getOpenTime()),
+                properties.getHalfOpenCalls()
+            )
+        );
+    }
+
+    /**
+     * Admit request to a node.
+     * @param node Graylog node
+     * @param request OkHttp Request object
+     * @param wait whether to wait up to max wait time for a free slot when the concurrency limit is reached
+     * @return Permit which must be completed once the request is answered, failed or cancelled
+     * @throws IOException circuit breaker is open, concurrency limit is reached or interrupted while waiting
+     * @since 2.1.0
+     */
+    public Permit acquire(GraylogNode node, Request request, boolean wait) throws IOException {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+
+        CircuitBreaker circuitBreaker = getCircuitBreaker(node, request);
+
+        if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+            throw new GraylogRequestRejectedException(
+                "Circuit breaker is open for " + node.getHost() + ":" + node.getPort() + request.url().encodedPath()
+            );
+        }
+
+        boolean acquired;
+
+        try {
+            acquired = concurrencyLimiter.acquire(wait ? maxWaitNanos : 0L);
+        } catch (InterruptedException e) {
+            circuitBreaker.onIgnored();
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for Graylog request concurrency.");
+        }
+
+        if (!acquired) {
+            circuitBreaker.onIgnored();
+
+            throw new GraylogRequestRejectedException(
+                "Graylog request concurrency limit of " + concurrencyLimiter.getLimit() + " is reached."
+            );
+        }
+
+        return new Permit(circuitBreaker, concurrencyLimiter);
+    }
+
+    /**
+     * Permit of an admitted request, completed once.
+     * @since 2.1.0
+     */
+    public static class Permit {
+
+        private final CircuitBreaker circuitBreaker;
+
+        private final ConcurrencyLimiter concurrencyLimiter;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(CircuitBreaker circuitBreaker, ConcurrencyLimiter concurrencyLimiter) {
+            this.circuitBreaker = circuitBreaker;
+            this.concurrencyLimiter = concurrencyLimiter;
+        }
+
+        /**
+         * Request has been answered by Graylog.
+         * @param latencyNanos time until response headers arrived, in nanoseconds
+         * @since 2.1.0
+         */
+        public void onSuccess(long latencyNanos) {
+            if (circuitBreaker == null || !completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            circuitBreaker.onSuccess();
+            concurrencyLimiter.release(latencyNanos, false);
+        }
+
+        /**
+         * Request has failed to be answered or answered with server error.
+         * @param latencyNanos time until failure, in nanoseconds
+         * @since 2.1.0
+         */
+        public void onFailure(long latencyNanos) {
+            if (circuitBreaker == null || !completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            circuitBreaker.onFailure(System.nanoTime());
+            concurrencyLimiter.release(latencyNanos, true);
+        }
+
+        /**
+         * Request has been cancelled by the client.
+         * @since 2.1.0
+         */
+        public void onCancel() {
+            if (circuitBreaker == null || !completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            circuitBreaker.onIgnored();
+            concurrencyLimiter.release();
+        }
+    }
+}
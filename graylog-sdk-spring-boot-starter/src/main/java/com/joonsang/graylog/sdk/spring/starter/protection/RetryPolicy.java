@@ -0,0 +1,157 @@
+package com.joonsang.graylog.sdk.spring.starter.protection;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+
+import java.io.Closeable;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Retry Policy
+ * <p>
+ * Backs off exponentially with full jitter between attempts of a read-only request,
+ * honouring the Retry-After header of a response when present.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class RetryPolicy implements Closeable {
+
+    private final boolean enabled;
+
+    private final int maxAttempts;
+
+    private final long initialBackoffNanos;
+
+    private final long maxBackoffNanos;
+
+    private final double multiplier;
+
+    private final long deadlineNanos;
+
+    private final Set<Integer> retryableStatuses;
+
+    private ScheduledExecutorService scheduler;
+
+    public RetryPolicy(GraylogApiProperties.Retry properties) {
+        this.enabled = properties.getEnabled();
+        this.maxAttempts = Math.max(properties.getMaxAttempts(), 1);
+        this.initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getInitialBackoff(), 1L));
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getMaxBackoff(), 1L));
+        this.multiplier = Math.max(properties.getMultiplier(), 1.0);
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(properties.getDeadline(), 1L));
+        this.retryableStatuses = Set.copyOf(properties.getRetryableStatuses());
+    }
+
+    /**
+     * Whether retry is enabled.
+     * @return true if enabled
+     * @since 2.1.0
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Maximum number of attempts of a request, including the first one.
+     * @return Maximum attempts
+     * @since 2.1.0
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Total time budget of a request over all attempts and backoffs.
+     * @return Deadline in nanoseconds
+     * @since 2.1.0
+     */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Whether a response with given HTTP status code is retried.
+     * @param code HTTP status code
+     * @return true if retryable
+     * @since 2.1.0
+     */
+    public boolean isRetryableStatus(int code) {
+        return retryableStatuses.contains(code);
+    }
+
+    /**
+     * Backoff after given attempt, drawn uniformly between zero and the exponential backoff.
+     * @param attempt number of attempts made so far
+     * @return Backoff in nanoseconds
+     * @since 2.1.0
+     */
+    public long backoffNanos(int attempt) {
+        double exponential = initialBackoffNanos * Math.pow(multiplier, attempt - 1);
+        long ceiling = (long) Math.min(exponential, maxBackoffNanos);
+
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Parse Retry-After header, either delay seconds or HTTP date.
+     * @param retryAfter value of Retry-After header, may be null
+     * @return Delay in nanoseconds, or -1 if absent or invalid
+     * @since 2.1.0
+     */
+    public static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+
+        String value = retryAfter.trim();
+
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(Long.parseLong(value), 0L));
+        } catch (NumberFormatException e) {
+            // not delay seconds, try HTTP date
+        }
+
+        try {
+            long delayMillis = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli()
+                - System.currentTimeMillis();
+
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0L));
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Schedule a retry.
+     * @param retry task sending the retry
+     * @param delayNanos delay in nanoseconds
+     * @return Scheduled future of the retry
+     * @since 2.1.0
+     */
+    public synchronized ScheduledFuture<?> schedule(Runnable retry, long delayNanos) {
+        if (scheduler == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "graylog-retry");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+
+        return scheduler.schedule(retry, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.domain.ColumnarHistogram;
+import com.joonsang.graylog.sdk.spring.starter.domain.ColumnarTerms;
+import com.joonsang.graylog.sdk.spring.starter.domain.MetricColumn;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Columnar Result Reader
+ * <p>
+ * Converts pivot rows into columnar results,
+ * writing each value straight into the primitive array of its series and stacked column.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+class ColumnarResultReader {
+
+    private ColumnarResultReader() {}
+
+    /**
+     * Read columnar histogram from pivot rows.
+     * @param rows pivot rows from Graylog
+     * @param seriesList series requested to Graylog
+     * @return Columnar histogram
+     * @throws GraylogServerException bucket key is not a timestamp
+     * @since 2.1.0
+     */
+    static ColumnarHistogram readHistogram(List<PivotRow> rows, List<Series> seriesList) throws GraylogServerException {
+        long[] timestamps = new long[rows.size()];
+
+        for (int row = 0; row < rows.size(); row++) {
+            List<String> key = rows.get(row).getKey();
+
+            if (key.isEmpty()) {
+                throw new GraylogServerException("Histogram bucket without timestamp at row " + row + ".");
+            }
+
+            try {
+                timestamps[row] = OffsetDateTime.parse(key.get(0)).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new GraylogServerException("Histogram bucket key is not a timestamp: " + key.get(0));
+            }
+        }
+
+        LabelDictionary dictionary = new LabelDictionary();
+        List<MetricColumn> columns = readColumns(rows, new SeriesIndex(seriesList), dictionary);
+
+        return new ColumnarHistogram(timestamps, dictionary.toArray(), columns);
+    }
+
+    /**
+     * Read columnar terms from pivot rows.
+     * @param rows pivot rows from Graylog
+     * @param seriesList series requested to Graylog
+     * @return Columnar terms
+     * @since 2.1.0
+     */
+    static ColumnarTerms readTerms(List<PivotRow> rows, List<Series> seriesList) {
+        LabelDictionary dictionary = new LabelDictionary();
+
+        int[] rowKeyOffsets = new int[rows.size() + 1];
+        int keyLength = 0;
+
+        for (int row = 0; row < rows.size(); row++) {
+            rowKeyOffsets[row] = keyLength;
+            keyLength += rows.get(row).getKey().size();
+        }
+
+        rowKeyOffsets[rows.size()] = keyLength;
+
+        int[] rowKeyCodes = new int[keyLength];
+
+        for (int row = 0; row < rows.size(); row++) {
+            List<String> key = rows.get(row).getKey();
+
+            for (int position = 0; position < key.size(); position++) {
+                rowKeyCodes[rowKeyOffsets[row] + position] = dictionary.encode(key.get(position));
+            }
+        }
+
+        List<MetricColumn> columns = readColumns(rows, new SeriesIndex(seriesList), dictionary);
+
+        return new ColumnarTerms(rowKeyOffsets, rowKeyCodes, dictionary.toArray(), columns);
+    }
+
+    /**
+     * Collect values of every row into metric columns.
+     * Row columns come first, followed by stacked columns in order of appearance.
+     * @param rows pivot rows from Graylog
+     * @param seriesIndex series index of requested series
+     * @param dictionary label dictionary to encode column labels with
+     * @return Metric columns
+     * @since 2.1.0
+     */
+    private static List<MetricColumn> readColumns(List<PivotRow> rows, SeriesIndex seriesIndex, LabelDictionary dictionary) {
+        int rowCount = rows.size();
+        int seriesCount = seriesIndex.size();
+
+        Map<List<String>, double[][]> columnGroups = new LinkedHashMap<>();
+        columnGroups.put(List.of(), new double[seriesCount][]);
+
+        for (int row = 0; row < rowCount; row++) {
+            int currentRow = row;
+
+            seriesIndex.visit(rows.get(row).getValues(), (columnValue, columnLabels, seriesSlot, value) -> {
+                double[][] group = columnGroups.get(columnLabels);
+
+                if (group == null) {
+                    group = new double[seriesCount][];
+                    columnGroups.put(new ArrayList<>(columnLabels), group);
+                }
+
+                double[] values = group[seriesSlot.getOrdinal()];
+
+                if (values == null) {
+                    values = new double[rowCount];
+                    Arrays.fill(values, Double.NaN);
+                    group[seriesSlot.getOrdinal()] = values;
+                }
+
+                values[currentRow] = value == null ? Double.NaN : value.doubleValue();
+            });
+        }
+
+        List<MetricColumn> columns = new ArrayList<>();
+
+        for (Map.Entry<List<String>, double[][]> group : columnGroups.entrySet()) {
+            int[] columnKey = dictionary.encode(group.getKey());
+
+            for (int ordinal = 0; ordinal < seriesCount; ordinal++) {
+                double[] values = group.getValue()[ordinal];
+
+                if (values == null) {
+                    continue;
+                }
+
+                SeriesIndex.SeriesSlot seriesSlot = seriesIndex.get(ordinal);
+
+                columns.add(
+                    new MetricColumn(
+                        seriesSlot.getField(),
+                        seriesSlot.getType(),
+                        seriesSlot.getPercentile(),
+                        columnKey,
+                        values
+                    )
+                );
+            }
+        }
+
+        return columns;
+    }
+
+    /**
+     * Dictionary assigning a code to each distinct label in order of appearance.
+     */
+    private static class LabelDictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<String> labels = new ArrayList<>();
+
+        private int encode(String label) {
+            Integer code = codes.get(label);
+
+            if (code == null) {
+                code = labels.size();
+                codes.put(label, code);
+                labels.add(label);
+            }
+
+            return code;
+        }
+
+        private int[] encode(List<String> labelList) {
+            int[] encoded = new int[labelList.size()];
+
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = encode(labelList.get(i));
+            }
+
+            return encoded;
+        }
+
+        private String[] toArray() {
+            return labels.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchKey;
+import com.joonsang.graylog.sdk.spring.starter.constant.IntervalType;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Histogram;
+import com.joonsang.graylog.sdk.spring.starter.domain.Interval;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Histogram Bucket Cache
+ * <p>
+ * Keeps closed buckets of histograms with a fixed interval, so that a refresh of a rolling histogram
+ * only fetches buckets which have not been closed yet from Graylog.
+ * A bucket is closed once it ended the settle time before the search.
+ * The first bucket of a time range is partial, so it is always fetched, and it is never kept.
+ * Kept buckets are reused only when they cover the time range from its second bucket on.
+ * Week intervals are not fetched incrementally, as their buckets start on Monday rather than on a multiple of a week.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+final class HistogramBucketCache {
+
+    private static final Pattern FIXED_TIMEUNIT = Pattern.compile("(\\d+)([smhd])");
+
+    private static final long MAX_HISTOGRAMS = 256L;
+
+    private static final long IDLE_EXPIRY_HOURS = 1L;
+
+    private final boolean enabled;
+
+    private final long settleTime;
+
+    private final Cache<SearchKey, ClosedBuckets> cache;
+
+    private final LongSupplier clock;
+
+    HistogramBucketCache(GraylogApiProperties.Cache properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    /**
+     * @param properties cache properties
+     * @param clock current time in milliseconds
+     */
+    HistogramBucketCache(GraylogApiProperties.Cache properties, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = properties.getIncrementalHistogram();
+        this.settleTime = Math.max(properties.getHistogramSettleTime(), 0L);
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_HISTOGRAMS)
+            .expireAfterAccess(IDLE_EXPIRY_HOURS, TimeUnit.HOURS)
+            .build();
+    }
+
+    /**
+     * Whether histogram of the time range and interval can be fetched incrementally.
+     * @param timerange Graylog time range object, relative or absolute
+     * @param interval Graylog interval object
+     * @return true if incremental
+     * @since 2.1.0
+     */
+    boolean accepts(Timerange timerange, Interval interval) {
+        if (!enabled || bucketSize(interval) <= 0 || timerange == null) {
+            return false;
+        }
+
+        if (timerange.getType() == TimeRangeType.relative) {
+            return timerange.getRange() != null && timerange.getRange() > 0;
+        }
+
+        return timerange.getType() == TimeRangeType.absolute
+            && PeriodAlignment.parseInstant(timerange.getFrom()) != null
+            && PeriodAlignment.parseInstant(timerange.getTo()) != null;
+    }
+
+    /**
+     * Plan periods to fetch from Graylog for a histogram.
+     * @param histogramKey key of the histogram apart from its time range
+     * @param timerange Graylog time range object, accepted by {@link #accepts(Timerange, Interval)}
+     * @param interval Graylog interval object
+     * @return Plan of the histogram
+     * @since 2.1.0
+     */
+    Plan plan(SearchKey histogramKey, Timerange timerange, Interval interval) {
+        long now = clock.getAsLong();
+        long bucketSize = bucketSize(interval);
+        long from;
+        long to;
+
+        if (timerange.getType() == TimeRangeType.relative) {
+            to = now;
+            from = now - timerange.getRange() * 1000L;
+        } else {
+            from = PeriodAlignment.parseInstant(timerange.getFrom()).toEpochMilli();
+            to = PeriodAlignment.parseInstant(timerange.getTo()).toEpochMilli();
+        }
+
+        return new Plan(histogramKey, bucketSize, from, to, now, cache.getIfPresent(histogramKey));
+    }
+
+    /**
+     * Length of buckets of a fixed interval.
+     * @param interval Graylog interval object
+     * @return Bucket length in milliseconds, or zero if the interval is not fixed
+     * @since 2.1.0
+     */
+    private static long bucketSize(Interval interval) {
+        if (interval == null || interval.getType() != IntervalType.timeunit || interval.getTimeunit() == null) {
+            return 0L;
+        }
+
+        Matcher matcher = FIXED_TIMEUNIT.matcher(interval.getTimeunit());
+
+        if (!matcher.matches()) {
+            return 0L;
+        }
+
+        long seconds;
+
+        switch (matcher.group(2)) {
+            case "s":
+                seconds = 1L;
+                break;
+            case "m":
+                seconds = 60L;
+                break;
+            case "h":
+                seconds = 3600L;
+                break;
+            default:
+                seconds = 86400L;
+                break;
+        }
+
+        return Long.parseLong(matcher.group(1)) * seconds * 1000L;
+    }
+
+    private static Timerange absolute(long from, long to) {
+        return Timerange.builder()
+            .type(TimeRangeType.absolute)
+            .from(Instant.ofEpochMilli(from).toString())
+            .to(Instant.ofEpochMilli(to).toString())
+            .build();
+    }
+
+    /**
+     * Periods of a histogram to fetch, and splicing of fetched buckets with closed ones.
+     * @since 2.1.0
+     */
+    final class Plan {
+
+        private final SearchKey histogramKey;
+
+        private final long bucketSize;
+
+        private final long firstBucket;
+
+        private final long closedUntil;
+
+        private final ClosedBuckets cached;
+
+        private final List<Timerange> periods;
+
+        private Plan(SearchKey histogramKey, long bucketSize, long from, long to, long now, ClosedBuckets cached) {
+            this.histogramKey = histogramKey;
+            this.bucketSize = bucketSize;
+            this.firstBucket = Math.floorDiv(from, bucketSize) * bucketSize;
+            this.closedUntil = Math.floorDiv(Math.min(to, now - settleTime), bucketSize) * bucketSize;
+
+            long secondBucket = firstBucket + bucketSize;
+
+            boolean reusable = cached != null
+                && cached.coveredFrom <= secondBucket
+                && cached.closedUntil > secondBucket
+                && cached.closedUntil <= to;
+
+            if (!reusable) {
+                this.cached = null;
+                this.periods = List.of(absolute(from, to));
+            } else {
+                this.cached = cached;
+                this.periods = List.of(absolute(from, secondBucket), absolute(cached.closedUntil, to));
+            }
+        }
+
+        /**
+         * Periods to fetch: the whole time range,
+         * or its first bucket and the time since the last closed bucket.
+         * @return Graylog time range object list
+         * @since 2.1.0
+         */
+        List<Timerange> getPeriods() {
+            return periods;
+        }
+
+        /**
+         * Splice fetched buckets with closed ones, and keep buckets closed by now.
+         * @param histograms histogram of each period
+         * @return Histogram of the whole time range
+         * @since 2.1.0
+         */
+        Histogram splice(List<Histogram> histograms) {
+            SortedMap<Long, Histogram.HistogramData> buckets = new TreeMap<>();
+            long secondBucket = firstBucket + bucketSize;
+
+            if (cached == null) {
+                put(buckets, histograms.get(0), Long.MIN_VALUE, Long.MAX_VALUE);
+            } else {
+                put(buckets, histograms.get(0), firstBucket, secondBucket);
+                buckets.putAll(cached.buckets.subMap(secondBucket, cached.closedUntil));
+                put(buckets, histograms.get(1), cached.closedUntil, Long.MAX_VALUE);
+            }
+
+            if (closedUntil > secondBucket) {
+                NavigableMap<Long, Histogram.HistogramData> closed = new TreeMap<>(buckets.subMap(secondBucket, closedUntil));
+
+                cache.put(histogramKey, new ClosedBuckets(closed, secondBucket, closedUntil));
+            }
+
+            return Histogram.builder().histogram(new ArrayList<>(buckets.values())).build();
+        }
+
+        private void put(SortedMap<Long, Histogram.HistogramData> buckets, Histogram histogram, long from, long to) {
+            for (Histogram.HistogramData bucket : histogram.getHistogram()) {
+                Instant timestamp = PeriodAlignment.parseInstant(bucket.getBaseLabel());
+
+                if (timestamp != null && timestamp.toEpochMilli() >= from && timestamp.toEpochMilli() < to) {
+                    buckets.put(timestamp.toEpochMilli(), bucket);
+                }
+            }
+        }
+    }
+
+    private static class ClosedBuckets {
+
+        private final NavigableMap<Long, Histogram.HistogramData> buckets;
+
+        /**
+         * Start of the time span the buckets cover, where missing buckets are empty ones
+         */
+        private final long coveredFrom;
+
+        private final long closedUntil;
+
+        private ClosedBuckets(NavigableMap<Long, Histogram.HistogramData> buckets, long coveredFrom, long closedUntil) {
+            this.buckets = buckets;
+            this.coveredFrom = coveredFrom;
+            this.closedUntil = closedUntil;
+        }
+    }
+}
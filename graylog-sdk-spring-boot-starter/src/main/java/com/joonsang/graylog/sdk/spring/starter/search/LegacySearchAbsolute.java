@@ -1,19 +1,27 @@
 package com.joonsang.graylog.sdk.spring.starter.search;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
 import com.joonsang.graylog.sdk.spring.starter.GraylogUtils;
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
 import com.joonsang.graylog.sdk.spring.starter.autoconfigure.LegacyGraylogSdkProperties;
+import com.joonsang.graylog.sdk.spring.starter.cache.ImmutableRangeCache;
 import com.joonsang.graylog.sdk.spring.starter.domain.*;
 import com.joonsang.graylog.sdk.spring.starter.domain.legacy.*;
 import com.joonsang.graylog.sdk.spring.starter.domain.legacy.Histogram;
 import com.joonsang.graylog.sdk.spring.starter.domain.legacy.Statistics;
 import com.joonsang.graylog.sdk.spring.starter.domain.legacy.Terms;
 import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,17 +32,60 @@ import java.util.stream.Collectors;
  */
 public class LegacySearchAbsolute {
 
+    private static final MediaType CONTENT_TYPE_JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static final String WARM_UP_DOCUMENT = "{\"messages\":[{\"message\":{}}],\"total_results\":1,"
+        + "\"count\":1,\"sum\":1,\"sum_of_squares\":1,\"mean\":1,\"min\":1,\"max\":1,\"variance\":0,"
+        + "\"std_deviation\":0,\"cardinality\":1,\"results\":{},\"terms\":{},\"terms_mapping\":{},"
+        + "\"missing\":0,\"other\":0,\"total\":1}";
+
+    private static final List<String> WARM_UP_PATHS = List.of(
+        "$.messages", "$.total_results", "$.count", "$.sum", "$.sum_of_squares", "$.mean", "$.min", "$.max",
+        "$.variance", "$.std_deviation", "$.cardinality", "$.results", "$.terms", "$.terms_mapping",
+        "$.missing", "$.other", "$.total"
+    );
+
     private final GraylogRequest graylogRequest;
 
     private final LegacyGraylogSdkProperties legacyGraylogSdkProperties;
 
+    private final SearchResponseReader searchResponseReader;
+
+    private final ImmutableRangeCache immutableRangeCache;
+
     public LegacySearchAbsolute(
         GraylogRequest graylogRequest,
         LegacyGraylogSdkProperties legacyGraylogSdkProperties
     ) {
 
+        this(graylogRequest, legacyGraylogSdkProperties, new ObjectMapper());
+    }
+
+    public LegacySearchAbsolute(
+        GraylogRequest graylogRequest,
+        LegacyGraylogSdkProperties legacyGraylogSdkProperties,
+        ObjectMapper objectMapper
+    ) {
+
+        this(
+            graylogRequest,
+            legacyGraylogSdkProperties,
+            objectMapper,
+            new ImmutableRangeCache(legacyGraylogSdkProperties.getCache())
+        );
+    }
+
+    public LegacySearchAbsolute(
+        GraylogRequest graylogRequest,
+        LegacyGraylogSdkProperties legacyGraylogSdkProperties,
+        ObjectMapper objectMapper,
+        ImmutableRangeCache immutableRangeCache
+    ) {
+
         this.graylogRequest = graylogRequest;
         this.legacyGraylogSdkProperties = legacyGraylogSdkProperties;
+        this.searchResponseReader = new SearchResponseReader(objectMapper);
+        this.immutableRangeCache = immutableRangeCache;
     }
 
     /**
@@ -60,22 +111,13 @@ public class LegacySearchAbsolute {
         String filter
     ) throws IOException {
 
-        HttpUrl httpUrl = graylogRequest.getHttpUrlBuilder()
-            .addPathSegments("api/search/universal/absolute")
-            .addQueryParameter("fields", fields)
-            .addQueryParameter("query", query)
-            .addQueryParameter("from", from)
-            .addQueryParameter("to", to)
-            .addQueryParameter("limit", limit)
-            .addQueryParameter("offset", offset)
-            .addQueryParameter("filter", filter)
-            .build();
+        HttpUrl httpUrl = buildMessagesUrl(fields, query, from, to, limit, offset, filter);
 
-        String body = graylogRequest.httpGetRequest(httpUrl);
+        DocumentContext document = get(httpUrl, to, GraylogUtils::parseJsonDocument);
 
         @SuppressWarnings("unchecked")
-        List<Map<String, Map<String, ?>>> messages = JsonPath.parse(body).read("$.messages", List.class);
-        Integer totalCount = JsonPath.parse(body).read("$.total_results", Integer.class);
+        List<Map<String, Map<String, ?>>> messages = document.read("$.messages", List.class);
+        Integer totalCount = document.read("$.total_results", Integer.class);
 
         return MessageList.builder()
             .messages(messages)
@@ -83,6 +125,43 @@ public class LegacySearchAbsolute {
             .build();
     }
 
+    /**
+     * Message list search binding each message straight into given message object.
+     * @param fields comma separated list of fields to return
+     * @param query Graylog search query
+     * @param from time range start
+     * @param to time range end
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param filter filter
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Typed message list from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> TypedMessageList<T> getMessages(
+        String fields,
+        String query,
+        String from,
+        String to,
+        String limit,
+        String offset,
+        String filter,
+        Class<T> messageObject
+    ) throws IOException {
+
+        HttpUrl httpUrl = buildMessagesUrl(fields, query, from, to, limit, offset, filter);
+
+        SearchTypeResultReader<TypedMessageList<T>> reader = searchResponseReader.typedMessageListReader(messageObject);
+
+        return get(
+            httpUrl,
+            to,
+            responseBody -> searchResponseReader.readDocument(responseBody.byteStream(), reader)
+        );
+    }
+
     /**
      * Statistics.
      * @param field message field of numeric type to return statistics for
@@ -111,18 +190,18 @@ public class LegacySearchAbsolute {
             .addQueryParameter("filter", filter)
             .build();
 
-        String body = graylogRequest.httpGetRequest(httpUrl);
+        DocumentContext document = get(httpUrl, to, GraylogUtils::parseJsonDocument);
 
         Statistics statistics = new Statistics();
-        statistics.setCount(JsonPath.parse(body).read("$.count", Integer.class));
-        statistics.setSum(GraylogUtils.getDoubleFromJsonPath(body, "$.sum"));
-        statistics.setSumOfSquares(GraylogUtils.getDoubleFromJsonPath(body, "$.sum_of_squares"));
-        statistics.setMean(GraylogUtils.getDoubleFromJsonPath(body, "$.mean"));
-        statistics.setMin(GraylogUtils.getDoubleFromJsonPath(body, "$.min"));
-        statistics.setMax(GraylogUtils.getDoubleFromJsonPath(body, "$.max"));
-        statistics.setVariance(GraylogUtils.getDoubleFromJsonPath(body, "$.variance"));
-        statistics.setStdDeviation(GraylogUtils.getDoubleFromJsonPath(body, "$.std_deviation"));
-        statistics.setCardinality(JsonPath.parse(body).read("$.cardinality", Integer.class));
+        statistics.setCount(document.read("$.count", Integer.class));
+        statistics.setSum(GraylogUtils.getDoubleFromJsonPath(document, "$.sum"));
+        statistics.setSumOfSquares(GraylogUtils.getDoubleFromJsonPath(document, "$.sum_of_squares"));
+        statistics.setMean(GraylogUtils.getDoubleFromJsonPath(document, "$.mean"));
+        statistics.setMin(GraylogUtils.getDoubleFromJsonPath(document, "$.min"));
+        statistics.setMax(GraylogUtils.getDoubleFromJsonPath(document, "$.max"));
+        statistics.setVariance(GraylogUtils.getDoubleFromJsonPath(document, "$.variance"));
+        statistics.setStdDeviation(GraylogUtils.getDoubleFromJsonPath(document, "$.std_deviation"));
+        statistics.setCardinality(document.read("$.cardinality", Integer.class));
 
         return statistics;
     }
@@ -155,10 +234,10 @@ public class LegacySearchAbsolute {
             .addQueryParameter("filter", filter)
             .build();
 
-        String body = graylogRequest.httpGetRequest(httpUrl);
+        DocumentContext document = get(httpUrl, to, GraylogUtils::parseJsonDocument);
 
         @SuppressWarnings("unchecked")
-        Map<String, Integer> resultMap = JsonPath.parse(body).read("$.results", Map.class);
+        Map<String, Integer> resultMap = document.read("$.results", Map.class);
 
         Map<Long, Integer> sortedResult = new TreeMap<>();
 
@@ -215,10 +294,10 @@ public class LegacySearchAbsolute {
             .addQueryParameter("filter", filter)
             .build();
 
-        String body = graylogRequest.httpGetRequest(httpUrl);
+        DocumentContext document = get(httpUrl, to, GraylogUtils::parseJsonDocument);
 
         @SuppressWarnings("unchecked")
-        Map<String, Map<String, ?>> resultMap = JsonPath.parse(body).read("$.results", Map.class);
+        Map<String, Map<String, ?>> resultMap = document.read("$.results", Map.class);
 
         Map<Long, Map<String, ?>> sortedResult = new TreeMap<>();
 
@@ -306,17 +385,17 @@ public class LegacySearchAbsolute {
             .addQueryParameter("order", reverseOrder ? field + ":asc" : StringUtils.EMPTY)
             .build();
 
-        String body = graylogRequest.httpGetRequest(httpUrl);
+        DocumentContext document = get(httpUrl, to, GraylogUtils::parseJsonDocument);
 
         @SuppressWarnings("unchecked")
-        Map<String, Integer> termsMap = JsonPath.parse(body).read("$.terms", Map.class);
+        Map<String, Integer> termsMap = document.read("$.terms", Map.class);
 
         @SuppressWarnings("unchecked")
-        Map<String, List<Map<String, String>>> termsMappingMap = JsonPath.parse(body).read("$.terms_mapping", Map.class);
+        Map<String, List<Map<String, String>>> termsMappingMap = document.read("$.terms_mapping", Map.class);
 
-        int missing = JsonPath.parse(body).read("$.missing", Integer.class);
-        int other = JsonPath.parse(body).read("$.other", Integer.class);
-        int total = JsonPath.parse(body).read("$.total", Integer.class);
+        int missing = document.read("$.missing", Integer.class);
+        int other = document.read("$.other", Integer.class);
+        int total = document.read("$.total", Integer.class);
 
         total -= missing;
 
@@ -369,4 +448,86 @@ public class LegacySearchAbsolute {
 
         return new Terms(results);
     }
+
+    /**
+     * Warm up response parsing with synthetic payloads, without requesting Graylog.
+     * JSON paths read from legacy search responses are compiled and cached.
+     * @param messageObjects message objects which messages are bound into
+     * @throws IOException failure parsing synthetic payloads
+     * @since 2.1.0
+     */
+    public void warmUp(Collection<Class<?>> messageObjects) throws IOException {
+        DocumentContext document = JsonPath.parse(WARM_UP_DOCUMENT);
+
+        for (String path : WARM_UP_PATHS) {
+            document.read(path);
+        }
+
+        for (Class<?> messageObject : messageObjects) {
+            searchResponseReader.readDocument(
+                new ByteArrayInputStream(WARM_UP_DOCUMENT.getBytes(StandardCharsets.UTF_8)),
+                searchResponseReader.typedMessageListReader(messageObject)
+            );
+        }
+    }
+
+    /**
+     * Request legacy search, through immutable range cache when its time range has ended long enough ago.
+     * @param httpUrl search URL
+     * @param to time range end
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog or cache
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    private <T> T get(HttpUrl httpUrl, String to, ResponseHandler<T> responseHandler) throws IOException {
+        if (!immutableRangeCache.isCached(to)) {
+            return graylogRequest.httpGetRequest(httpUrl, responseHandler);
+        }
+
+        String searchKey = httpUrl.toString();
+        byte[] response = immutableRangeCache.get(searchKey);
+
+        if (response == null) {
+            response = graylogRequest.httpGetRequest(httpUrl, ResponseBody::bytes);
+            immutableRangeCache.put(searchKey, response);
+        }
+
+        return responseHandler.handle(ResponseBody.create(response, CONTENT_TYPE_JSON));
+    }
+
+    /**
+     * Build URL of message list search.
+     * @param fields comma separated list of fields to return
+     * @param query Graylog search query
+     * @param from time range start
+     * @param to time range end
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param filter filter
+     * @return Message list search URL
+     * @since 2.1.0
+     */
+    private HttpUrl buildMessagesUrl(
+        String fields,
+        String query,
+        String from,
+        String to,
+        String limit,
+        String offset,
+        String filter
+    ) {
+
+        return graylogRequest.getHttpUrlBuilder()
+            .addPathSegments("api/search/universal/absolute")
+            .addQueryParameter("fields", fields)
+            .addQueryParameter("query", query)
+            .addQueryParameter("from", from)
+            .addQueryParameter("to", to)
+            .addQueryParameter("limit", limit)
+            .addQueryParameter("offset", offset)
+            .addQueryParameter("filter", filter)
+            .build();
+    }
 }
@@ -0,0 +1,120 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Histogram;
+import com.joonsang.graylog.sdk.spring.starter.domain.HistogramComparison;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Period Alignment
+ * <p>
+ * Re-keys histogram buckets of several periods to their offset from the start of each period.
+ * A period starts at the beginning of its absolute time range,
+ * or at its first bucket when the time range is not absolute, such as a keyword Graylog resolves itself.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+final class PeriodAlignment {
+
+    private PeriodAlignment() {
+    }
+
+    /**
+     * Align histograms of periods by bucket offset.
+     * @param periods Graylog time range object list
+     * @param histograms histogram of each period
+     * @return Histogram comparison
+     * @since 2.1.0
+     */
+    static HistogramComparison alignHistograms(List<Timerange> periods, List<Histogram> histograms) {
+        int periodCount = histograms.size();
+        SortedMap<Long, Histogram.HistogramData[]> buckets = new TreeMap<>();
+
+        for (int period = 0; period < periodCount; period++) {
+            List<Histogram.HistogramData> histogram = histograms.get(period).getHistogram();
+            Instant start = periodStart(periods.get(period), histogram);
+
+            if (start == null) {
+                continue;
+            }
+
+            for (Histogram.HistogramData bucket : histogram) {
+                Instant timestamp = parseInstant(bucket.getBaseLabel());
+
+                if (timestamp == null) {
+                    continue;
+                }
+
+                long offset = Duration.between(start, timestamp).toMillis();
+                buckets.computeIfAbsent(offset, key -> new Histogram.HistogramData[periodCount])[period] = bucket;
+            }
+        }
+
+        List<HistogramComparison.ComparisonData> comparison = new ArrayList<>(buckets.size());
+
+        for (Map.Entry<Long, Histogram.HistogramData[]> bucket : buckets.entrySet()) {
+            comparison.add(
+                HistogramComparison.ComparisonData.builder()
+                    .offset(bucket.getKey())
+                    .periods(Arrays.asList(bucket.getValue()))
+                    .build()
+            );
+        }
+
+        return HistogramComparison.builder()
+            .histograms(histograms)
+            .comparison(comparison)
+            .build();
+    }
+
+    /**
+     * Start of a period.
+     * @param timerange Graylog time range object of the period
+     * @param histogram buckets of the period
+     * @return Start of the period, or null if it can not be determined
+     * @since 2.1.0
+     */
+    private static Instant periodStart(Timerange timerange, List<Histogram.HistogramData> histogram) {
+        if (timerange != null && timerange.getType() == TimeRangeType.absolute) {
+            Instant from = parseInstant(timerange.getFrom());
+
+            if (from != null) {
+                return from;
+            }
+        }
+
+        for (Histogram.HistogramData bucket : histogram) {
+            Instant timestamp = parseInstant(bucket.getBaseLabel());
+
+            if (timestamp != null) {
+                return timestamp;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Parse ISO-8601 date time with offset.
+     * @param dateTime date time string
+     * @return Instant, or null if absent or invalid
+     * @since 2.1.0
+     */
+    static Instant parseInstant(String dateTime) {
+        if (dateTime == null || dateTime.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return OffsetDateTime.parse(dateTime).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
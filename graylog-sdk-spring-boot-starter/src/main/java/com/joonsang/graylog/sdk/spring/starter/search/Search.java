@@ -1,24 +1,32 @@
 package com.joonsang.graylog.sdk.spring.starter.search;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.ImmutableMap;
-import com.jayway.jsonpath.JsonPath;
 import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
-import com.joonsang.graylog.sdk.spring.starter.GraylogUtils;
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
 import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchKey;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchResultCache;
+import com.joonsang.graylog.sdk.spring.starter.cache.SingleFlight;
 import com.joonsang.graylog.sdk.spring.starter.constant.SearchTypePivotType;
 import com.joonsang.graylog.sdk.spring.starter.constant.SearchTypeType;
 import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
 import com.joonsang.graylog.sdk.spring.starter.domain.*;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategy;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -36,86 +44,1710 @@ public class Search {
 
     private final ObjectMapper objectMapper;
 
+    private final SearchResponseReader searchResponseReader;
+
+    private final SingleFlight<SearchKey, Object> singleFlight;
+
+    private final SearchResultCache resultCache;
+
+    private final TimerangeAligner timerangeAligner;
+
+    private final HistogramBucketCache histogramBucketCache;
+
+    private final IdStrategy idStrategy;
+
     public Search(
         GraylogRequest graylogRequest,
         GraylogApiProperties graylogApiProperties,
         ObjectMapper objectMapper
     ) {
 
-        this.graylogRequest = graylogRequest;
-        this.graylogApiProperties = graylogApiProperties;
-        this.objectMapper = objectMapper;
+        this(
+            graylogRequest,
+            graylogApiProperties,
+            objectMapper,
+            new SearchResultCache(graylogApiProperties.getCache()),
+            IdStrategies.get()
+        );
+    }
+
+    public Search(
+        GraylogRequest graylogRequest,
+        GraylogApiProperties graylogApiProperties,
+        ObjectMapper objectMapper,
+        SearchResultCache resultCache,
+        IdStrategy idStrategy
+    ) {
+
+        this.graylogRequest = graylogRequest;
+        this.graylogApiProperties = graylogApiProperties;
+        this.objectMapper = objectMapper;
+        this.searchResponseReader = new SearchResponseReader(objectMapper);
+        this.singleFlight = graylogApiProperties.getCache().getCoalescing() ? new SingleFlight<>() : null;
+        this.resultCache = resultCache;
+        this.timerangeAligner = new TimerangeAligner(graylogApiProperties.getCache().getTimerangeAlignment());
+        this.histogramBucketCache = new HistogramBucketCache(graylogApiProperties.getCache());
+        this.idStrategy = idStrategy;
+    }
+
+    /**
+     * Message list search.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Message list from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.0.0
+     */
+    public MessageList getMessages(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds
+    ) throws IOException {
+
+        Query query = buildMessagesQuery(timerange, searchQuery, limit, offset, sort, streamIds);
+
+        return search(query, "messages", messageListHandler(query));
+    }
+
+    /**
+     * Asynchronous message list search.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Future of message list from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<MessageList> getMessagesAsync(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds
+    ) {
+
+        Query query = buildMessagesQuery(timerange, searchQuery, limit, offset, sort, streamIds);
+
+        return searchAsync(query, "messages", messageListHandler(query));
+    }
+
+    /**
+     * Message list search binding each message straight into given message object.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Typed message list from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> TypedMessageList<T> getMessages(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds,
+        Class<T> messageObject
+    ) throws IOException {
+
+        return getMessages(timerange, searchQuery, limit, offset, sort, streamIds, messageObject, List.of());
+    }
+
+    /**
+     * Message list search binding each message straight into given message object with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @param messageObject message object
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @param <T> type of message object
+     * @return Typed message list from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> TypedMessageList<T> getMessages(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds,
+        Class<T> messageObject,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        Query query = buildMessagesQuery(timerange, searchQuery, limit, offset, sort, streamIds);
+
+        return search(
+            buildSearchSpec(query, parameters),
+            "messages:" + messageObject.getName(),
+            typedMessageListHandler(query, messageObject)
+        );
+    }
+
+    /**
+     * Asynchronous message list search binding each message straight into given message object.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Future of typed message list from Graylog
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<TypedMessageList<T>> getMessagesAsync(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds,
+        Class<T> messageObject
+    ) {
+
+        return getMessagesAsync(timerange, searchQuery, limit, offset, sort, streamIds, messageObject, List.of());
+    }
+
+    /**
+     * Asynchronous message list search binding each message straight into given message object with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @param messageObject message object
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @param <T> type of message object
+     * @return Future of typed message list from Graylog
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<TypedMessageList<T>> getMessagesAsync(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds,
+        Class<T> messageObject,
+        List<Parameter> parameters
+    ) {
+
+        Query query = buildMessagesQuery(timerange, searchQuery, limit, offset, sort, streamIds);
+
+        return searchAsync(
+            buildSearchSpec(query, parameters),
+            "messages:" + messageObject.getName(),
+            typedMessageListHandler(query, messageObject)
+        );
+    }
+
+    /**
+     * Statistics.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @return Statistics from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.0.0
+     */
+    public List<Statistics> getStatistics(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds
+    ) throws IOException {
+
+        return getStatistics(timerange, searchQuery, seriesList, streamIds, List.of());
+    }
+
+    /**
+     * Statistics with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Statistics from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public List<Statistics> getStatistics(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        Query query = buildStatisticsQuery(timerange, searchQuery, seriesList, streamIds);
+
+        List<PivotRow> rows = search(buildSearchSpec(query, parameters), "pivot-rows", pivotRowsHandler(query));
+
+        return readStatistics(rows, query.getSearchTypes().get(0));
+    }
+
+    /**
+     * Asynchronous statistics.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @return Future of statistics from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<List<Statistics>> getStatisticsAsync(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds
+    ) {
+
+        return getStatisticsAsync(timerange, searchQuery, seriesList, streamIds, List.of());
+    }
+
+    /**
+     * Asynchronous statistics with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Future of statistics from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<List<Statistics>> getStatisticsAsync(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) {
+
+        Query query = buildStatisticsQuery(timerange, searchQuery, seriesList, streamIds);
+
+        return searchAsync(buildSearchSpec(query, parameters), "pivot-rows", pivotRowsHandler(query))
+            .thenApply(rows -> readStatistics(rows, query.getSearchTypes().get(0)));
+    }
+
+    /**
+     * Terms.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Terms from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.0.0
+     */
+    public Terms getTerms(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds
+    ) throws IOException {
+
+        return getTerms(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds, List.of());
+    }
+
+    /**
+     * Terms with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Terms from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public Terms getTerms(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        Query query = buildTermsQuery(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
+
+        List<PivotRow> rows = search(buildSearchSpec(query, parameters), "pivot-rows", pivotRowsHandler(query));
+
+        return readTerms(rows, query.getSearchTypes().get(0));
+    }
+
+    /**
+     * Asynchronous terms.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Future of terms from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Terms> getTermsAsync(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds
+    ) {
+
+        return getTermsAsync(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds, List.of());
+    }
+
+    /**
+     * Asynchronous terms with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Future of terms from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Terms> getTermsAsync(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) {
+
+        Query query = buildTermsQuery(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
+
+        return searchAsync(buildSearchSpec(query, parameters), "pivot-rows", pivotRowsHandler(query))
+            .thenApply(rows -> readTerms(rows, query.getSearchTypes().get(0)));
+    }
+
+    /**
+     * Columnar terms.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Columnar terms from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public ColumnarTerms getColumnarTerms(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds
+    ) throws IOException {
+
+        Query query = buildTermsQuery(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
+
+        return search(query, "columnar-terms", columnarTermsHandler(query));
+    }
+
+    /**
+     * Asynchronous columnar terms.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Future of columnar terms from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<ColumnarTerms> getColumnarTermsAsync(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds
+    ) {
+
+        Query query = buildTermsQuery(timerange, searchQuery, seriesList, rowGroups, columnGroups, sort, streamIds);
+
+        return searchAsync(query, "columnar-terms", columnarTermsHandler(query));
+    }
+
+    /**
+     * Histogram.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Histogram from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.0.0
+     */
+    public Histogram getHistogram(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) throws IOException {
+
+        return getHistogram(timerange, interval, searchQuery, seriesList, columnGroups, streamIds, List.of());
+    }
+
+    /**
+     * Histogram with parameters.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Histogram from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public Histogram getHistogram(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) throws IOException {
+
+        Timerange window = alignTimerange(timerange);
+
+        if (histogramBucketCache.accepts(window, interval)) {
+            HistogramBucketCache.Plan plan = histogramBucketCache.plan(
+                histogramKey(interval, searchQuery, seriesList, columnGroups, streamIds, parameters),
+                window,
+                interval
+            );
+            SearchSpec searchSpec = buildIncrementalHistogramSpec(
+                plan,
+                interval,
+                searchQuery,
+                seriesList,
+                columnGroups,
+                streamIds,
+                parameters
+            );
+
+            List<Histogram> histograms = searchUncached(
+                searchSpec,
+                "incremental-histogram",
+                periodsHandler(searchSpec, this::readHistogram)
+            );
+
+            return plan.splice(histograms);
+        }
+
+        Query query = buildHistogramQuery(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+
+        List<PivotRow> rows = search(buildSearchSpec(query, parameters), "pivot-rows", pivotRowsHandler(query));
+
+        return readHistogram(rows, query.getSearchTypes().get(0));
+    }
+
+    /**
+     * Asynchronous histogram.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Future of histogram from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Histogram> getHistogramAsync(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) {
+
+        return getHistogramAsync(timerange, interval, searchQuery, seriesList, columnGroups, streamIds, List.of());
+    }
+
+    /**
+     * Asynchronous histogram with parameters.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list, bound to $name$ references in search query
+     * @return Future of histogram from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<Histogram> getHistogramAsync(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) {
+
+        Timerange window = alignTimerange(timerange);
+
+        if (histogramBucketCache.accepts(window, interval)) {
+            HistogramBucketCache.Plan plan;
+
+            try {
+                plan = histogramBucketCache.plan(
+                    histogramKey(interval, searchQuery, seriesList, columnGroups, streamIds, parameters),
+                    window,
+                    interval
+                );
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+
+            SearchSpec searchSpec = buildIncrementalHistogramSpec(
+                plan,
+                interval,
+                searchQuery,
+                seriesList,
+                columnGroups,
+                streamIds,
+                parameters
+            );
+
+            return searchUncachedAsync(
+                searchSpec,
+                "incremental-histogram",
+                periodsHandler(searchSpec, this::readHistogram)
+            ).thenApply(plan::splice);
+        }
+
+        Query query = buildHistogramQuery(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+
+        return searchAsync(buildSearchSpec(query, parameters), "pivot-rows", pivotRowsHandler(query))
+            .thenApply(rows -> readHistogram(rows, query.getSearchTypes().get(0)));
+    }
+
+    /**
+     * Columnar histogram.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Columnar histogram from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public ColumnarHistogram getColumnarHistogram(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) throws IOException {
+
+        Query query = buildHistogramQuery(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+
+        return search(query, "columnar-histogram", columnarHistogramHandler(query));
+    }
+
+    /**
+     * Asynchronous columnar histogram.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Future of columnar histogram from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<ColumnarHistogram> getColumnarHistogramAsync(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) {
+
+        Query query = buildHistogramQuery(timerange, interval, searchQuery, seriesList, columnGroups, streamIds);
+
+        return searchAsync(query, "columnar-histogram", columnarHistogramHandler(query));
+    }
+
+    /**
+     * Statistics of several periods, compared in one request.
+     * @param periods Graylog time range object of each period
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @return Statistics of each period, in the order of periods
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public List<List<Statistics>> compareStatistics(
+        List<Timerange> periods,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds
+    ) throws IOException {
+
+        SearchSpec searchSpec = buildComparisonSpec(
+            periods,
+            searchQuery,
+            streamIds,
+            period -> buildStatisticsSearchType("period-" + period, seriesList)
+        );
+
+        return search(searchSpec, "compare-statistics", periodsHandler(searchSpec, this::readStatistics));
+    }
+
+    /**
+     * Asynchronous statistics of several periods, compared in one request.
+     * @param periods Graylog time range object of each period
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @return Future of statistics of each period, in the order of periods
+     * @since 2.1.0
+     */
+    public CompletableFuture<List<List<Statistics>>> compareStatisticsAsync(
+        List<Timerange> periods,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds
+    ) {
+
+        SearchSpec searchSpec = buildComparisonSpec(
+            periods,
+            searchQuery,
+            streamIds,
+            period -> buildStatisticsSearchType("period-" + period, seriesList)
+        );
+
+        return searchAsync(searchSpec, "compare-statistics", periodsHandler(searchSpec, this::readStatistics));
+    }
+
+    /**
+     * Histograms of several periods, compared in one request with buckets aligned by offset from the period start.
+     * @param periods Graylog time range object of each period
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Histogram comparison
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public HistogramComparison compareHistogram(
+        List<Timerange> periods,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) throws IOException {
+
+        List<Timerange> resolvedPeriods = resolvePeriods(periods);
+        SearchSpec searchSpec = buildComparisonSpec(
+            resolvedPeriods,
+            searchQuery,
+            streamIds,
+            period -> buildHistogramSearchType("period-" + period, interval, seriesList, columnGroups)
+        );
+
+        List<Histogram> histograms = search(
+            searchSpec,
+            "compare-histogram",
+            periodsHandler(searchSpec, this::readHistogram)
+        );
+
+        return PeriodAlignment.alignHistograms(resolvedPeriods, histograms);
+    }
+
+    /**
+     * Asynchronous histograms of several periods, compared in one request with buckets aligned by offset.
+     * Buckets are re-keyed to milliseconds from the start of each period.
+     * @param periods Graylog time range object of each period
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Future of histogram comparison
+     * @since 2.1.0
+     */
+    public CompletableFuture<HistogramComparison> compareHistogramAsync(
+        List<Timerange> periods,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) {
+
+        List<Timerange> resolvedPeriods = resolvePeriods(periods);
+        SearchSpec searchSpec = buildComparisonSpec(
+            resolvedPeriods,
+            searchQuery,
+            streamIds,
+            period -> buildHistogramSearchType("period-" + period, interval, seriesList, columnGroups)
+        );
+
+        return searchAsync(searchSpec, "compare-histogram", periodsHandler(searchSpec, this::readHistogram))
+            .thenApply(histograms -> PeriodAlignment.alignHistograms(resolvedPeriods, histograms));
+    }
+
+    /**
+     * Start a batch of searches sharing time range, search query and streams, executed in one request.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param streamIds Graylog stream ID list
+     * @return Search batch
+     * @since 2.1.0
+     */
+    public SearchBatch batch(Timerange timerange, String searchQuery, List<String> streamIds) {
+        return new SearchBatch(this, timerange, searchQuery, streamIds);
+    }
+
+    /**
+     * Compile statistics into a search template executed with time range and search query.
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @return Search template of statistics
+     * @throws IOException failure serializing search spec
+     * @since 2.1.0
+     */
+    public SearchTemplate<List<Statistics>> statisticsTemplate(
+        List<Series> seriesList,
+        List<String> streamIds
+    ) throws IOException {
+
+        Query query = buildStatisticsQuery(null, null, seriesList, streamIds);
+        ResponseHandler<List<PivotRow>> pivotRowsHandler = pivotRowsHandler(query);
+        SearchType searchType = query.getSearchTypes().get(0);
+
+        return compileTemplate(
+            query,
+            "statistics",
+            responseBody -> readStatistics(pivotRowsHandler.handle(responseBody), searchType)
+        );
+    }
+
+    /**
+     * Compile terms into a search template executed with time range and search query.
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Search template of terms
+     * @throws IOException failure serializing search spec
+     * @since 2.1.0
+     */
+    public SearchTemplate<Terms> termsTemplate(
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds
+    ) throws IOException {
+
+        Query query = buildTermsQuery(null, null, seriesList, rowGroups, columnGroups, sort, streamIds);
+        ResponseHandler<List<PivotRow>> pivotRowsHandler = pivotRowsHandler(query);
+        SearchType searchType = query.getSearchTypes().get(0);
+
+        return compileTemplate(
+            query,
+            "terms",
+            responseBody -> readTerms(pivotRowsHandler.handle(responseBody), searchType)
+        );
+    }
+
+    /**
+     * Compile histogram into a search template executed with time range and search query.
+     * @param interval Graylog interval object
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Search template of histogram
+     * @throws IOException failure serializing search spec
+     * @since 2.1.0
+     */
+    public SearchTemplate<Histogram> histogramTemplate(
+        Interval interval,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) throws IOException {
+
+        Query query = buildHistogramQuery(null, interval, null, seriesList, columnGroups, streamIds);
+        ResponseHandler<List<PivotRow>> pivotRowsHandler = pivotRowsHandler(query);
+        SearchType searchType = query.getSearchTypes().get(0);
+
+        return compileTemplate(
+            query,
+            "histogram",
+            responseBody -> readHistogram(pivotRowsHandler.handle(responseBody), searchType)
+        );
+    }
+
+    /**
+     * Warm up request serialization and response parsing with synthetic payloads, without requesting Graylog.
+     * @param messageObjects message objects which messages are bound into
+     * @throws IOException failure serializing or parsing synthetic payloads
+     * @since 2.1.0
+     */
+    public void warmUp(Collection<Class<?>> messageObjects) throws IOException {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+        SearchTypePivot rowGroup = SearchTypePivot.builder().type(SearchTypePivotType.values).field("source").limit(1).build();
+
+        Query messagesQuery = buildMessagesQuery(timerange, "*", 1, 0, null, List.of());
+        Query termsQuery = buildTermsQuery(
+            timerange,
+            "*",
+            List.of(Series.builder().type(SeriesType.count).build()),
+            List.of(rowGroup),
+            List.of(),
+            null,
+            List.of()
+        );
+
+        objectMapper.writeValueAsString(identify(SearchSpec.builder().query(messagesQuery).build()));
+        objectMapper.writeValueAsString(identify(SearchSpec.builder().query(termsQuery).build()));
+
+        String messagesResponse = buildWarmUpResponse(
+            messagesQuery,
+            "{\"messages\":[{\"message\":{}}],\"total_results\":1}"
+        );
+        String termsResponse = buildWarmUpResponse(
+            termsQuery,
+            "{\"rows\":[{\"key\":[\"warm-up\"],\"values\":[{\"key\":[\"count()\"],\"value\":1,"
+                + "\"rollup\":true,\"source\":\"row-leaf\"}],\"source\":\"leaf\"}]}"
+        );
+
+        messageListHandler(messagesQuery).handle(ResponseBody.create(messagesResponse, CONTENT_TYPE_JSON));
+
+        for (Class<?> messageObject : messageObjects) {
+            typedMessageListHandler(messagesQuery, messageObject)
+                .handle(ResponseBody.create(messagesResponse, CONTENT_TYPE_JSON));
+        }
+
+        readTerms(
+            pivotRowsHandler(termsQuery).handle(ResponseBody.create(termsResponse, CONTENT_TYPE_JSON)),
+            termsQuery.getSearchTypes().get(0)
+        );
+        columnarTermsHandler(termsQuery).handle(ResponseBody.create(termsResponse, CONTENT_TYPE_JSON));
+    }
+
+    /**
+     * Reader of synchronous search responses.
+     * @return Search response reader
+     * @since 2.1.0
+     */
+    SearchResponseReader getSearchResponseReader() {
+        return searchResponseReader;
+    }
+
+    /**
+     * Perform synchronous search.
+     * @param searchSpec Graylog search spec object
+     * @return Response body from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.0.0
+     */
+    public String syncSearch(SearchSpec searchSpec) throws IOException {
+        String requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+
+        return post(null, requestJson, ResponseBody::string);
+    }
+
+    /**
+     * Perform synchronous search with streaming response handler.
+     * @param searchSpec Graylog search spec object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public <T> T syncSearch(SearchSpec searchSpec, ResponseHandler<T> responseHandler) throws IOException {
+        String requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+        RequestBody jsonBody = RequestBody.create(requestJson, CONTENT_TYPE_JSON);
+
+        return graylogRequest.httpPostRequest(buildSyncSearchUrl(), jsonBody, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search without blocking the calling thread.
+     * @param searchSpec Graylog search spec object
+     * @return Future of response body from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<String> syncSearchAsync(SearchSpec searchSpec) {
+        String requestJson;
+
+        try {
+            requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return postAsync(null, requestJson, ResponseBody::string);
+    }
+
+    /**
+     * Perform synchronous search with streaming response handler without blocking the calling thread.
+     * @param searchSpec Graylog search spec object
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog
+     * @since 2.1.0
+     */
+    public <T> CompletableFuture<T> syncSearchAsync(SearchSpec searchSpec, ResponseHandler<T> responseHandler) {
+        String requestJson;
+
+        try {
+            requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        RequestBody jsonBody = RequestBody.create(requestJson, CONTENT_TYPE_JSON);
+
+        return graylogRequest.httpPostRequestAsync(buildSyncSearchUrl(), jsonBody, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search of a query.
+     * Results are cached and identical searches in flight are coalesced into one request, when enabled.
+     * @param query Graylog query object
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog, shared with cached and coalesced searches
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    <T> T search(Query query, String resultType, ResponseHandler<T> responseHandler) throws IOException {
+        return search(SearchSpec.builder().query(query).build(), resultType, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search of a search spec.
+     * Results are cached and identical searches in flight are coalesced into one request, when enabled.
+     * @param searchSpec Graylog search spec object
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog, shared with cached and coalesced searches
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    <T> T search(SearchSpec searchSpec, String resultType, ResponseHandler<T> responseHandler) throws IOException {
+        String requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+        SearchKey searchKey = isKeyed() ? SearchKey.of(objectMapper, searchSpec, resultType) : null;
+
+        return post(searchKey, requestJson, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search of a query without blocking the calling thread.
+     * Results are cached and identical searches in flight are coalesced into one request, when enabled.
+     * @param query Graylog query object
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, shared with cached and coalesced searches
+     * @since 2.1.0
+     */
+    <T> CompletableFuture<T> searchAsync(Query query, String resultType, ResponseHandler<T> responseHandler) {
+        return searchAsync(SearchSpec.builder().query(query).build(), resultType, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search of a search spec without blocking the calling thread.
+     * Results are cached and identical searches in flight are coalesced into one request, when enabled.
+     * @param searchSpec Graylog search spec object
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, shared with cached and coalesced searches
+     * @since 2.1.0
+     */
+    <T> CompletableFuture<T> searchAsync(
+        SearchSpec searchSpec,
+        String resultType,
+        ResponseHandler<T> responseHandler
+    ) {
+
+        String requestJson;
+        SearchKey searchKey;
+
+        try {
+            requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+            searchKey = isKeyed() ? SearchKey.of(objectMapper, searchSpec, resultType) : null;
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return postAsync(searchKey, requestJson, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search of a search spec past the result cache.
+     * Used for searches whose time range moves with every call, such as incremental histograms,
+     * whose results would never be read again but would evict other cached results.
+     * Identical searches in flight are still coalesced into one request, when enabled.
+     * @param searchSpec Graylog search spec object
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog, shared with coalesced searches
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T searchUncached(
+        SearchSpec searchSpec,
+        String resultType,
+        ResponseHandler<T> responseHandler
+    ) throws IOException {
+
+        String requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+
+        if (singleFlight == null) {
+            return post(null, requestJson, responseHandler);
+        }
+
+        SearchKey searchKey = SearchKey.of(objectMapper, searchSpec, resultType);
+
+        return (T) singleFlight.call(searchKey, () -> post(null, requestJson, responseHandler));
+    }
+
+    /**
+     * Perform synchronous search of a search spec past the result cache without blocking the calling thread.
+     * Identical searches in flight are still coalesced into one request, when enabled.
+     * @param searchSpec Graylog search spec object
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, shared with coalesced searches
+     * @since 2.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> searchUncachedAsync(
+        SearchSpec searchSpec,
+        String resultType,
+        ResponseHandler<T> responseHandler
+    ) {
+
+        String requestJson;
+        SearchKey searchKey;
+
+        try {
+            requestJson = objectMapper.writeValueAsString(identify(searchSpec));
+            searchKey = singleFlight == null ? null : SearchKey.of(objectMapper, searchSpec, resultType);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (searchKey == null) {
+            return postAsync(null, requestJson, responseHandler);
+        }
+
+        CompletableFuture<?> future = singleFlight.callAsync(
+            searchKey,
+            () -> (CompletableFuture<Object>) postAsync(null, requestJson, responseHandler)
+        );
+
+        return (CompletableFuture<T>) future;
+    }
+
+    /**
+     * Perform synchronous search of a rendered search template.
+     * Results are cached and identical searches in flight are coalesced into one request, when enabled.
+     * @param requestJson search spec JSON rendered from a search template
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog, shared with cached and coalesced searches
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    <T> T executeTemplate(String requestJson, String resultType, ResponseHandler<T> responseHandler) throws IOException {
+        return post(isKeyed() ? SearchKey.of(requestJson, resultType) : null, requestJson, responseHandler);
+    }
+
+    /**
+     * Perform synchronous search of a rendered search template without blocking the calling thread.
+     * Results are cached and identical searches in flight are coalesced into one request, when enabled.
+     * @param requestJson search spec JSON rendered from a search template
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, shared with cached and coalesced searches
+     * @since 2.1.0
+     */
+    <T> CompletableFuture<T> executeTemplateAsync(
+        String requestJson,
+        String resultType,
+        ResponseHandler<T> responseHandler
+    ) {
+
+        return postAsync(isKeyed() ? SearchKey.of(requestJson, resultType) : null, requestJson, responseHandler);
+    }
+
+    /**
+     * Whether searches are keyed, for result cache or search coalescing.
+     * @return true if searches are keyed
+     * @since 2.1.0
+     */
+    private boolean isKeyed() {
+        return singleFlight != null || resultCache.isEnabled();
+    }
+
+    /**
+     * Post search request through result cache and search coalescing.
+     * @param searchKey search key, or null to post straight
+     * @param requestJson search spec JSON
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Handled response from Graylog, shared with cached and coalesced searches
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T post(SearchKey searchKey, String requestJson, ResponseHandler<T> responseHandler) throws IOException {
+        if (searchKey == null) {
+            return graylogRequest.httpPostRequest(
+                buildSyncSearchUrl(),
+                RequestBody.create(requestJson, CONTENT_TYPE_JSON),
+                responseHandler
+            );
+        }
+
+        Object cached = resultCache.getIfPresent(
+            searchKey,
+            () -> post(null, requestJson, resultCache.recording(searchKey, responseHandler))
+        );
+
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        ResponseHandler<T> handler = resultCache.recording(searchKey, responseHandler);
+
+        if (singleFlight == null) {
+            return post(null, requestJson, handler);
+        }
+
+        return (T) singleFlight.call(searchKey, () -> post(null, requestJson, handler));
+    }
+
+    /**
+     * Post search request through result cache and search coalescing without blocking the calling thread.
+     * @param searchKey search key, or null to post straight
+     * @param requestJson search spec JSON
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Future of handled response from Graylog, shared with cached and coalesced searches
+     * @since 2.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> postAsync(
+        SearchKey searchKey,
+        String requestJson,
+        ResponseHandler<T> responseHandler
+    ) {
+
+        if (searchKey == null) {
+            return graylogRequest.httpPostRequestAsync(
+                buildSyncSearchUrl(),
+                RequestBody.create(requestJson, CONTENT_TYPE_JSON),
+                responseHandler
+            );
+        }
+
+        Object cached = resultCache.getIfPresent(
+            searchKey,
+            () -> post(null, requestJson, resultCache.recording(searchKey, responseHandler))
+        );
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture((T) cached);
+        }
+
+        ResponseHandler<T> handler = resultCache.recording(searchKey, responseHandler);
+
+        if (singleFlight == null) {
+            return postAsync(null, requestJson, handler);
+        }
+
+        CompletableFuture<?> future = singleFlight.callAsync(
+            searchKey,
+            () -> (CompletableFuture<Object>) postAsync(null, requestJson, handler)
+        );
+
+        return (CompletableFuture<T>) future;
+    }
+
+    /**
+     * Compile search spec of a query into a search template.
+     * @param query Graylog query object without time range and search query
+     * @param resultType type of result read by response handler
+     * @param responseHandler handler consuming response body
+     * @param <T> type of handled result
+     * @return Search template
+     * @throws JsonProcessingException failure serializing search spec
+     * @since 2.1.0
+     */
+    private <T> SearchTemplate<T> compileTemplate(
+        Query query,
+        String resultType,
+        ResponseHandler<T> responseHandler
+    ) throws JsonProcessingException {
+
+        SearchSpec searchSpec = identify(SearchSpec.builder().query(query).build());
+
+        return new SearchTemplate<>(this, objectMapper, searchSpec, resultType, responseHandler);
+    }
+
+    /**
+     * Build synchronous search URL.
+     * @return Synchronous search URL
+     * @since 2.1.0
+     */
+    private HttpUrl buildSyncSearchUrl() {
+        return graylogRequest.getHttpUrlBuilder()
+            .addPathSegments("api/views/search/sync")
+            .addQueryParameter("timeout", String.valueOf(graylogApiProperties.getTimeout()))
+            .build();
+    }
+
+    /**
+     * Build synthetic synchronous search response holding result of the first search type of the query.
+     * @param query Graylog query object
+     * @param searchTypeResult JSON of search type result
+     * @return Synchronous search response JSON
+     * @since 2.1.0
+     */
+    private String buildWarmUpResponse(Query query, String searchTypeResult) {
+        return "{\"results\":{\"" + query.getId() + "\":{\"search_types\":{\""
+            + query.getSearchTypes().get(0).getId() + "\":" + searchTypeResult + "}}}}";
+    }
+
+    /**
+     * Build query of message list search.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Graylog query object
+     * @since 2.1.0
+     */
+    private Query buildMessagesQuery(
+        Timerange timerange,
+        String searchQuery,
+        int limit,
+        int offset,
+        SortConfig sort,
+        List<String> streamIds
+    ) {
+
+        return buildQuery(timerange, searchQuery, streamIds, List.of(buildMessagesSearchType(limit, offset, sort)));
+    }
+
+    /**
+     * Build query of statistics.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param streamIds Graylog stream ID list
+     * @return Graylog query object
+     * @since 2.1.0
+     */
+    private Query buildStatisticsQuery(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<String> streamIds
+    ) {
+
+        return buildQuery(timerange, searchQuery, streamIds, List.of(buildStatisticsSearchType(seriesList)));
+    }
+
+    /**
+     * Build query of terms.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @param streamIds Graylog stream ID list
+     * @return Graylog query object
+     * @since 2.1.0
+     */
+    private Query buildTermsQuery(
+        Timerange timerange,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort,
+        List<String> streamIds
+    ) {
+
+        SearchType searchType = buildTermsSearchType(seriesList, rowGroups, columnGroups, sort);
+
+        return buildQuery(timerange, searchQuery, streamIds, List.of(searchType));
+    }
+
+    /**
+     * Build query of histogram.
+     * @param timerange Graylog time range object
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @return Graylog query object
+     * @since 2.1.0
+     */
+    private Query buildHistogramQuery(
+        Timerange timerange,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds
+    ) {
+
+        SearchType searchType = buildHistogramSearchType(interval, seriesList, columnGroups);
+
+        return buildQuery(timerange, searchQuery, streamIds, List.of(searchType));
+    }
+
+    /**
+     * Build search spec with a query of each period.
+     * Search types are named after their period, so that they differ in content as well as in time range.
+     * @param periods Graylog time range object of each period
+     * @param searchQuery Graylog search query
+     * @param streamIds Graylog stream ID list
+     * @param searchType search type of a period by its index
+     * @return Graylog search spec object
+     * @since 2.1.0
+     */
+    private SearchSpec buildComparisonSpec(
+        List<Timerange> periods,
+        String searchQuery,
+        List<String> streamIds,
+        IntFunction<SearchType> searchType
+    ) {
+
+        return buildComparisonSpec(periods, searchQuery, streamIds, searchType, List.of());
+    }
+
+    /**
+     * Build search spec with a query of each period, with parameters.
+     * Search types are named after their period, so that they differ in content as well as in time range.
+     * @param periods Graylog time range object of each period
+     * @param searchQuery Graylog search query
+     * @param streamIds Graylog stream ID list
+     * @param searchType search type of a period by its index
+     * @param parameters Graylog parameter object list
+     * @return Graylog search spec object
+     * @since 2.1.0
+     */
+    private SearchSpec buildComparisonSpec(
+        List<Timerange> periods,
+        String searchQuery,
+        List<String> streamIds,
+        IntFunction<SearchType> searchType,
+        List<Parameter> parameters
+    ) {
+
+        if (CollectionUtils.isEmpty(periods)) {
+            throw new IllegalArgumentException("At least one period is required to compare.");
+        }
+
+        SearchSpec.SearchSpecBuilder searchSpec = SearchSpec.builder();
+
+        for (int period = 0; period < periods.size(); period++) {
+            Query query = buildQuery(periods.get(period), searchQuery, streamIds, List.of(searchType.apply(period)));
+
+            searchSpec.query(query);
+        }
+
+        return searchSpec.parameters(parameters == null ? List.of() : parameters).build();
+    }
+
+    /**
+     * Build search spec with a query of each period planned by histogram bucket cache.
+     * @param plan plan of incremental histogram
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list
+     * @return Graylog search spec object
+     * @since 2.1.0
+     */
+    private SearchSpec buildIncrementalHistogramSpec(
+        HistogramBucketCache.Plan plan,
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) {
+
+        return buildComparisonSpec(
+            plan.getPeriods(),
+            searchQuery,
+            streamIds,
+            period -> buildHistogramSearchType("period-" + period, interval, seriesList, columnGroups),
+            parameters
+        );
+    }
+
+    /**
+     * Key of a histogram apart from its time range, under which its closed buckets are kept.
+     * @param interval Graylog interval object
+     * @param searchQuery Graylog search query
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param streamIds Graylog stream ID list
+     * @param parameters Graylog parameter object list
+     * @return Histogram key
+     * @throws JsonProcessingException failure serializing histogram
+     * @since 2.1.0
+     */
+    private SearchKey histogramKey(
+        Interval interval,
+        String searchQuery,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups,
+        List<String> streamIds,
+        List<Parameter> parameters
+    ) throws JsonProcessingException {
+
+        String histogram = objectMapper.writeValueAsString(
+            Arrays.asList(interval, searchQuery, seriesList, columnGroups, streamIds, parameters)
+        );
+
+        return SearchKey.of(histogram, "histogram-buckets");
+    }
+
+    /**
+     * Build search spec of a query with parameters.
+     * @param query Graylog query object
+     * @param parameters Graylog parameter object list
+     * @return Graylog search spec object
+     * @since 2.1.0
+     */
+    private SearchSpec buildSearchSpec(Query query, List<Parameter> parameters) {
+        return SearchSpec.builder()
+            .query(query)
+            .parameters(parameters == null ? List.of() : parameters)
+            .build();
+    }
+
+    /**
+     * Build query of search types.
+     * Relative time range is aligned to absolute one when time range alignment is enabled.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param streamIds Graylog stream ID list
+     * @param searchTypes Graylog search type object list
+     * @return Graylog query object
+     * @since 2.1.0
+     */
+    Query buildQuery(
+        Timerange timerange,
+        String searchQuery,
+        List<String> streamIds,
+        List<SearchType> searchTypes
+    ) {
+
+        Query query = Query.builder()
+            .filter(convertToFilter(streamIds))
+            .query(SearchQuery.builder().queryString(searchQuery).build())
+            .timerange(alignTimerange(timerange))
+            .searchTypes(searchTypes)
+            .build();
+
+        return identify(query);
+    }
+
+    /**
+     * Assign IDs generated by the ID strategy to search spec, its queries and their search types which have none.
+     * @param searchSpec Graylog search spec object
+     * @return Given search spec
+     * @since 2.1.0
+     */
+    private SearchSpec identify(SearchSpec searchSpec) {
+        searchSpec.getQueries().forEach(this::identify);
+        searchSpec.assignId(idStrategy);
+
+        return searchSpec;
     }
 
     /**
-     * Message list search.
+     * Assign IDs generated by the ID strategy to query and its search types which have none.
+     * @param query Graylog query object
+     * @return Given query
+     * @since 2.1.0
+     */
+    private Query identify(Query query) {
+        query.getSearchTypes().forEach(searchType -> searchType.assignId(idStrategy));
+        query.assignId(idStrategy);
+
+        return query;
+    }
+
+    /**
+     * Resolve relative and keyword periods to absolute ones ending at the same instant,
+     * so that the periods sent to Graylog are the ones their buckets are aligned by.
+     * @param periods Graylog time range object of each period
+     * @return Resolved Graylog time range object of each period
+     * @since 2.1.0
+     */
+    private List<Timerange> resolvePeriods(List<Timerange> periods) {
+        if (CollectionUtils.isEmpty(periods)) {
+            throw new IllegalArgumentException("At least one period is required to compare.");
+        }
+
+        return timerangeAligner.resolve(periods);
+    }
+
+    /**
+     * Align relative and keyword time range to the grid of time range alignment.
      * @param timerange Graylog time range object
-     * @param searchQuery Graylog search query
+     * @return Aligned time range, or the given one if alignment is disabled or not applicable
+     * @since 2.1.0
+     */
+    Timerange alignTimerange(Timerange timerange) {
+        return timerangeAligner.align(timerange);
+    }
+
+    /**
+     * Build search type of message list search.
      * @param limit maximum number of messages to return
      * @param offset offset
      * @param sort Graylog sort config object
-     * @param streamIds Graylog stream ID list
-     * @return Message list from Graylog
-     * @throws IOException Graylog server failure
-     * @since 2.0.0
+     * @return Graylog search type object
+     * @since 2.1.0
      */
-    public MessageList getMessages(
-        Timerange timerange,
-        String searchQuery,
-        int limit,
-        int offset,
-        SortConfig sort,
-        List<String> streamIds
-    ) throws IOException {
+    SearchType buildMessagesSearchType(int limit, int offset, SortConfig sort) {
+        return buildMessagesSearchType("messages", limit, offset, sort);
+    }
 
-        SearchType searchType = SearchType.builder()
-            .name("messages")
+    /**
+     * Build named search type of message list search.
+     * @param name search type name
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @return Graylog search type object
+     * @since 2.1.0
+     */
+    SearchType buildMessagesSearchType(String name, int limit, int offset, SortConfig sort) {
+        return SearchType.builder()
+            .name(name)
             .limit(limit)
             .offset(offset)
             .sort(sort == null ? List.of() : List.of(sort))
             .type(SearchTypeType.messages)
             .build();
-
-        Query query = Query.builder()
-            .filter(convertToFilter(streamIds))
-            .query(SearchQuery.builder().queryString(searchQuery).build())
-            .timerange(timerange)
-            .searchType(searchType)
-            .build();
-
-        String body = syncSearch(SearchSpec.builder().query(query).build());
-
-        String searchResultPath = "$.results." + query.getId() + ".search_types." + searchType.getId();
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, Map<String, ?>>> messages = JsonPath.parse(body).read(searchResultPath + ".messages", List.class);
-        Integer totalCount = JsonPath.parse(body).read(searchResultPath + ".total_results", Integer.class);
-
-        return MessageList.builder()
-            .messages(messages)
-            .totalCount(totalCount)
-            .build();
     }
 
     /**
-     * Statistics.
-     * @param timerange Graylog time range object
-     * @param searchQuery Graylog search query
+     * Build search type of statistics.
      * @param seriesList Gralog series object list
-     * @param streamIds Graylog stream ID list
-     * @return Statistics from Graylog
-     * @throws IOException Graylog server failure
-     * @since 2.0.0
+     * @return Graylog search type object
+     * @since 2.1.0
      */
-    public List<Statistics> getStatistics(
-        Timerange timerange,
-        String searchQuery,
-        List<Series> seriesList,
-        List<String> streamIds
-    ) throws IOException {
+    SearchType buildStatisticsSearchType(List<Series> seriesList) {
+        return buildStatisticsSearchType("chart", seriesList);
+    }
 
-        SearchType searchType = SearchType.builder()
-            .name("chart")
+    /**
+     * Build named search type of statistics.
+     * @param name search type name
+     * @param seriesList Gralog series object list
+     * @return Graylog search type object
+     * @since 2.1.0
+     */
+    SearchType buildStatisticsSearchType(String name, List<Series> seriesList) {
+        return SearchType.builder()
+            .name(name)
             .series(seriesList)
             .rollup(true)
             .rowGroups(List.of())
@@ -123,57 +1755,47 @@ public class Search {
             .sort(List.of())
             .type(SearchTypeType.pivot)
             .build();
+    }
 
-        Query query = Query.builder()
-            .filter(convertToFilter(streamIds))
-            .query(SearchQuery.builder().queryString(searchQuery).build())
-            .timerange(timerange)
-            .searchType(searchType)
-            .build();
-
-        String body = syncSearch(SearchSpec.builder().query(query).build());
-
-        String searchQueryPath = "$.results." + query.getId() + ".query.search_types[0].series";
-        String searchResultPath = "$.results." + query.getId() + ".search_types." + searchType.getId() + ".rows[0].values";
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, ?>> requestSeries = JsonPath.parse(body).read(searchQueryPath, List.class);
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, ?>> values = JsonPath.parse(body).read(searchResultPath, List.class);
-
-        Map<String, Value> converted = convertToValueMap(requestSeries, values).get("row-leaf").get(StringUtils.EMPTY);
+    /**
+     * Build search type of terms.
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Graylog search type object
+     * @since 2.1.0
+     */
+    SearchType buildTermsSearchType(
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) {
 
-        return converted.values().stream()
-            .map(Value::getStatistics)
-            .collect(Collectors.toList());
+        return buildTermsSearchType("chart", seriesList, rowGroups, columnGroups, sort);
     }
 
     /**
-     * Terms.
-     * @param timerange Graylog time range object
-     * @param searchQuery Graylog search query
+     * Build named search type of terms.
+     * @param name search type name
      * @param seriesList Gralog series object list
      * @param rowGroups Graylog search type pivot object list
      * @param columnGroups Graylog search type pivot object list
      * @param sort Graylog sort config object
-     * @param streamIds Graylog stream ID list
-     * @return Terms from Graylog
-     * @throws IOException Graylog server failure
-     * @since 2.0.0
+     * @return Graylog search type object
+     * @since 2.1.0
      */
-    public Terms getTerms(
-        Timerange timerange,
-        String searchQuery,
+    SearchType buildTermsSearchType(
+        String name,
         List<Series> seriesList,
         List<SearchTypePivot> rowGroups,
         List<SearchTypePivot> columnGroups,
-        SortConfig sort,
-        List<String> streamIds
-    ) throws IOException {
+        SortConfig sort
+    ) {
 
-        SearchType searchType = SearchType.builder()
-            .name("chart")
+        return SearchType.builder()
+            .name(name)
             .series(seriesList)
             .rollup(true)
             .rowGroups(rowGroups)
@@ -181,94 +1803,43 @@ public class Search {
             .sort(sort == null ? List.of() : List.of(sort))
             .type(SearchTypeType.pivot)
             .build();
+    }
 
-        Query query = Query.builder()
-            .filter(convertToFilter(streamIds))
-            .query(SearchQuery.builder().queryString(searchQuery).build())
-            .timerange(timerange)
-            .searchType(searchType)
-            .build();
-
-        String body = syncSearch(SearchSpec.builder().query(query).build());
-
-        String searchQueryPath = "$.results." + query.getId() + ".query.search_types[0].series";
-        String searchResultPath = "$.results." + query.getId() + ".search_types." + searchType.getId() + ".rows";
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, ?>> requestSeries = JsonPath.parse(body).read(searchQueryPath, List.class);
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, ?>> results = JsonPath.parse(body).read(searchResultPath, List.class);
-
-        List<Terms.TermsData> termsDataList = new ArrayList<>();
-
-        for (Map<String, ?> result : results) {
-            if (!result.get("source").equals("leaf")) {
-                continue;
-            }
-
-            @SuppressWarnings("unchecked")
-            List<String> labels = (List<String>) result.get("key");
-
-            @SuppressWarnings("unchecked")
-            List<Map<String, ?>> values = (List<Map<String, ?>>) result.get("values");
-
-            Map<String, Map<String, Map<String, Value>>> valueMap = convertToValueMap(requestSeries, values);
-
-            List<Statistics> statsList = valueMap.get("row-leaf").get(StringUtils.EMPTY).values().stream()
-                .map(Value::getStatistics)
-                .collect(Collectors.toList());
-
-            List<Terms.StackedColumn> stackedColumns = new ArrayList<>();
-
-            for (Map<String, Value> colLeaf : valueMap.get("col-leaf").values()) {
-                stackedColumns.add(
-                    Terms.StackedColumn.builder()
-                        .columnLabels(colLeaf.get(colLeaf.keySet().iterator().next()).getLabels())
-                        .statisticsList(
-                            colLeaf.values().stream()
-                                .map(Value::getStatistics)
-                                .collect(Collectors.toList())
-                        )
-                        .build()
-                );
-            }
-
-            termsDataList.add(
-                Terms.TermsData.builder()
-                    .baseLabels(labels)
-                    .statisticsList(statsList)
-                    .stackedColumns(stackedColumns)
-                    .build()
-            );
-        }
+    /**
+     * Build search type of histogram.
+     * @param interval Graylog interval object
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Graylog search type object
+     * @since 2.1.0
+     */
+    SearchType buildHistogramSearchType(
+        Interval interval,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) {
 
-        return Terms.builder().terms(termsDataList).build();
+        return buildHistogramSearchType("chart", interval, seriesList, columnGroups);
     }
 
     /**
-     * Histogram.
-     * @param timerange Graylog time range object
+     * Build named search type of histogram.
+     * @param name search type name
      * @param interval Graylog interval object
-     * @param searchQuery Graylog search query
      * @param seriesList Gralog series object list
      * @param columnGroups Graylog search type pivot object list
-     * @param streamIds Graylog stream ID list
-     * @return Histogram from Graylog
-     * @throws IOException Graylog server failure
-     * @since 2.0.0
+     * @return Graylog search type object
+     * @since 2.1.0
      */
-    public Histogram getHistogram(
-        Timerange timerange,
+    SearchType buildHistogramSearchType(
+        String name,
         Interval interval,
-        String searchQuery,
         List<Series> seriesList,
-        List<SearchTypePivot> columnGroups,
-        List<String> streamIds
-    ) throws IOException {
+        List<SearchTypePivot> columnGroups
+    ) {
 
-        SearchType searchType = SearchType.builder()
-            .name("chart")
+        return SearchType.builder()
+            .name(name)
             .series(seriesList)
             .rollup(true)
             .rowGroups(
@@ -284,227 +1855,215 @@ public class Search {
             .sort(List.of())
             .type(SearchTypeType.pivot)
             .build();
+    }
 
-        Query query = Query.builder()
-            .filter(convertToFilter(streamIds))
-            .query(SearchQuery.builder().queryString(searchQuery).build())
-            .timerange(timerange)
-            .searchType(searchType)
-            .build();
-
-        String body = syncSearch(SearchSpec.builder().query(query).build());
+    /**
+     * Response handler reading message list of the query.
+     * @param query Graylog query object which has been requested
+     * @return Response handler
+     * @since 2.1.0
+     */
+    private ResponseHandler<MessageList> messageListHandler(Query query) {
+        String searchTypeId = query.getSearchTypes().get(0).getId();
 
-        String searchQueryPath = "$.results." + query.getId() + ".query.search_types[0].series";
-        String searchResultPath = "$.results." + query.getId() + ".search_types." + searchType.getId() + ".rows";
+        return responseBody -> searchResponseReader.read(
+            responseBody.byteStream(),
+            searchTypeId,
+            searchResponseReader::readMessageList
+        );
+    }
 
-        @SuppressWarnings("unchecked")
-        List<Map<String, ?>> requestSeries = JsonPath.parse(body).read(searchQueryPath, List.class);
+    /**
+     * Response handler reading message list of the query into given message object.
+     * @param query Graylog query object which has been requested
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Response handler
+     * @since 2.1.0
+     */
+    private <T> ResponseHandler<TypedMessageList<T>> typedMessageListHandler(Query query, Class<T> messageObject) {
+        String searchTypeId = query.getSearchTypes().get(0).getId();
+        SearchTypeResultReader<TypedMessageList<T>> reader = searchResponseReader.typedMessageListReader(messageObject);
 
-        @SuppressWarnings("unchecked")
-        List<Map<String, ?>> results = JsonPath.parse(body).read(searchResultPath, List.class);
+        return responseBody -> searchResponseReader.read(responseBody.byteStream(), searchTypeId, reader);
+    }
 
-        List<Histogram.HistogramData> histogramDataList = new ArrayList<>();
+    /**
+     * Response handler reading pivot rows of the query.
+     * @param query Graylog query object which has been requested
+     * @return Response handler
+     * @since 2.1.0
+     */
+    private ResponseHandler<List<PivotRow>> pivotRowsHandler(Query query) {
+        String searchTypeId = query.getSearchTypes().get(0).getId();
 
-        for (Map<String, ?> result : results) {
-            if (!result.get("source").equals("leaf")) {
-                continue;
-            }
+        return responseBody -> searchResponseReader.read(
+            responseBody.byteStream(),
+            searchTypeId,
+            searchResponseReader::readPivotRows
+        );
+    }
 
-            @SuppressWarnings("unchecked")
-            List<String> labels = (List<String>) result.get("key");
+    /**
+     * Response handler reading pivot rows of the search type of each query in the search spec.
+     * @param searchSpec Graylog search spec object which has been requested
+     * @param reader conversion of pivot rows of a search type into result
+     * @param <T> type of result of each query
+     * @return Response handler
+     * @since 2.1.0
+     */
+    private <T> ResponseHandler<List<T>> periodsHandler(
+        SearchSpec searchSpec,
+        BiFunction<List<PivotRow>, SearchType, T> reader
+    ) {
 
-            @SuppressWarnings("unchecked")
-            List<Map<String, ?>> values = (List<Map<String, ?>>) result.get("values");
+        List<SearchType> searchTypes = searchSpec.getQueries().stream()
+            .map(query -> query.getSearchTypes().get(0))
+            .collect(Collectors.toList());
 
-            String timestamp = CollectionUtils.isEmpty(labels) ? StringUtils.EMPTY : labels.get(0);
+        SearchTypeResultReader<List<PivotRow>> pivotRowsReader = searchResponseReader::readPivotRows;
+        Map<String, SearchTypeResultReader<List<PivotRow>>> readers = new LinkedHashMap<>();
 
-            Map<String, Map<String, Map<String, Value>>> valueMap = convertToValueMap(requestSeries, values);
+        for (SearchType searchType : searchTypes) {
+            readers.put(searchType.getId(), pivotRowsReader);
+        }
 
-            List<Statistics> statsList = valueMap.get("row-leaf").get(StringUtils.EMPTY).values().stream()
-                .map(Value::getStatistics)
-                .collect(Collectors.toList());
+        return responseBody -> {
+            Map<String, Object> results = searchResponseReader.read(responseBody.byteStream(), readers);
+            List<T> periodResults = new ArrayList<>(searchTypes.size());
 
-            List<Histogram.StackedColumn> stackedColumns = new ArrayList<>();
+            for (SearchType searchType : searchTypes) {
+                @SuppressWarnings("unchecked")
+                List<PivotRow> rows = (List<PivotRow>) results.get(searchType.getId());
 
-            for (Map<String, Value> colLeaf : valueMap.get("col-leaf").values()) {
-                stackedColumns.add(
-                    Histogram.StackedColumn.builder()
-                        .columnLabels(colLeaf.get(colLeaf.keySet().iterator().next()).getLabels())
-                        .statisticsList(
-                            colLeaf.values().stream()
-                                .map(Value::getStatistics)
-                                .collect(Collectors.toList())
-                        )
-                        .build()
-                );
+                periodResults.add(reader.apply(rows, searchType));
             }
 
-            histogramDataList.add(
-                Histogram.HistogramData.builder()
-                    .baseLabel(timestamp)
-                    .statisticsList(statsList)
-                    .stackedColumns(stackedColumns)
-                    .build()
-            );
-        }
+            return periodResults;
+        };
+    }
 
-        return Histogram.builder().histogram(histogramDataList).build();
+    /**
+     * Response handler reading pivot rows of the query into columnar terms.
+     * @param query Graylog query object which has been requested
+     * @return Response handler
+     * @since 2.1.0
+     */
+    private ResponseHandler<ColumnarTerms> columnarTermsHandler(Query query) {
+        ResponseHandler<List<PivotRow>> pivotRowsHandler = pivotRowsHandler(query);
+        List<Series> requestSeries = query.getSearchTypes().get(0).getSeries();
+
+        return responseBody -> ColumnarResultReader.readTerms(pivotRowsHandler.handle(responseBody), requestSeries);
     }
 
     /**
-     * Perform synchronous search.
-     * @param searchSpec Graylog search spec object
-     * @return Response body from Graylog
-     * @throws IOException Graylog server failure
-     * @since 2.0.0
+     * Response handler reading pivot rows of the query into columnar histogram.
+     * @param query Graylog query object which has been requested
+     * @return Response handler
+     * @since 2.1.0
      */
-    public String syncSearch(SearchSpec searchSpec) throws IOException {
-        String requestJson = objectMapper.writeValueAsString(searchSpec);
-        RequestBody jsonBody = RequestBody.create(requestJson, CONTENT_TYPE_JSON);
+    private ResponseHandler<ColumnarHistogram> columnarHistogramHandler(Query query) {
+        ResponseHandler<List<PivotRow>> pivotRowsHandler = pivotRowsHandler(query);
+        List<Series> requestSeries = query.getSearchTypes().get(0).getSeries();
 
-        HttpUrl httpUrl = graylogRequest.getHttpUrlBuilder()
-            .addPathSegments("api/views/search/sync")
-            .addQueryParameter("timeout", String.valueOf(graylogApiProperties.getTimeout()))
-            .build();
+        return responseBody -> ColumnarResultReader.readHistogram(pivotRowsHandler.handle(responseBody), requestSeries);
+    }
 
-        return graylogRequest.httpPostRequest(httpUrl, jsonBody);
+    /**
+     * Read statistics from pivot rows.
+     * @param rows pivot rows from Graylog
+     * @param searchType Graylog search type object which has been requested
+     * @return Statistics
+     * @since 2.1.0
+     */
+    List<Statistics> readStatistics(List<PivotRow> rows, SearchType searchType) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        SeriesIndex seriesIndex = new SeriesIndex(searchType.getSeries());
+
+        return seriesIndex.fill(rows.get(0).getValues()).getStatisticsList();
     }
 
     /**
-     * Convert Graylog response to Value map.
-     * @param requestSeries series requested to Graylog
-     * @param values values from Graylog
-     * @return Value map
-     * @since 2.0.0
+     * Read terms from pivot rows.
+     * @param rows pivot rows from Graylog
+     * @param searchType Graylog search type object which has been requested
+     * @return Terms
+     * @since 2.1.0
      */
-    private Map<String, Map<String, Map<String, Value>>> convertToValueMap(
-        List<Map<String, ?>> requestSeries,
-        List<Map<String, ?>> values
-    ) {
+    Terms readTerms(List<PivotRow> rows, SearchType searchType) {
+        SeriesIndex seriesIndex = new SeriesIndex(searchType.getSeries());
 
-        Map<String, Map<String, String>> keyMap = requestSeries.stream()
-            .collect(
-                Collectors.toMap(
-                    series -> (String) series.get("id"),
-                    series -> Map.of(
-                        "field", Objects.requireNonNullElse((String) series.get("field"), StringUtils.EMPTY),
-                        "type", (String) series.get("type"),
-                        "percentile", String.valueOf((series.get("percentile")))
-                    )
-                )
-            );
+        List<Terms.TermsData> termsDataList = new ArrayList<>(rows.size());
 
-        Map<String, Map<String, Map<String, Value>>> leafFieldValueMap = ImmutableMap.of(
-            "row-leaf", new HashMap<>(),
-            "col-leaf", new HashMap<>()
-        );
+        for (PivotRow row : rows) {
+            SeriesIndex.RowStatistics rowStatistics = seriesIndex.fill(row.getValues());
 
-        for (Map<String, ?> valueMap : values) {
-            String source = (String) valueMap.get("source");
+            List<Terms.StackedColumn> stackedColumns = new ArrayList<>();
 
-            if (List.of("row-leaf", "col-leaf").stream().noneMatch(source::equals)) {
-                continue;
+            for (Map.Entry<List<String>, List<Statistics>> column : rowStatistics.getColumns().entrySet()) {
+                stackedColumns.add(
+                    Terms.StackedColumn.builder()
+                        .columnLabels(column.getKey())
+                        .statisticsList(column.getValue())
+                        .build()
+                );
             }
 
-            @SuppressWarnings("unchecked")
-            List<String> keys = (List<String>) valueMap.get("key");
+            termsDataList.add(
+                Terms.TermsData.builder()
+                    .baseLabels(row.getKey())
+                    .statisticsList(rowStatistics.getStatisticsList())
+                    .stackedColumns(stackedColumns)
+                    .build()
+            );
+        }
 
-            List<String> columnLabels = new ArrayList<>();
-            StringBuilder keyName = new StringBuilder();
-            String id = StringUtils.EMPTY;
+        return Terms.builder().terms(termsDataList).build();
+    }
 
-            for (String key : keys) {
-                if (keyMap.containsKey(key)) {
-                    id = key;
-                    continue;
-                }
+    /**
+     * Read histogram from pivot rows.
+     * @param rows pivot rows from Graylog
+     * @param searchType Graylog search type object which has been requested
+     * @return Histogram
+     * @since 2.1.0
+     */
+    Histogram readHistogram(List<PivotRow> rows, SearchType searchType) {
+        SeriesIndex seriesIndex = new SeriesIndex(searchType.getSeries());
 
-                columnLabels.add(key);
-                keyName.append(key);
-            }
+        List<Histogram.HistogramData> histogramDataList = new ArrayList<>(rows.size());
 
-            String field = keyMap.get(id).get("field");
-            String type = keyMap.get(id).get("type");
-            String percentile = keyMap.get(id).get("percentile");
+        for (PivotRow row : rows) {
+            List<String> labels = row.getKey();
 
-            if (!leafFieldValueMap.get(source).containsKey(keyName.toString())) {
-                leafFieldValueMap.get(source).put(keyName.toString(), new HashMap<>());
-            }
+            String timestamp = CollectionUtils.isEmpty(labels) ? StringUtils.EMPTY : labels.get(0);
 
-            if (!leafFieldValueMap.get(source).get(keyName.toString()).containsKey(field)) {
-                leafFieldValueMap.get(source).get(keyName.toString()).put(field, new Value());
-                leafFieldValueMap.get(source).get(keyName.toString()).get(field).setLabels(columnLabels);
-                leafFieldValueMap.get(source).get(keyName.toString()).get(field).setStatistics(new Statistics());
-                leafFieldValueMap.get(source).get(keyName.toString()).get(field).getStatistics().setField(field);
-            }
+            SeriesIndex.RowStatistics rowStatistics = seriesIndex.fill(row.getValues());
 
-            Statistics statistics = leafFieldValueMap.get(source).get(keyName.toString()).get(field).getStatistics();
+            List<Histogram.StackedColumn> stackedColumns = new ArrayList<>();
 
-            if (type.equals(SeriesType.avg.toString())) {
-                statistics.setAverage(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.card.toString())) {
-                statistics.setCardinality((Integer) valueMap.get("value"));
-            } else if (type.equals(SeriesType.count.toString())) {
-                statistics.setCount((Integer) valueMap.get("value"));
-            } else if (type.equals(SeriesType.max.toString())) {
-                statistics.setMax(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.min.toString())) {
-                statistics.setMin(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.stddev.toString())) {
-                statistics.setStdDeviation(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.sum.toString())) {
-                statistics.setSum(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.sumofsquares.toString())) {
-                statistics.setSum(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.variance.toString())) {
-                statistics.setSum(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
-                );
-            } else if (type.equals(SeriesType.percentile.toString())) {
-                if (statistics.getPercentiles() == null) {
-                    statistics.setPercentiles(new ArrayList<>());
-                }
-
-                if (statistics.getPercentileRanks() == null) {
-                    statistics.setPercentileRanks(new ArrayList<>());
-                }
-
-                statistics.getPercentiles().add(
-                    valueMap.get("value") instanceof BigDecimal
-                        ? GraylogUtils.parseBigDecimalToDouble((BigDecimal) valueMap.get("value"))
-                        : (Double) valueMap.get("value")
+            for (Map.Entry<List<String>, List<Statistics>> column : rowStatistics.getColumns().entrySet()) {
+                stackedColumns.add(
+                    Histogram.StackedColumn.builder()
+                        .columnLabels(column.getKey())
+                        .statisticsList(column.getValue())
+                        .build()
                 );
-                statistics.getPercentileRanks().add(percentile);
             }
+
+            histogramDataList.add(
+                Histogram.HistogramData.builder()
+                    .baseLabel(timestamp)
+                    .statisticsList(rowStatistics.getStatisticsList())
+                    .stackedColumns(stackedColumns)
+                    .build()
+            );
         }
 
-        return leafFieldValueMap;
+        return Histogram.builder().histogram(histogramDataList).build();
     }
 
     /**
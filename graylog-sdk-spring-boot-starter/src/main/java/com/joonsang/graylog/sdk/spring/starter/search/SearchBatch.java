@@ -0,0 +1,371 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
+import com.joonsang.graylog.sdk.spring.starter.domain.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Search Batch
+ * <p>
+ * Collects message list and pivot searches sharing time range, search query and streams
+ * into search types of a single query, so that they are executed in one synchronous search request.
+ * Search types are named after their position in the batch, so that content derived IDs of equal searches differ.
+ * <pre>
+ * SearchBatch batch = search.batch(timerange, searchQuery, streamIds);
+ * SearchBatch.Handle&lt;List&lt;Statistics&gt;&gt; statistics = batch.statistics(seriesList);
+ * SearchBatch.Handle&lt;Histogram&gt; histogram = batch.histogram(interval, seriesList, List.of());
+ *
+ * SearchBatch.Results results = batch.execute();
+ * results.get(statistics);
+ * </pre>
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class SearchBatch {
+
+    private final Search search;
+
+    private final Timerange timerange;
+
+    private final String searchQuery;
+
+    private final List<String> streamIds;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final List<Parameter> parameters = new ArrayList<>();
+
+    SearchBatch(Search search, Timerange timerange, String searchQuery, List<String> streamIds) {
+        this.search = search;
+        this.timerange = timerange;
+        this.searchQuery = searchQuery;
+        this.streamIds = streamIds;
+    }
+
+    /**
+     * Add parameter bound to $name$ references in search query.
+     * @param parameter Graylog parameter object
+     * @return This search batch
+     * @since 2.1.0
+     */
+    public SearchBatch parameter(Parameter parameter) {
+        parameters.add(parameter);
+
+        return this;
+    }
+
+    /**
+     * Add message list search.
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @return Handle of message list
+     * @since 2.1.0
+     */
+    public Handle<MessageList> messages(int limit, int offset, SortConfig sort) {
+        return add(
+            search.buildMessagesSearchType(nextName(), limit, offset, sort),
+            "messages",
+            search.getSearchResponseReader()::readMessageList,
+            Function.identity()
+        );
+    }
+
+    /**
+     * Add message list search binding messages into given message object.
+     * @param limit maximum number of messages to return
+     * @param offset offset
+     * @param sort Graylog sort config object
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Handle of typed message list
+     * @since 2.1.0
+     */
+    public <T> Handle<TypedMessageList<T>> messages(int limit, int offset, SortConfig sort, Class<T> messageObject) {
+        return add(
+            search.buildMessagesSearchType(nextName(), limit, offset, sort),
+            "messages:" + messageObject.getName(),
+            search.getSearchResponseReader().typedMessageListReader(messageObject),
+            Function.identity()
+        );
+    }
+
+    /**
+     * Add statistics.
+     * @param seriesList Gralog series object list
+     * @return Handle of statistics
+     * @since 2.1.0
+     */
+    public Handle<List<Statistics>> statistics(List<Series> seriesList) {
+        SearchType searchType = search.buildStatisticsSearchType(nextName(), seriesList);
+
+        return add(
+            searchType,
+            "statistics",
+            search.getSearchResponseReader()::readPivotRows,
+            rows -> search.readStatistics(rows, searchType)
+        );
+    }
+
+    /**
+     * Add terms.
+     * @param seriesList Gralog series object list
+     * @param rowGroups Graylog search type pivot object list
+     * @param columnGroups Graylog search type pivot object list
+     * @param sort Graylog sort config object
+     * @return Handle of terms
+     * @since 2.1.0
+     */
+    public Handle<Terms> terms(
+        List<Series> seriesList,
+        List<SearchTypePivot> rowGroups,
+        List<SearchTypePivot> columnGroups,
+        SortConfig sort
+    ) {
+
+        SearchType searchType = search.buildTermsSearchType(nextName(), seriesList, rowGroups, columnGroups, sort);
+
+        return add(
+            searchType,
+            "terms",
+            search.getSearchResponseReader()::readPivotRows,
+            rows -> search.readTerms(rows, searchType)
+        );
+    }
+
+    /**
+     * Add histogram.
+     * @param interval Graylog interval object
+     * @param seriesList Gralog series object list
+     * @param columnGroups Graylog search type pivot object list
+     * @return Handle of histogram
+     * @since 2.1.0
+     */
+    public Handle<Histogram> histogram(
+        Interval interval,
+        List<Series> seriesList,
+        List<SearchTypePivot> columnGroups
+    ) {
+
+        SearchType searchType = search.buildHistogramSearchType(nextName(), interval, seriesList, columnGroups);
+
+        return add(
+            searchType,
+            "histogram",
+            search.getSearchResponseReader()::readPivotRows,
+            rows -> search.readHistogram(rows, searchType)
+        );
+    }
+
+    /**
+     * Execute every search of the batch in one request.
+     * @return Results of the batch
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public Results execute() throws IOException {
+        List<Entry> executed = List.copyOf(entries);
+        SearchSpec searchSpec = buildSearchSpec(executed);
+
+        return search.search(searchSpec, resultType(executed), resultsHandler(executed));
+    }
+
+    /**
+     * Asynchronous execution of every search of the batch in one request.
+     * @return Future of results of the batch
+     * @since 2.1.0
+     */
+    public CompletableFuture<Results> executeAsync() {
+        List<Entry> executed = List.copyOf(entries);
+        SearchSpec searchSpec = buildSearchSpec(executed);
+
+        return search.searchAsync(searchSpec, resultType(executed), resultsHandler(executed));
+    }
+
+    /**
+     * Name of the search type added next, unique within the batch.
+     * @return Search type name
+     * @since 2.1.0
+     */
+    private String nextName() {
+        return "batch-" + entries.size();
+    }
+
+    /**
+     * Add search type with the reader of its result and the conversion into search result.
+     * @param searchType Graylog search type object
+     * @param resultType type of result read from the search type
+     * @param reader search type result reader
+     * @param finisher conversion of read result into search result
+     * @param <R> type of read result
+     * @param <T> type of search result
+     * @return Handle of search result
+     * @since 2.1.0
+     */
+    private <R, T> Handle<T> add(
+        SearchType searchType,
+        String resultType,
+        SearchTypeResultReader<R> reader,
+        Function<R, T> finisher
+    ) {
+
+        @SuppressWarnings("unchecked")
+        Function<Object, Object> untypedFinisher = result -> finisher.apply((R) result);
+
+        entries.add(new Entry(searchType, resultType, reader, untypedFinisher));
+
+        return new Handle<>(entries.size() - 1);
+    }
+
+    /**
+     * Build search spec with a query holding search types added so far.
+     * @return Graylog search spec object
+     * @since 2.1.0
+     */
+    SearchSpec buildSearchSpec() {
+        return buildSearchSpec(List.copyOf(entries));
+    }
+
+    /**
+     * Build search spec with a query holding search types of the batch.
+     * @param executed searches of the batch
+     * @return Graylog search spec object
+     * @throws IllegalStateException if the batch is empty or search types of the batch share an ID
+     * @since 2.1.0
+     */
+    private SearchSpec buildSearchSpec(List<Entry> executed) {
+        if (executed.isEmpty()) {
+            throw new IllegalStateException("Search batch has no search to execute.");
+        }
+
+        List<SearchType> searchTypes = executed.stream()
+            .map(entry -> entry.searchType)
+            .collect(Collectors.toList());
+
+        Query query = search.buildQuery(timerange, searchQuery, streamIds, searchTypes);
+        Set<String> searchTypeIds = new HashSet<>();
+
+        for (SearchType searchType : query.getSearchTypes()) {
+            if (!searchTypeIds.add(searchType.getId())) {
+                throw new IllegalStateException(
+                    "Search batch has more than one search type of ID " + searchType.getId() + "."
+                );
+            }
+        }
+
+        return SearchSpec.builder()
+            .query(query)
+            .parameters(parameters)
+            .build();
+    }
+
+    /**
+     * Type of results read from the batch, which identifies it for search coalescing.
+     * @param executed searches of the batch
+     * @return Result type
+     * @since 2.1.0
+     */
+    private static String resultType(List<Entry> executed) {
+        return executed.stream()
+            .map(entry -> entry.resultType)
+            .collect(Collectors.joining(",", "batch[", "]"));
+    }
+
+    /**
+     * Response handler reading results of every search type of the batch in one pass.
+     * @param executed searches of the batch
+     * @return Response handler
+     * @since 2.1.0
+     */
+    private ResponseHandler<Results> resultsHandler(List<Entry> executed) {
+        Map<String, SearchTypeResultReader<?>> readers = new LinkedHashMap<>();
+
+        for (Entry entry : executed) {
+            readers.put(entry.searchType.getId(), entry.reader);
+        }
+
+        return responseBody -> {
+            Map<String, Object> read = search.getSearchResponseReader().read(responseBody.byteStream(), readers);
+            List<Object> results = new ArrayList<>(executed.size());
+
+            for (Entry entry : executed) {
+                results.add(entry.finisher.apply(read.get(entry.searchType.getId())));
+            }
+
+            return new Results(results);
+        };
+    }
+
+    /**
+     * Handle of a search in the batch, typed with its result.
+     * @param <T> type of search result
+     * @since 2.1.0
+     */
+    public static final class Handle<T> {
+
+        private final int index;
+
+        private Handle(int index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Results of an executed batch.
+     * Shared by coalesced batches which add the same searches in the same order.
+     * @since 2.1.0
+     */
+    public static final class Results {
+
+        private final List<Object> results;
+
+        private Results(List<Object> results) {
+            this.results = results;
+        }
+
+        /**
+         * Result of a search in the batch.
+         * @param handle handle returned when the search was added to the executed batch
+         * @param <T> type of search result
+         * @return Search result
+         * @since 2.1.0
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T get(Handle<T> handle) {
+            if (handle.index >= results.size()) {
+                throw new IllegalArgumentException("Search was not executed in this batch.");
+            }
+
+            return (T) results.get(handle.index);
+        }
+    }
+
+    private static class Entry {
+
+        private final SearchType searchType;
+
+        private final String resultType;
+
+        private final SearchTypeResultReader<?> reader;
+
+        private final Function<Object, Object> finisher;
+
+        private Entry(
+            SearchType searchType,
+            String resultType,
+            SearchTypeResultReader<?> reader,
+            Function<Object, Object> finisher
+        ) {
+
+            this.searchType = searchType;
+            this.resultType = resultType;
+            this.reader = reader;
+            this.finisher = finisher;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.joonsang.graylog.sdk.spring.starter.domain.MessageList;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.TypedMessageList;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Synchronous Search Response Reader
+ * <p>
+ * Walks synchronous search response once with Jackson streaming parser,
+ * handing over results of requested search types to their readers and skipping everything else.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class SearchResponseReader {
+
+    private static final TypeReference<List<Map<String, Object>>> MESSAGES_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Class<?>, ObjectReader> messageReaders = new ConcurrentHashMap<>();
+
+    public SearchResponseReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read whole response as a single result.
+     * Used for responses which have the shape of a search type result on their root, such as legacy message search.
+     * @param inputStream response stream
+     * @param reader result reader
+     * @param <R> type of read result
+     * @return Read result
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    public <R> R readDocument(InputStream inputStream, SearchTypeResultReader<R> reader) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            parser.nextToken();
+
+            return reader.read(parser);
+        }
+    }
+
+    /**
+     * Read result of a single search type.
+     * @param inputStream synchronous search response stream
+     * @param searchTypeId Graylog search type ID
+     * @param reader search type result reader
+     * @param <R> type of read result
+     * @return Read result
+     * @throws IOException failure reading response or missing search type result
+     * @since 2.1.0
+     */
+    public <R> R read(InputStream inputStream, String searchTypeId, SearchTypeResultReader<R> reader) throws IOException {
+        Map<String, Object> results = read(inputStream, Map.of(searchTypeId, reader));
+
+        @SuppressWarnings("unchecked")
+        R result = (R) results.get(searchTypeId);
+
+        return result;
+    }
+
+    /**
+     * Read results of search types.
+     * @param inputStream synchronous search response stream
+     * @param readers search type result readers by Graylog search type ID
+     * @return Read results by Graylog search type ID
+     * @throws IOException failure reading response or missing search type result
+     * @since 2.1.0
+     */
+    public Map<String, Object> read(
+        InputStream inputStream,
+        Map<String, ? extends SearchTypeResultReader<?>> readers
+    ) throws IOException {
+
+        Map<String, Object> results = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("results".equals(fieldName)) {
+                    readQueryResults(parser, readers, results, errors);
+                } else if ("errors".equals(fieldName)) {
+                    readErrors(parser, errors);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        for (String searchTypeId : readers.keySet()) {
+            if (!results.containsKey(searchTypeId)) {
+                throw new GraylogServerException(
+                    "Graylog server responded without result of search type " + searchTypeId
+                        + (errors.isEmpty() ? "." : ": " + String.join(", ", errors))
+                );
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Read message list of messages search type.
+     * @param parser Jackson JsonParser object
+     * @return Message list
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    public MessageList readMessageList(JsonParser parser) throws IOException {
+        expectToken(parser.currentToken(), JsonToken.START_OBJECT);
+
+        List<Map<String, Map<String, ?>>> messages = List.of();
+        Integer totalCount = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if ("messages".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                // entries hold fields other than message, such as index, so they are read untyped as before
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                List<Map<String, Map<String, ?>>> entries = (List) objectMapper.readValue(parser, MESSAGES_TYPE);
+
+                messages = entries;
+            } else if ("total_results".equals(fieldName) && token == JsonToken.VALUE_NUMBER_INT) {
+                totalCount = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return MessageList.builder()
+            .messages(messages)
+            .totalCount(totalCount)
+            .build();
+    }
+
+    /**
+     * Reader binding each message of messages search type straight into given message object.
+     * @param messageObject message object
+     * @param <T> type of message object
+     * @return Search type result reader
+     * @since 2.1.0
+     */
+    public <T> SearchTypeResultReader<TypedMessageList<T>> typedMessageListReader(Class<T> messageObject) {
+        ObjectReader messageReader = messageReaders.computeIfAbsent(messageObject, objectMapper::readerFor);
+
+        return parser -> readTypedMessageList(parser, messageReader);
+    }
+
+    /**
+     * Read leaf rows of pivot search type.
+     * Only row-leaf and col-leaf values are kept.
+     * @param parser Jackson JsonParser object
+     * @return Pivot rows
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    public List<PivotRow> readPivotRows(JsonParser parser) throws IOException {
+        expectToken(parser.currentToken(), JsonToken.START_OBJECT);
+
+        List<PivotRow> rows = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if ("rows".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    PivotRow row = readPivotRow(parser);
+
+                    if (row != null) {
+                        rows.add(row);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Read message list of messages search type, binding each message with given reader.
+     * @param parser Jackson JsonParser object
+     * @param messageReader reader for message object
+     * @param <T> type of message object
+     * @return Typed message list
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    private <T> TypedMessageList<T> readTypedMessageList(JsonParser parser, ObjectReader messageReader) throws IOException {
+        expectToken(parser.currentToken(), JsonToken.START_OBJECT);
+
+        List<T> messages = new ArrayList<>();
+        Integer totalCount = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if ("messages".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String messageFieldName = parser.getCurrentName();
+                        JsonToken messageToken = parser.nextToken();
+
+                        if ("message".equals(messageFieldName) && messageToken == JsonToken.START_OBJECT) {
+                            T message = messageReader.readValue(parser);
+                            messages.add(message);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            } else if ("total_results".equals(fieldName) && token == JsonToken.VALUE_NUMBER_INT) {
+                totalCount = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return TypedMessageList.<T>builder()
+            .messages(messages)
+            .totalCount(totalCount)
+            .build();
+    }
+
+    /**
+     * Read results of every query, handing over requested search types to their readers.
+     * @param parser Jackson JsonParser object
+     * @param readers search type result readers by Graylog search type ID
+     * @param results read results by Graylog search type ID
+     * @param errors error descriptions from Graylog
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    private void readQueryResults(
+        JsonParser parser,
+        Map<String, ? extends SearchTypeResultReader<?>> readers,
+        Map<String, Object> results,
+        List<String> errors
+    ) throws IOException {
+
+        expectToken(parser.currentToken(), JsonToken.START_OBJECT);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                if ("search_types".equals(fieldName) && token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String searchTypeId = parser.getCurrentName();
+                        parser.nextToken();
+
+                        SearchTypeResultReader<?> reader = readers.get(searchTypeId);
+
+                        if (reader == null) {
+                            parser.skipChildren();
+                            continue;
+                        }
+
+                        results.put(searchTypeId, reader.read(parser));
+                    }
+                } else if ("errors".equals(fieldName)) {
+                    readErrors(parser, errors);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read pivot row, skipping rows other than leaf.
+     * @param parser Jackson JsonParser object
+     * @return Pivot row, or null if the row is not a leaf
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    private PivotRow readPivotRow(JsonParser parser) throws IOException {
+        List<String> key = List.of();
+        List<PivotRow.PivotValue> values = List.of();
+        String source = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if ("key".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                key = readStringArray(parser);
+            } else if ("values".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                values = readPivotValues(parser);
+            } else if ("source".equals(fieldName)) {
+                source = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return "leaf".equals(source) ? new PivotRow(key, values) : null;
+    }
+
+    /**
+     * Read row-leaf and col-leaf values of pivot row.
+     * @param parser Jackson JsonParser object
+     * @return Pivot values
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    private List<PivotRow.PivotValue> readPivotValues(JsonParser parser) throws IOException {
+        List<PivotRow.PivotValue> values = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            List<String> key = List.of();
+            Number value = null;
+            String source = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                if ("key".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                    key = readStringArray(parser);
+                } else if ("value".equals(fieldName) && token.isNumeric()) {
+                    value = parser.getNumberValue();
+                } else if ("source".equals(fieldName)) {
+                    source = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if ("row-leaf".equals(source) || "col-leaf".equals(source)) {
+                values.add(new PivotRow.PivotValue(key, value, source));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Read array of String values.
+     * @param parser Jackson JsonParser object
+     * @return String values
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    private List<String> readStringArray(JsonParser parser) throws IOException {
+        List<String> values = new ArrayList<>();
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.getValueAsString());
+            parser.skipChildren();
+        }
+
+        return values;
+    }
+
+    /**
+     * Read error descriptions from Graylog.
+     * @param parser Jackson JsonParser object
+     * @param errors error descriptions to add to
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    private void readErrors(JsonParser parser, List<String> errors) throws IOException {
+        JsonNode errorNodes = objectMapper.readTree(parser);
+
+        if (errorNodes == null || !errorNodes.isArray()) {
+            return;
+        }
+
+        for (JsonNode errorNode : errorNodes) {
+            errors.add(errorNode.path("description").asText(errorNode.toString()));
+        }
+    }
+
+    /**
+     * Verify current token.
+     * @param actual actual token
+     * @param expected expected token
+     * @throws IOException unexpected response
+     * @since 2.1.0
+     */
+    private void expectToken(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new GraylogServerException("Unexpected synchronous search response: expected " + expected + " but was " + actual + ".");
+        }
+    }
+}
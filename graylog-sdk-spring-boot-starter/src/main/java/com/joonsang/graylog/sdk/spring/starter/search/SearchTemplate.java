@@ -0,0 +1,191 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
+import com.joonsang.graylog.sdk.spring.starter.domain.Parameter;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Search Template
+ * <p>
+ * Search spec of a single query compiled once into a serialized skeleton.
+ * Each execution splices the time range, search query and parameters into the skeleton,
+ * so that series, pivots, sort and streams are not serialized again for every request.
+ * IDs of search spec, query and search type are fixed when the template is compiled.
+ * @param <T> type of search result
+ * @author debugrammer
+ * @since 2.1.0
+ */
+public class SearchTemplate<T> {
+
+    private static final String SLOT_MARK = "$graylog-sdk-template-slot$";
+
+    private final Search search;
+
+    private final ObjectMapper objectMapper;
+
+    private final String resultType;
+
+    private final ResponseHandler<T> responseHandler;
+
+    private final String[] segments;
+
+    private final Slot[] slots;
+
+    private final int skeletonLength;
+
+    SearchTemplate(
+        Search search,
+        ObjectMapper objectMapper,
+        SearchSpec searchSpec,
+        String resultType,
+        ResponseHandler<T> responseHandler
+    ) throws JsonProcessingException {
+
+        this.search = search;
+        this.objectMapper = objectMapper;
+        this.resultType = resultType;
+        this.responseHandler = responseHandler;
+
+        ObjectNode spec = objectMapper.valueToTree(searchSpec);
+        ObjectNode query = (ObjectNode) spec.path("queries").path(0);
+
+        ((ObjectNode) query.path("query")).put("query_string", Slot.QUERY_STRING.mark());
+        query.put("timerange", Slot.TIMERANGE.mark());
+        spec.put("parameters", Slot.PARAMETERS.mark());
+
+        String skeleton = objectMapper.writeValueAsString(spec);
+
+        Slot[] orderedSlots = Slot.values();
+        Arrays.sort(orderedSlots, Comparator.comparingInt(slot -> skeleton.indexOf(slot.quotedMark())));
+
+        List<String> skeletonSegments = new ArrayList<>(orderedSlots.length + 1);
+        int start = 0;
+
+        for (Slot slot : orderedSlots) {
+            int index = skeleton.indexOf(slot.quotedMark());
+            skeletonSegments.add(skeleton.substring(start, index));
+            start = index + slot.quotedMark().length();
+        }
+
+        skeletonSegments.add(skeleton.substring(start));
+
+        this.segments = skeletonSegments.toArray(new String[0]);
+        this.slots = orderedSlots;
+        this.skeletonLength = skeleton.length();
+    }
+
+    /**
+     * Execute search.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @return Search result from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public T execute(Timerange timerange, String searchQuery) throws IOException {
+        return execute(timerange, searchQuery, List.of());
+    }
+
+    /**
+     * Execute search with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param parameters Graylog parameter object list
+     * @return Search result from Graylog
+     * @throws IOException Graylog server failure
+     * @since 2.1.0
+     */
+    public T execute(Timerange timerange, String searchQuery, List<Parameter> parameters) throws IOException {
+        return search.executeTemplate(render(timerange, searchQuery, parameters), resultType, responseHandler);
+    }
+
+    /**
+     * Asynchronous execution of search.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @return Future of search result from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<T> executeAsync(Timerange timerange, String searchQuery) {
+        return executeAsync(timerange, searchQuery, List.of());
+    }
+
+    /**
+     * Asynchronous execution of search with parameters.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param parameters Graylog parameter object list
+     * @return Future of search result from Graylog
+     * @since 2.1.0
+     */
+    public CompletableFuture<T> executeAsync(Timerange timerange, String searchQuery, List<Parameter> parameters) {
+        String requestJson;
+
+        try {
+            requestJson = render(timerange, searchQuery, parameters);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return search.executeTemplateAsync(requestJson, resultType, responseHandler);
+    }
+
+    /**
+     * Render request JSON by splicing variable parts into the skeleton.
+     * @param timerange Graylog time range object
+     * @param searchQuery Graylog search query
+     * @param parameters Graylog parameter object list
+     * @return Search spec JSON
+     * @throws JsonProcessingException failure serializing variable parts
+     * @since 2.1.0
+     */
+    String render(Timerange timerange, String searchQuery, List<Parameter> parameters) throws JsonProcessingException {
+        StringBuilder requestJson = new StringBuilder(skeletonLength + 128);
+
+        for (int i = 0; i < slots.length; i++) {
+            requestJson.append(segments[i]);
+
+            switch (slots[i]) {
+                case QUERY_STRING:
+                    requestJson.append(objectMapper.writeValueAsString(searchQuery == null ? "" : searchQuery));
+                    break;
+                case TIMERANGE:
+                    requestJson.append(objectMapper.writeValueAsString(search.alignTimerange(timerange)));
+                    break;
+                case PARAMETERS:
+                    requestJson.append(parameters == null || parameters.isEmpty() ? "[]" : objectMapper.writeValueAsString(parameters));
+                    break;
+            }
+        }
+
+        return requestJson.append(segments[slots.length]).toString();
+    }
+
+    /**
+     * Variable part of the skeleton.
+     * @since 2.1.0
+     */
+    private enum Slot {
+
+        QUERY_STRING, TIMERANGE, PARAMETERS;
+
+        String mark() {
+            return SLOT_MARK + name();
+        }
+
+        String quotedMark() {
+            return "\"" + mark() + "\"";
+        }
+    }
+}
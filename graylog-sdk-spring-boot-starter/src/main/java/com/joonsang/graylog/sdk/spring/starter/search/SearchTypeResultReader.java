@@ -0,0 +1,28 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Search Type Result Reader
+ * <p>
+ * Reads result of a single search type from synchronous search response.
+ * Parser is positioned at the start of search type result object,
+ * and the reader must consume it up to the matching end of object.
+ * @param <R> type of read result
+ * @author debugrammer
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface SearchTypeResultReader<R> {
+
+    /**
+     * Read search type result.
+     * @param parser Jackson JsonParser object
+     * @return Read result
+     * @throws IOException failure reading response
+     * @since 2.1.0
+     */
+    R read(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,289 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.domain.Statistics;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * Series Index
+ * <p>
+ * Resolves series metadata of a pivot search type once per response.
+ * Every series ID is mapped to the statistics slot of its field and its series type,
+ * so pivot values are filled into statistics slots without string comparisons.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+class SeriesIndex {
+
+    private static final String ROW_LEAF = "row-leaf";
+
+    private static final String COL_LEAF = "col-leaf";
+
+    private final Map<String, SeriesSlot> seriesSlots;
+
+    private final List<SeriesSlot> seriesSlotList;
+
+    private final String[] fields;
+
+    SeriesIndex(List<Series> seriesList) {
+        Map<String, Integer> fieldSlots = new LinkedHashMap<>();
+
+        this.seriesSlots = new HashMap<>();
+        this.seriesSlotList = new ArrayList<>();
+
+        for (Series series : seriesList) {
+            if (seriesSlots.containsKey(series.getId())) {
+                continue;
+            }
+
+            String field = Objects.requireNonNullElse(series.getField(), StringUtils.EMPTY);
+            int slot = fieldSlots.computeIfAbsent(field, key -> fieldSlots.size());
+
+            SeriesSlot seriesSlot = new SeriesSlot(seriesSlotList.size(), slot, field, series);
+
+            seriesSlots.put(series.getId(), seriesSlot);
+            seriesSlotList.add(seriesSlot);
+        }
+
+        this.fields = fieldSlots.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Number of distinct series.
+     * @return Number of series
+     * @since 2.1.0
+     */
+    int size() {
+        return seriesSlotList.size();
+    }
+
+    /**
+     * Series slot by its ordinal.
+     * @param ordinal ordinal of series in requested series list
+     * @return Series slot
+     * @since 2.1.0
+     */
+    SeriesSlot get(int ordinal) {
+        return seriesSlotList.get(ordinal);
+    }
+
+    /**
+     * Visit row-leaf and col-leaf values of a pivot row with their resolved series.
+     * Values of unknown series are skipped.
+     * @param values pivot values of a row
+     * @param visitor pivot value visitor
+     * @since 2.1.0
+     */
+    void visit(List<PivotRow.PivotValue> values, PivotValueVisitor visitor) {
+        for (PivotRow.PivotValue pivotValue : values) {
+            boolean columnValue;
+
+            if (ROW_LEAF.equals(pivotValue.getSource())) {
+                columnValue = false;
+            } else if (COL_LEAF.equals(pivotValue.getSource())) {
+                columnValue = true;
+            } else {
+                continue;
+            }
+
+            List<String> key = pivotValue.getKey();
+
+            int seriesPosition = key.size() - 1;
+            SeriesSlot seriesSlot = seriesPosition < 0 ? null : seriesSlots.get(key.get(seriesPosition));
+
+            // series ID is normally the last key element; fall back to scanning the whole key
+            if (seriesSlot == null) {
+                for (seriesPosition = 0; seriesPosition < key.size(); seriesPosition++) {
+                    seriesSlot = seriesSlots.get(key.get(seriesPosition));
+
+                    if (seriesSlot != null) {
+                        break;
+                    }
+                }
+            }
+
+            if (seriesSlot == null) {
+                continue;
+            }
+
+            List<String> columnLabels = columnValue ? columnLabels(key, seriesPosition) : List.of();
+
+            visitor.visit(columnValue, columnLabels, seriesSlot, pivotValue.getValue());
+        }
+    }
+
+    /**
+     * Fill row-leaf and col-leaf values of a pivot row into statistics slots.
+     * @param values pivot values of a row
+     * @return Statistics of the row
+     * @since 2.1.0
+     */
+    RowStatistics fill(List<PivotRow.PivotValue> values) {
+        RowStatistics rowStatistics = new RowStatistics(fields.length);
+
+        visit(values, (columnValue, columnLabels, seriesSlot, value) -> {
+            Statistics[] slots = columnValue
+                ? rowStatistics.column(columnLabels, fields.length)
+                : rowStatistics.rowLeaf;
+
+            Statistics statistics = slots[seriesSlot.fieldSlot];
+
+            if (statistics == null) {
+                statistics = new Statistics();
+                statistics.setField(seriesSlot.field);
+                slots[seriesSlot.fieldSlot] = statistics;
+            }
+
+            seriesSlot.apply(statistics, value);
+        });
+
+        return rowStatistics;
+    }
+
+    /**
+     * Column labels of a pivot value key, which is the key without series ID.
+     * @param key pivot value key
+     * @param seriesPosition position of series ID in the key
+     * @return Column labels
+     * @since 2.1.0
+     */
+    private static List<String> columnLabels(List<String> key, int seriesPosition) {
+        if (seriesPosition == key.size() - 1) {
+            return key.subList(0, seriesPosition);
+        }
+
+        List<String> labels = new ArrayList<>(key);
+        labels.remove(seriesPosition);
+
+        return labels;
+    }
+
+    /**
+     * Statistics of a pivot row.
+     * @since 2.1.0
+     */
+    static class RowStatistics {
+
+        private final Statistics[] rowLeaf;
+
+        private final Map<List<String>, Statistics[]> columns = new LinkedHashMap<>();
+
+        private RowStatistics(int size) {
+            this.rowLeaf = new Statistics[size];
+        }
+
+        /**
+         * Statistics of row-leaf values, in order of requested series fields.
+         * @return Statistics list
+         * @since 2.1.0
+         */
+        List<Statistics> getStatisticsList() {
+            return compact(rowLeaf);
+        }
+
+        /**
+         * Statistics of col-leaf values by column labels, in order of appearance.
+         * @return Statistics list by column labels
+         * @since 2.1.0
+         */
+        Map<List<String>, List<Statistics>> getColumns() {
+            Map<List<String>, List<Statistics>> result = new LinkedHashMap<>();
+
+            for (Map.Entry<List<String>, Statistics[]> entry : columns.entrySet()) {
+                result.put(entry.getKey(), compact(entry.getValue()));
+            }
+
+            return result;
+        }
+
+        private Statistics[] column(List<String> labels, int size) {
+            Statistics[] slots = columns.get(labels);
+
+            if (slots == null) {
+                slots = new Statistics[size];
+                columns.put(new ArrayList<>(labels), slots);
+            }
+
+            return slots;
+        }
+
+        private static List<Statistics> compact(Statistics[] slots) {
+            List<Statistics> result = new ArrayList<>(slots.length);
+
+            for (Statistics statistics : slots) {
+                if (statistics != null) {
+                    result.add(statistics);
+                }
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Pivot value visitor.
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    interface PivotValueVisitor {
+
+        /**
+         * Visit a pivot value.
+         * @param columnValue whether the value is a col-leaf value
+         * @param columnLabels column labels, empty for row-leaf value
+         * @param seriesSlot resolved series
+         * @param value pivot value
+         * @since 2.1.0
+         */
+        void visit(boolean columnValue, List<String> columnLabels, SeriesSlot seriesSlot, Number value);
+    }
+
+    /**
+     * Resolved series.
+     * @since 2.1.0
+     */
+    static class SeriesSlot {
+
+        private final int ordinal;
+
+        private final int fieldSlot;
+
+        private final String field;
+
+        private final SeriesType type;
+
+        private final String percentile;
+
+        private SeriesSlot(int ordinal, int fieldSlot, String field, Series series) {
+            this.ordinal = ordinal;
+            this.fieldSlot = fieldSlot;
+            this.field = field;
+            this.type = series.getType();
+            this.percentile = String.valueOf(series.getPercentile());
+        }
+
+        int getOrdinal() {
+            return ordinal;
+        }
+
+        String getField() {
+            return field;
+        }
+
+        SeriesType getType() {
+            return type;
+        }
+
+        String getPercentile() {
+            return percentile;
+        }
+
+        private void apply(Statistics statistics, Number value) {
+            statistics.apply(type, percentile, value);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Time Range Aligner
+ * <p>
+ * Snaps relative time ranges to absolute ones whose end is the latest boundary of a fixed grid,
+ * so that searches made within the same grid window are identical and can share cached or coalesced results.
+ * Keyword time ranges of the form "last 5 minutes" are aligned as relative ones,
+ * while other keywords are left to Graylog.
+ * Periods compared in one request are resolved to absolute time ranges ending at the same instant,
+ * whether alignment is enabled or not.
+ * @author debugrammer
+ * @since 2.1.0
+ */
+final class TimerangeAligner {
+
+    private static final Pattern LAST_KEYWORD = Pattern.compile(
+        "(?:last|past)\\s+(?:(\\d+)\\s+)?(second|minute|hour|day|week)s?"
+    );
+
+    private final long grid;
+
+    private final LongSupplier clock;
+
+    /**
+     * @param grid grid in milliseconds, or zero to leave time ranges as they are
+     */
+    TimerangeAligner(long grid) {
+        this(grid, System::currentTimeMillis);
+    }
+
+    /**
+     * @param grid grid in milliseconds, or zero to leave time ranges as they are
+     * @param clock current time in milliseconds
+     */
+    TimerangeAligner(long grid, LongSupplier clock) {
+        this.grid = grid;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether time ranges are aligned.
+     * @return true if aligned
+     * @since 2.1.0
+     */
+    boolean isEnabled() {
+        return grid > 0;
+    }
+
+    /**
+     * Align time range to the grid.
+     * @param timerange Graylog time range object
+     * @return Absolute time range aligned to the grid, or the given one if it can not be aligned
+     * @since 2.1.0
+     */
+    Timerange align(Timerange timerange) {
+        if (!isEnabled()) {
+            return timerange;
+        }
+
+        return resolve(timerange, clock.getAsLong());
+    }
+
+    /**
+     * Resolve relative and "last N units" keyword time ranges to absolute ones ending at the same instant,
+     * the latest boundary of the grid if time ranges are aligned, or now otherwise.
+     * @param timeranges Graylog time range object list
+     * @return Graylog time range object list, with time ranges which can not be resolved as they are
+     * @since 2.1.0
+     */
+    List<Timerange> resolve(List<Timerange> timeranges) {
+        long now = clock.getAsLong();
+        List<Timerange> resolved = new ArrayList<>(timeranges.size());
+
+        for (Timerange timerange : timeranges) {
+            resolved.add(resolve(timerange, now));
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Resolve relative or "last N units" keyword time range to absolute one.
+     * @param timerange Graylog time range object
+     * @param now current time in milliseconds
+     * @return Absolute time range, or the given one if it can not be resolved
+     * @since 2.1.0
+     */
+    private Timerange resolve(Timerange timerange, long now) {
+        if (timerange == null || timerange.getType() == null) {
+            return timerange;
+        }
+
+        Long range = null;
+
+        if (timerange.getType() == TimeRangeType.relative && timerange.getRange() != null) {
+            range = timerange.getRange().longValue();
+        } else if (timerange.getType() == TimeRangeType.keyword && timerange.getKeyword() != null) {
+            range = keywordRange(timerange.getKeyword());
+        }
+
+        // zero relative range searches all messages, which has no window to resolve
+        if (range == null || range <= 0) {
+            return timerange;
+        }
+
+        Instant to = Instant.ofEpochMilli(isEnabled() ? now - Math.floorMod(now, grid) : now);
+        Instant from = to.minusSeconds(range);
+
+        return Timerange.builder()
+            .type(TimeRangeType.absolute)
+            .from(from.toString())
+            .to(to.toString())
+            .build();
+    }
+
+    /**
+     * Range of a "last N units" keyword.
+     * @param keyword Graylog time range keyword
+     * @return Range in seconds, or null if the keyword is not of that form
+     * @since 2.1.0
+     */
+    private static Long keywordRange(String keyword) {
+        Matcher matcher = LAST_KEYWORD.matcher(keyword.trim().toLowerCase(Locale.ROOT));
+
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        long amount = matcher.group(1) == null ? 1L : Long.parseLong(matcher.group(1));
+        ChronoUnit unit = ChronoUnit.valueOf(matcher.group(2).toUpperCase(Locale.ROOT) + "S");
+
+        return amount * unit.getDuration().getSeconds();
+    }
+}
@@ -40,8 +40,7 @@ class GraylogLegacySearchTests {
 		LocalDateTime from = LocalDateTime.now().minusDays(1L);
 		LocalDateTime to = LocalDateTime.now();
 
-		@SuppressWarnings("unchecked")
-		List<TestMessage> messages = (List<TestMessage>) legacyGraylogSearch.getMessages(
+		List<TestMessage> messages = legacyGraylogSearch.getMessages(
 			GRAYLOG_STREAM_ID,
 			from,
 			to,
@@ -57,8 +56,7 @@ class GraylogLegacySearchTests {
 		LocalDateTime from = LocalDateTime.now().minusDays(2L);
 		LocalDateTime to = LocalDateTime.now().minusDays(1L);
 
-		@SuppressWarnings("unchecked")
-		Page<TestMessage> pagedMessages = (Page<TestMessage>) legacyGraylogSearch.getMessages(
+		Page<TestMessage> pagedMessages = legacyGraylogSearch.getMessages(
 			GRAYLOG_STREAM_ID,
 			from,
 			to,
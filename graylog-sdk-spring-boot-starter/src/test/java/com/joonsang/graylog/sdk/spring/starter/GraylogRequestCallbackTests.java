@@ -0,0 +1,135 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.protection.RetryPolicy;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraylogRequestCallbackTests {
+
+    private static final String CALLBACK_THREAD = "graylog-callback";
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService callbackExecutor =
+        Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, CALLBACK_THREAD));
+
+    /**
+     * Holds the callback thread until dependents of a future are registered,
+     * so they run where the future is completed rather than on the calling thread.
+     */
+    private final CountDownLatch callbackGate = new CountDownLatch(1);
+
+    private RetryPolicy retryPolicy;
+
+    private GraylogRequest graylogRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+
+        GraylogApiProperties properties = new GraylogApiProperties();
+        properties.setHost(server.getHostName());
+        properties.setPort(server.getPort());
+
+        retryPolicy = new RetryPolicy(properties.getRetry());
+        graylogRequest = GraylogRequest.builder()
+            .okHttpClient(new OkHttpClient())
+            .graylogApiProperties(properties)
+            .callbackExecutor(callbackExecutor)
+            .retryPolicy(retryPolicy)
+            .build();
+
+        callbackExecutor.execute(() -> {
+            try {
+                callbackGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        callbackGate.countDown();
+        callbackExecutor.shutdownNow();
+        retryPolicy.close();
+        server.shutdown();
+    }
+
+    @Test
+    void completesOnCallbackExecutor() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        AtomicReference<String> handlerThread = new AtomicReference<>();
+
+        CompletableFuture<String> future = graylogRequest.httpGetRequestAsync(searchUrl(), responseBody -> {
+            handlerThread.set(Thread.currentThread().getName());
+
+            return responseBody.string();
+        });
+        CompletableFuture<String> completedOn = future.thenApply(result -> Thread.currentThread().getName());
+
+        callbackGate.countDown();
+
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(completedOn.get(5, TimeUnit.SECONDS)).isEqualTo(CALLBACK_THREAD);
+        assertThat(handlerThread.get()).startsWith("OkHttp");
+    }
+
+    @Test
+    void failsWithHandlerFailureOnCallbackExecutor() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        IOException failure = new IOException("Unreadable response");
+
+        CompletableFuture<String> future = graylogRequest.httpGetRequestAsync(searchUrl(), responseBody -> {
+            throw failure;
+        });
+        CompletableFuture<String> failedOn = future.handle((result, throwable) -> Thread.currentThread().getName());
+
+        callbackGate.countDown();
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCause(failure);
+        assertThat(failedOn.get(5, TimeUnit.SECONDS)).isEqualTo(CALLBACK_THREAD);
+    }
+
+    @Test
+    void failsWithConnectionFailureOnCallbackExecutor() throws Exception {
+        HttpUrl url = searchUrl();
+        server.shutdown();
+
+        CompletableFuture<String> future = graylogRequest.httpGetRequestAsync(url);
+        CompletableFuture<String> failedOn = future.handle((result, throwable) -> Thread.currentThread().getName());
+
+        callbackGate.countDown();
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(failedOn.get(5, TimeUnit.SECONDS)).isEqualTo(CALLBACK_THREAD);
+    }
+
+    private HttpUrl searchUrl() {
+        return graylogRequest.getHttpUrlBuilder().addPathSegments("api/search").build();
+    }
+}
@@ -3,6 +3,7 @@ package com.joonsang.graylog.sdk.spring.starter;
 import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogSdkAutoConfiguration;
 import com.joonsang.graylog.sdk.spring.starter.constant.*;
 import com.joonsang.graylog.sdk.spring.starter.domain.*;
+import okio.Okio;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,8 +36,7 @@ public class GraylogSearchTests {
         Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
         SortConfig sort = SortConfig.builder().field("timestamp").order(SortConfigOrder.DESC).build();
 
-        @SuppressWarnings("unchecked")
-        Page<TestMessage> messages = (Page<TestMessage>) graylogSearch.getMessages(
+        Page<TestMessage> messages = graylogSearch.getMessages(
             List.of(GRAYLOG_STREAM_ID),
             timerange,
             "message:API_REQUEST_FINISHED",
@@ -49,6 +49,24 @@ public class GraylogSearchTests {
         assertThat(messages).isNotNull();
     }
 
+    @Test
+    void messagesAsync() {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+        SortConfig sort = SortConfig.builder().field("timestamp").order(SortConfigOrder.DESC).build();
+
+        Page<TestMessage> messages = graylogSearch.getMessagesAsync(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            "message:API_REQUEST_FINISHED",
+            10,
+            1,
+            sort,
+            TestMessage.class
+        ).join();
+
+        assertThat(messages).isNotNull();
+    }
+
     @Test
     void statistics() throws IOException {
         Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
@@ -74,6 +92,25 @@ public class GraylogSearchTests {
         assertThat(statistics).isNotNull();
     }
 
+    @Test
+    void statisticsAsync() {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+        List<Series> seriesList = List.of(
+            Series.builder().type(SeriesType.count).build(),
+            Series.builder().type(SeriesType.avg).field("process_time").build()
+        );
+
+        List<Statistics> statistics = graylogSearch.getStatisticsAsync(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            "message:API_REQUEST_FINISHED",
+            seriesList
+        ).join();
+
+        assertThat(statistics).isNotNull();
+    }
+
     @Test
     void terms() throws IOException {
         Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
@@ -112,6 +149,43 @@ public class GraylogSearchTests {
         assertThat(terms).isNotNull();
     }
 
+    @Test
+    void columnarTerms() throws IOException {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+        SortConfig sort = SortConfig.builder()
+            .type(SortConfigType.series)
+            .field("count()")
+            .direction(SortConfigDirection.Descending)
+            .build();
+
+        List<Series> seriesList = List.of(
+            Series.builder().type(SeriesType.count).build(),
+            Series.builder().type(SeriesType.avg).field("process_time").build()
+        );
+
+        List<SearchTypePivot> rowGroups = List.of(
+            SearchTypePivot.builder().type(SearchTypePivotType.values).field("client_id").limit(10).build()
+        );
+
+        ColumnarTerms terms = graylogSearch.getColumnarTerms(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            "message:API_REQUEST_FINISHED",
+            seriesList,
+            rowGroups,
+            List.of(),
+            sort
+        );
+
+        assertThat(terms).isNotNull();
+        assertThat(terms.toTerms().getTerms()).hasSize(terms.getSize());
+
+        if (!terms.getColumns().isEmpty()) {
+            assertThat(terms.top(terms.getColumns().get(0), 3).getSize()).isLessThanOrEqualTo(3);
+        }
+    }
+
     @Test
     void histogram() throws IOException {
         Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
@@ -140,6 +214,33 @@ public class GraylogSearchTests {
         assertThat(histogram).isNotNull();
     }
 
+    @Test
+    void columnarHistogram() throws IOException {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+        Interval interval = Interval.builder()
+            .type(IntervalType.timeunit)
+            .timeunit(IntervalTimeunit.get(IntervalTimeunit.Unit.minutes, 1))
+            .build();
+
+        List<Series> seriesList = List.of(
+            Series.builder().type(SeriesType.count).build(),
+            Series.builder().type(SeriesType.avg).field("process_time").build()
+        );
+
+        ColumnarHistogram histogram = graylogSearch.getColumnarHistogram(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            interval,
+            "message:API_REQUEST_FINISHED",
+            seriesList,
+            List.of()
+        );
+
+        assertThat(histogram).isNotNull();
+        assertThat(histogram.toHistogram().getHistogram()).hasSize(histogram.getSize());
+    }
+
     @Test
     void raw() throws IOException {
         List<String> streamIds = List.of(GRAYLOG_STREAM_ID);
@@ -181,4 +282,31 @@ public class GraylogSearchTests {
 
         assertThat(result).isNotNull();
     }
+
+    @Test
+    void rawWithResponseHandler() throws IOException {
+        SearchSpec searchSpec = SearchSpec.builder()
+            .query(
+                Query.builder()
+                    .query(SearchQuery.builder().queryString("message:API_REQUEST_FINISHED").build())
+                    .timerange(Timerange.builder().type(TimeRangeType.relative).range(300).build())
+                    .searchType(
+                        SearchType.builder()
+                            .name("chart")
+                            .series(List.of(Series.builder().type(SeriesType.count).build()))
+                            .rollup(true)
+                            .rowGroups(List.of())
+                            .columnGroups(List.of())
+                            .sort(List.of())
+                            .type(SearchTypeType.pivot)
+                            .build()
+                    )
+                    .build()
+            )
+            .build();
+
+        Long byteCount = graylogSearch.raw(searchSpec, responseBody -> responseBody.source().readAll(Okio.blackhole()));
+
+        assertThat(byteCount).isPositive();
+    }
 }
@@ -0,0 +1,68 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogCluster;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraylogWarmupTests {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final OkHttpClient okHttpClient = new OkHttpClient();
+
+    private GraylogApiProperties properties;
+
+    private GraylogCluster graylogCluster;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+
+        properties = new GraylogApiProperties();
+        properties.setHost(server.getHostName());
+        properties.setPort(server.getPort());
+        properties.getWarmup().setConnections(3);
+        properties.getWarmup().setTimeout(5000L);
+
+        graylogCluster = GraylogCluster.create(properties, okHttpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        graylogCluster.close();
+        server.shutdown();
+    }
+
+    @Test
+    void opensConnectionsToEveryNode() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("ALIVE"));
+        }
+
+        GraylogWarmup warmup = new GraylogWarmup(properties.getWarmup(), okHttpClient, graylogCluster, null, null);
+        warmup.start();
+
+        assertThat(warmup.isRunning()).isTrue();
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        assertThat(server.takeRequest().getPath()).isEqualTo("/api/system/lbstatus");
+    }
+
+    @Test
+    void startsEvenIfNodeIsUnreachable() throws IOException {
+        server.shutdown();
+
+        GraylogWarmup warmup = new GraylogWarmup(properties.getWarmup(), okHttpClient, graylogCluster, null, null);
+        warmup.start();
+
+        assertThat(warmup.isRunning()).isTrue();
+    }
+}
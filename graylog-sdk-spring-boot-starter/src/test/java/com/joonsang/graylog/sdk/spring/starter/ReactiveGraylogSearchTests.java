@@ -0,0 +1,109 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogSdkAutoConfiguration;
+import com.joonsang.graylog.sdk.spring.starter.constant.*;
+import com.joonsang.graylog.sdk.spring.starter.domain.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = {
+        GraylogSdkAutoConfiguration.class
+    },
+    properties = {
+        "spring.main.banner-mode=off"
+    }
+)
+public class ReactiveGraylogSearchTests {
+
+    @Value("${graylog.streamId}")
+    String GRAYLOG_STREAM_ID;
+
+    @Autowired
+    ReactiveGraylogSearch reactiveGraylogSearch;
+
+    @Test
+    void messages() {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+        SortConfig sort = SortConfig.builder().field("timestamp").order(SortConfigOrder.DESC).build();
+
+        Page<TestMessage> messages = reactiveGraylogSearch.getMessages(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            "message:API_REQUEST_FINISHED",
+            10,
+            1,
+            sort,
+            TestMessage.class
+        ).block();
+
+        assertThat(messages).isNotNull();
+    }
+
+    @Test
+    void messageStream() {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+        SortConfig sort = SortConfig.builder().field("timestamp").order(SortConfigOrder.DESC).build();
+
+        List<TestMessage> messages = reactiveGraylogSearch.getMessageStream(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            "message:API_REQUEST_FINISHED",
+            10,
+            sort,
+            TestMessage.class
+        ).take(25).collectList().block();
+
+        assertThat(messages).isNotNull();
+    }
+
+    @Test
+    void statistics() {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+        List<Series> seriesList = List.of(
+            Series.builder().type(SeriesType.count).build(),
+            Series.builder().type(SeriesType.avg).field("process_time").build()
+        );
+
+        List<Statistics> statistics = reactiveGraylogSearch.getStatistics(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            "message:API_REQUEST_FINISHED",
+            seriesList
+        ).block();
+
+        assertThat(statistics).isNotNull();
+    }
+
+    @Test
+    void histogram() {
+        Timerange timerange = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+        Interval interval = Interval.builder()
+            .type(IntervalType.timeunit)
+            .timeunit(IntervalTimeunit.get(IntervalTimeunit.Unit.minutes, 1))
+            .build();
+
+        List<Series> seriesList = List.of(
+            Series.builder().type(SeriesType.count).build()
+        );
+
+        Histogram histogram = reactiveGraylogSearch.getHistogram(
+            List.of(GRAYLOG_STREAM_ID),
+            timerange,
+            interval,
+            "message:API_REQUEST_FINISHED",
+            seriesList,
+            List.of()
+        ).block();
+
+        assertThat(histogram).isNotNull();
+    }
+}
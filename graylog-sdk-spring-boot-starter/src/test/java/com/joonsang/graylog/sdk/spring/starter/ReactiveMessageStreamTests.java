@@ -0,0 +1,145 @@
+package com.joonsang.graylog.sdk.spring.starter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import com.joonsang.graylog.sdk.spring.starter.search.Search;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveMessageStreamTests {
+
+    private static final Timerange LAST_HOUR = Timerange.builder().type(TimeRangeType.relative).range(3600).build();
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PageDispatcher dispatcher = new PageDispatcher();
+
+    private ReactiveGraylogSearch reactiveGraylogSearch;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.setDispatcher(dispatcher);
+        server.start();
+
+        GraylogApiProperties properties = new GraylogApiProperties();
+        properties.setHost(server.getHostName());
+        properties.setPort(server.getPort());
+
+        reactiveGraylogSearch = new ReactiveGraylogSearch(
+            new Search(new GraylogRequest(new OkHttpClient(), properties), properties, objectMapper)
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void stopsAtTotalCount() {
+        dispatcher.enqueue(5, "m1", "m2");
+        dispatcher.enqueue(5, "m3", "m4");
+        dispatcher.enqueue(5, "m5");
+
+        assertThat(streamMessages(2)).containsExactly("m1", "m2", "m3", "m4", "m5");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        assertThat(dispatcher.offsets).containsExactly(0, 2, 4);
+        assertThat(dispatcher.limits).containsExactly(2, 2, 2);
+    }
+
+    @Test
+    void stopsOnEmptyPage() {
+        dispatcher.enqueue(10, "m1", "m2");
+        dispatcher.enqueue(10, "m3");
+        dispatcher.enqueue(10);
+
+        assertThat(streamMessages(2)).containsExactly("m1", "m2", "m3");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        assertThat(dispatcher.offsets).containsExactly(0, 2, 3);
+    }
+
+    @Test
+    void requestsOnlyFirstPageWhenItHoldsEveryMessage() {
+        dispatcher.enqueue(2, "m1", "m2");
+
+        assertThat(streamMessages(5)).containsExactly("m1", "m2");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        assertThat(dispatcher.offsets).containsExactly(0);
+    }
+
+    private List<String> streamMessages(int pageSize) {
+        return reactiveGraylogSearch.getMessageStream(List.of(), LAST_HOUR, "*", pageSize, null, TestMessage.class)
+            .map(TestMessage::getMessage)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Answers messages search type of each synchronous search with the next enqueued page,
+     * recording requested offsets and limits.
+     */
+    private class PageDispatcher extends Dispatcher {
+
+        private final Queue<ObjectNode> pages = new ConcurrentLinkedQueue<>();
+
+        private final Queue<Integer> offsets = new ConcurrentLinkedQueue<>();
+
+        private final Queue<Integer> limits = new ConcurrentLinkedQueue<>();
+
+        private void enqueue(int totalResults, String... messages) {
+            ObjectNode page = objectMapper.createObjectNode();
+            ArrayNode entries = page.putArray("messages");
+
+            for (String message : messages) {
+                ObjectNode entry = entries.addObject();
+                entry.putObject("message").put("message", message).put("source", "example.org");
+                entry.put("index", "graylog_0");
+            }
+
+            page.put("total_results", totalResults);
+            pages.add(page);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            try {
+                JsonNode query = objectMapper.readTree(request.getBody().readUtf8()).path("queries").path(0);
+                JsonNode searchType = query.path("search_types").path(0);
+
+                offsets.add(searchType.path("offset").asInt());
+                limits.add(searchType.path("limit").asInt());
+
+                ObjectNode response = objectMapper.createObjectNode();
+                response.putObject("results")
+                    .putObject(query.path("id").asText())
+                    .putObject("search_types")
+                    .set(searchType.path("id").asText(), pages.remove());
+
+                return new MockResponse().setBody(objectMapper.writeValueAsString(response));
+            } catch (IOException e) {
+                return new MockResponse().setResponseCode(400);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.joonsang.graylog.sdk.spring.starter.autoconfigure;
+
+import com.joonsang.graylog.sdk.spring.starter.GraylogSearch;
+import com.joonsang.graylog.sdk.spring.starter.ReactiveGraylogSearch;
+import com.joonsang.graylog.sdk.spring.starter.search.Search;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraylogSdkAutoConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(
+            AutoConfigurations.of(GraylogSdkAutoConfiguration.class, ReactiveGraylogSdkAutoConfiguration.class)
+        );
+
+    @Test
+    void sharesOneSearchClientBetweenBlockingAndReactiveSearch() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(Search.class);
+            assertThat(context).hasSingleBean(GraylogSearch.class);
+            assertThat(context).hasSingleBean(ReactiveGraylogSearch.class);
+        });
+    }
+
+    @Test
+    void skipsReactiveSearchWithoutReactor() {
+        contextRunner.withClassLoader(new FilteredClassLoader("reactor.core"))
+            .run(context -> {
+                assertThat(context).hasSingleBean(GraylogSearch.class);
+                assertThat(context).doesNotHaveBean(ReactiveGraylogSearch.class);
+            });
+    }
+
+    @Test
+    void configuresHttpClientFromTransportProperties() {
+        contextRunner
+            .withPropertyValues(
+                "graylog.sdk.api.timeout=5000",
+                "graylog.sdk.api.transport.read-timeout=30000",
+                "graylog.sdk.api.transport.max-requests=16",
+                "graylog.sdk.api.transport.max-requests-per-host=8",
+                "graylog.sdk.api.transport.protocol=h2c"
+            )
+            .run(context -> {
+                OkHttpClient okHttpClient = context.getBean("graylogOkHttpClient", OkHttpClient.class);
+
+                assertThat(okHttpClient.connectTimeoutMillis()).isEqualTo(5000);
+                assertThat(okHttpClient.readTimeoutMillis()).isEqualTo(30000);
+                assertThat(okHttpClient.dispatcher().getMaxRequests()).isEqualTo(16);
+                assertThat(okHttpClient.dispatcher().getMaxRequestsPerHost()).isEqualTo(8);
+                assertThat(okHttpClient.protocols()).containsExactly(Protocol.H2_PRIOR_KNOWLEDGE);
+            });
+    }
+
+    @Test
+    void prefersHttp2WithHttp11Fallback() {
+        contextRunner.run(context -> {
+            OkHttpClient okHttpClient = context.getBean("graylogOkHttpClient", OkHttpClient.class);
+
+            assertThat(okHttpClient.protocols()).containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        });
+    }
+}
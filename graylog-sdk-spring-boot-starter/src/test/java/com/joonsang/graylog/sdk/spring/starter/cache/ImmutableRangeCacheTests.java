@@ -0,0 +1,102 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.LegacyGraylogSdkProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImmutableRangeCacheTests {
+
+    private static final long TTL = 60000L;
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2020-07-31T12:00:00Z").toEpochMilli());
+
+    @TempDir
+    Path directory;
+
+    private LegacyGraylogSdkProperties.Cache properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LegacyGraylogSdkProperties.Cache();
+        properties.setEnabled(true);
+        properties.setTtl(TTL);
+        properties.setDirectory(directory.toString());
+    }
+
+    @Test
+    void cachesOnlyTimeRangesEndedLongerThanIngestLagAgo() {
+        properties.setIngestLag(3600000L);
+        ImmutableRangeCache cache = new ImmutableRangeCache(properties, now::get);
+
+        assertThat(cache.isCached("2020-07-31T10:59:59Z")).isTrue();
+        assertThat(cache.isCached("2020-07-31 10:59:59")).isTrue();
+        assertThat(cache.isCached("2020-07-31T11:00:01Z")).isFalse();
+        assertThat(cache.isCached("yesterday")).isFalse();
+    }
+
+    @Test
+    void expiresInMemoryWhenWrittenTtlAgoEvenIfRead() {
+        properties.setDirectory(null);
+        ImmutableRangeCache cache = new ImmutableRangeCache(properties, now::get);
+
+        cache.put("search", new byte[] {1});
+
+        now.addAndGet(TTL);
+        assertThat(cache.get("search")).containsExactly(1);
+
+        now.addAndGet(1L);
+        assertThat(cache.get("search")).isNull();
+    }
+
+    @Test
+    void keepsWriteTimeOfFileWhenReadBackFromDisk() {
+        new ImmutableRangeCache(properties, now::get).put("search", new byte[] {1});
+
+        now.addAndGet(TTL - 1L);
+
+        ImmutableRangeCache restarted = new ImmutableRangeCache(properties, now::get);
+
+        assertThat(restarted.get("search")).containsExactly(1);
+
+        now.addAndGet(2L);
+        assertThat(restarted.get("search")).isNull();
+        assertThat(jsonFiles()).isZero();
+    }
+
+    @Test
+    void deletesOldestFilesBeyondMaxDiskWeight() {
+        properties.setMaxDiskWeight(250L);
+        ImmutableRangeCache cache = new ImmutableRangeCache(properties, now::get);
+
+        for (String searchKey : new String[] {"first", "second", "third"}) {
+            cache.put(searchKey, new byte[100]);
+            now.addAndGet(1000L);
+        }
+
+        assertThat(jsonFiles()).isEqualTo(2L);
+
+        ImmutableRangeCache restarted = new ImmutableRangeCache(properties, now::get);
+
+        assertThat(restarted.get("first")).isNull();
+        assertThat(restarted.get("second")).hasSize(100);
+        assertThat(restarted.get("third")).hasSize(100);
+    }
+
+    private long jsonFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".json")).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
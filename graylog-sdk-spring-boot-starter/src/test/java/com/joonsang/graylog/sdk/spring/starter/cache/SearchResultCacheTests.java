@@ -0,0 +1,124 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTests {
+
+    private static final SearchKey KEY = SearchKey.of("search", "statistics");
+
+    private static final ResponseHandler<String> FIRST_BYTE = responseBody -> responseBody.source().readUtf8(1);
+
+    private GraylogApiProperties.Cache properties;
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GraylogApiProperties.Cache();
+        properties.setEnabled(true);
+        properties.setMaxWeight(80000L);
+        cache = new SearchResultCache(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void cachesHandledResult() throws IOException {
+        String result = cache.recording(KEY, ResponseBody::string).handle(ResponseBody.create("small", null));
+
+        assertThat(result).isEqualTo("small");
+        assertThat(cache.getIfPresent(KEY)).isEqualTo("small");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void weighsWholeResponseOfKnownLength() throws IOException {
+        cache.recording(KEY, FIRST_BYTE).handle(ResponseBody.create(StringUtils.repeat('a', 100000), null));
+
+        assertThat(cache.getIfPresent(KEY)).isNull();
+    }
+
+    @Test
+    void weighsWholeResponseOfUnknownLength() throws IOException {
+        ResponseBody chunked = ResponseBody.create(new Buffer().writeUtf8(StringUtils.repeat('a', 100000)), null, -1L);
+
+        cache.recording(KEY, FIRST_BYTE).handle(chunked);
+
+        assertThat(cache.getIfPresent(KEY)).isNull();
+
+        ResponseBody small = ResponseBody.create(new Buffer().writeUtf8("small"), null, -1L);
+
+        cache.recording(KEY, FIRST_BYTE).handle(small);
+
+        assertThat(cache.getIfPresent(KEY)).isEqualTo("s");
+    }
+
+    @Test
+    void leavesHandlerAsItIsWhenDisabled() {
+        properties.setEnabled(false);
+        cache = new SearchResultCache(properties);
+
+        assertThat(cache.recording(KEY, FIRST_BYTE)).isSameAs(FIRST_BYTE);
+        assertThat(cache.getIfPresent(KEY)).isNull();
+    }
+
+    @Test
+    void expiresResultAfterTimeToLive() throws Exception {
+        properties.setTtl(50L);
+        cache = new SearchResultCache(properties);
+
+        cache.recording(KEY, ResponseBody::string).handle(ResponseBody.create("small", null));
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(cache.getIfPresent(KEY)).isNull();
+    }
+
+    @Test
+    void refreshesOldResultInBackgroundOnce() throws Exception {
+        properties.setRefreshAfter(1L);
+        cache = new SearchResultCache(properties);
+
+        cache.recording(KEY, ResponseBody::string).handle(ResponseBody.create("old", null));
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        SearchResultCache.Refresh refresh = () -> {
+            refreshes.incrementAndGet();
+            Uninterruptibles.awaitUninterruptibly(release);
+            cache.recording(KEY, ResponseBody::string).handle(ResponseBody.create("new", null));
+        };
+
+        assertThat(cache.getIfPresent(KEY, refresh)).isEqualTo("old");
+        assertThat(cache.getIfPresent(KEY, refresh)).isEqualTo("old");
+
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!"new".equals(cache.getIfPresent(KEY)) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThat(cache.getIfPresent(KEY)).isEqualTo("new");
+        assertThat(refreshes.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.joonsang.graylog.sdk.spring.starter.cache;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class SingleFlightTests {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void sharesResultOfCallInFlight() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.call("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                Uninterruptibles.awaitUninterruptibly(release);
+
+                return "result";
+            }));
+
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            AtomicReference<Thread> secondThread = new AtomicReference<>();
+            Future<String> second = executor.submit(() -> {
+                secondThread.set(Thread.currentThread());
+
+                return singleFlight.call("key", () -> "second call");
+            });
+
+            // the second caller parks only while waiting for the call in flight
+            while (secondThread.get() == null || secondThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            assertThat(calls).hasValue(1);
+            assertThat(singleFlight.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sharesFailureAndForgetsFinishedCall() {
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.callAsync("key", () -> inFlight);
+        CompletableFuture<String> second = singleFlight.callAsync("key", () -> CompletableFuture.completedFuture("x"));
+
+        inFlight.completeExceptionally(new IOException("server failure"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(singleFlight.size()).isZero();
+        assertThatIOException().isThrownBy(() -> singleFlight.call("key", () -> {
+            throw new IOException("next call");
+        })).withMessage("next call");
+    }
+
+    @Test
+    void keepsCallsOfDifferentKeysApart() throws IOException {
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        singleFlight.callAsync("key", () -> inFlight);
+
+        assertThat(singleFlight.call("other key", () -> "other result")).isEqualTo("other result");
+        assertThat(singleFlight.size()).isEqualTo(1);
+
+        inFlight.complete("result");
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void cancellingSharedFutureLeavesCallRunning() {
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.callAsync("key", () -> inFlight);
+        CompletableFuture<String> second = singleFlight.callAsync("key", () -> inFlight);
+
+        first.cancel(false);
+        inFlight.complete("result");
+
+        assertThat(inFlight).isNotCancelled();
+        assertThat(second).isCompletedWithValue("result");
+    }
+}
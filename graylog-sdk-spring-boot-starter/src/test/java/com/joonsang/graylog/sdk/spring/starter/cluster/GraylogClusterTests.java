@@ -0,0 +1,180 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraylogClusterTests {
+
+    private final MockWebServer failing = new MockWebServer();
+
+    private final MockWebServer healthy = new MockWebServer();
+
+    private final NodeDispatcher failingDispatcher = new NodeDispatcher();
+
+    private GraylogCluster graylogCluster;
+
+    private GraylogRequest graylogRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        failingDispatcher.healthy = false;
+        failing.setDispatcher(failingDispatcher);
+        healthy.setDispatcher(new NodeDispatcher());
+        failing.start();
+        healthy.start();
+
+        GraylogApiProperties properties = new GraylogApiProperties();
+        properties.getCluster().setNodes(List.of(url(failing), url(healthy)));
+        properties.getCluster().setFailureThreshold(2);
+        properties.getCluster().setEjectionTime(200L);
+        properties.getCluster().setProbeInterval(20L);
+
+        OkHttpClient okHttpClient = new OkHttpClient();
+        graylogCluster = GraylogCluster.create(properties, okHttpClient);
+        graylogRequest = GraylogRequest.builder()
+            .okHttpClient(okHttpClient)
+            .graylogApiProperties(properties)
+            .graylogCluster(graylogCluster)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        graylogCluster.close();
+        failing.shutdown();
+        healthy.shutdown();
+    }
+
+    @Test
+    void ejectsNodeFailingConsecutively() throws IOException {
+        GraylogNode failingNode = graylogCluster.getNodes().get(0);
+
+        for (int request = 0; request < 4; request++) {
+            try {
+                graylogRequest.httpGetRequest(searchUrl());
+            } catch (GraylogServerException e) {
+                assertThat(e).hasMessageContaining("500");
+            }
+        }
+
+        assertThat(failingNode.isEjected()).isTrue();
+        assertThat(failingDispatcher.searches).isEqualTo(2);
+
+        for (int request = 0; request < 4; request++) {
+            assertThat(graylogRequest.httpGetRequest(searchUrl())).isEqualTo("ok");
+        }
+
+        assertThat(failingDispatcher.searches).isEqualTo(2);
+    }
+
+    @Test
+    void reinstatesEjectedNodeOnceProbeSucceeds() throws Exception {
+        GraylogNode failingNode = graylogCluster.getNodes().get(0);
+
+        failUntilEjected();
+        failingDispatcher.healthy = true;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (failingNode.isEjected() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThat(failingNode.isEjected()).isFalse();
+        assertThat(failingDispatcher.probes).isPositive();
+
+        int searches = failingDispatcher.searches;
+
+        graylogRequest.httpGetRequest(searchUrl());
+        graylogRequest.httpGetRequest(searchUrl());
+
+        assertThat(failingDispatcher.searches).isEqualTo(searches + 1);
+    }
+
+    @Test
+    void keepsNodeEjectedWhileProbeFails() throws Exception {
+        GraylogNode failingNode = graylogCluster.getNodes().get(0);
+
+        failUntilEjected();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (failingDispatcher.probes < 2 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThat(failingDispatcher.probes).isGreaterThanOrEqualTo(2);
+        assertThat(failingNode.isEjected()).isTrue();
+    }
+
+    @Test
+    void ejectsNoMoreThanMaxEjectionPercentOfNodes() {
+        healthy.setDispatcher(failingDispatcher);
+
+        for (int request = 0; request < 8; request++) {
+            assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+                .isInstanceOf(GraylogServerException.class);
+        }
+
+        assertThat(graylogCluster.getNodes().stream().filter(GraylogNode::isEjected)).hasSize(1);
+    }
+
+    private void failUntilEjected() {
+        GraylogNode failingNode = graylogCluster.getNodes().get(0);
+
+        while (!failingNode.isEjected()) {
+            try {
+                graylogRequest.httpGetRequest(searchUrl());
+            } catch (IOException e) {
+                // failing node answers with server error until it is ejected
+            }
+        }
+    }
+
+    private HttpUrl searchUrl() {
+        return graylogRequest.getHttpUrlBuilder().addPathSegments("api/search").build();
+    }
+
+    private static String url(MockWebServer server) {
+        return "http://" + server.getHostName() + ":" + server.getPort();
+    }
+
+    private static class NodeDispatcher extends Dispatcher {
+
+        private volatile boolean healthy = true;
+
+        private volatile int searches;
+
+        private volatile int probes;
+
+        @Override
+        public synchronized MockResponse dispatch(RecordedRequest request) {
+            if ("/api/system/lbstatus".equals(request.getPath())) {
+                probes++;
+
+                return new MockResponse().setResponseCode(healthy ? 200 : 503).setBody(healthy ? "ALIVE" : "DEAD");
+            }
+
+            searches++;
+
+            return healthy ? new MockResponse().setBody("ok") : new MockResponse().setResponseCode(500);
+        }
+    }
+}
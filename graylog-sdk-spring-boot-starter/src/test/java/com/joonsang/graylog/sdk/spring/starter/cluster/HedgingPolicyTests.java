@@ -0,0 +1,170 @@
+package com.joonsang.graylog.sdk.spring.starter.cluster;
+
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingPolicyTests {
+
+    private static final int WARM_UP_REQUESTS = 24;
+
+    private final List<MockWebServer> servers = new ArrayList<>();
+
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+
+        for (MockWebServer server : servers) {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    void hedgesSlowRequestToAnotherNode() throws IOException {
+        SlowDispatcher slow = new SlowDispatcher(2000L);
+        SlowDispatcher fast = new SlowDispatcher(2000L);
+        GraylogRequest graylogRequest = graylogRequest(100, start(slow), start(fast));
+
+        warmUp(graylogRequest);
+        slow.slow = true;
+
+        int fastRequests = fast.requests;
+
+        for (int request = 0; request < 4; request++) {
+            int slowRequests = slow.requests;
+            long startedAt = System.nanoTime();
+
+            assertThat(graylogRequest.httpGetRequest(searchUrl(graylogRequest))).isEqualTo("ok");
+
+            if (slow.requests > slowRequests) {
+                assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.MILLISECONDS.toNanos(1000));
+                assertThat(fast.requests).isEqualTo(fastRequests + 1);
+
+                return;
+            }
+
+            fastRequests = fast.requests;
+        }
+
+        throw new AssertionError("No request was sent to the slow node.");
+    }
+
+    @Test
+    void hedgesNoMoreThanBudgetAllows() throws IOException {
+        SlowDispatcher dispatcher = new SlowDispatcher(300L);
+        GraylogRequest graylogRequest = graylogRequest(10, start(dispatcher));
+
+        warmUp(graylogRequest);
+        dispatcher.slow = true;
+
+        for (int request = 0; request < 4; request++) {
+            assertThat(graylogRequest.httpGetRequest(searchUrl(graylogRequest))).isEqualTo("ok");
+        }
+
+        // 24 requests earn 2.4 hedges, so only two of four slow requests are hedged
+        assertThat(dispatcher.requests).isEqualTo(WARM_UP_REQUESTS + 4 + 2);
+    }
+
+    @Test
+    void waitsForEnoughLatencySamplesBeforeHedging() throws IOException {
+        SlowDispatcher dispatcher = new SlowDispatcher(100L);
+        GraylogRequest graylogRequest = graylogRequest(100, start(dispatcher));
+
+        dispatcher.slow = true;
+
+        for (int request = 0; request < 3; request++) {
+            graylogRequest.httpGetRequest(searchUrl(graylogRequest));
+        }
+
+        assertThat(dispatcher.requests).isEqualTo(3);
+    }
+
+    private GraylogRequest graylogRequest(int budgetPercent, MockWebServer... nodes) {
+        GraylogApiProperties properties = new GraylogApiProperties();
+        List<String> urls = new ArrayList<>();
+
+        for (MockWebServer node : nodes) {
+            urls.add("http://" + node.getHostName() + ":" + node.getPort());
+        }
+
+        properties.getCluster().setNodes(urls);
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinDelay(50L);
+        properties.getHedging().setBudgetPercent(budgetPercent);
+
+        OkHttpClient okHttpClient = new OkHttpClient();
+        GraylogCluster graylogCluster = GraylogCluster.create(properties, okHttpClient);
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(properties.getHedging());
+
+        closeables.add(graylogCluster);
+        closeables.add(hedgingPolicy);
+
+        return GraylogRequest.builder()
+            .okHttpClient(okHttpClient)
+            .graylogApiProperties(properties)
+            .graylogCluster(graylogCluster)
+            .hedgingPolicy(hedgingPolicy)
+            .build();
+    }
+
+    private MockWebServer start(Dispatcher dispatcher) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        server.start();
+        servers.add(server);
+
+        return server;
+    }
+
+    private static void warmUp(GraylogRequest graylogRequest) throws IOException {
+        for (int request = 0; request < WARM_UP_REQUESTS; request++) {
+            graylogRequest.httpGetRequest(searchUrl(graylogRequest));
+        }
+    }
+
+    private static HttpUrl searchUrl(GraylogRequest graylogRequest) {
+        return graylogRequest.getHttpUrlBuilder().addPathSegments("api/search").build();
+    }
+
+    private static class SlowDispatcher extends Dispatcher {
+
+        private final long delayMillis;
+
+        private volatile boolean slow;
+
+        private volatile int requests;
+
+        private SlowDispatcher(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            synchronized (this) {
+                requests++;
+            }
+
+            MockResponse response = new MockResponse().setBody("ok");
+
+            return slow ? response.setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS) : response;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.joonsang.graylog.sdk.spring.starter.id;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.IdGeneration;
+import com.joonsang.graylog.sdk.spring.starter.constant.SearchTypeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Query;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdStrategiesTests {
+
+    private final IdStrategy deterministic = IdStrategies.of(IdGeneration.DETERMINISTIC);
+
+    @Test
+    void assignsIdOfGivenStrategyWithoutChangingFallback() {
+        IdStrategy fallback = IdStrategies.get();
+        SearchSpec searchSpec = searchSpec("messages");
+
+        String id = searchSpec.assignId(deterministic);
+
+        assertThat(id).isEqualTo(searchSpec("messages").assignId(deterministic));
+        assertThat(searchSpec.getId()).isEqualTo(id);
+        assertThat(IdStrategies.get()).isSameAs(fallback);
+    }
+
+    @Test
+    void keepsIdAlreadyAssigned() {
+        SearchSpec searchSpec = SearchSpec.builder().id("5f23aa2a0f4b8a3b4f7a0d11").build();
+
+        assertThat(searchSpec.assignId(deterministic)).isEqualTo("5f23aa2a0f4b8a3b4f7a0d11");
+    }
+
+    @Test
+    void derivesDistinctIdsFromDistinctContent() {
+        assertThat(searchSpec("messages").assignId(deterministic))
+            .hasSize(24)
+            .isNotEqualTo(searchSpec("chart").assignId(deterministic));
+        assertThat(searchType("messages").assignId(deterministic))
+            .isNotEqualTo(searchType("chart").assignId(deterministic));
+    }
+
+    @Test
+    void generatesDistinctIdsOfSameContentUnlessDeterministic() {
+        IdStrategy sequential = IdStrategies.of(IdGeneration.SEQUENTIAL);
+        IdStrategy random = IdStrategies.of(IdGeneration.RANDOM);
+
+        assertThat(searchType("chart").assignId(sequential)).isNotEqualTo(searchType("chart").assignId(sequential));
+        assertThat(searchType("chart").assignId(random)).isNotEqualTo(searchType("chart").assignId(random));
+    }
+
+    private static SearchSpec searchSpec(String searchTypeName) {
+        return SearchSpec.builder()
+            .query(Query.builder().searchType(searchType(searchTypeName)).build())
+            .build();
+    }
+
+    private static SearchType searchType(String name) {
+        return SearchType.builder().name(name).type(SearchTypeType.messages).build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.joonsang.graylog.sdk.spring.starter.protection;
+
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cluster.GraylogCluster;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogRequestRejectedException;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestProtectionTests {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private GraylogApiProperties properties;
+
+    private GraylogCluster graylogCluster;
+
+    private RequestProtection requestProtection;
+
+    private GraylogRequest graylogRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+
+        properties = new GraylogApiProperties();
+        properties.setHost(server.getHostName());
+        properties.setPort(server.getPort());
+        properties.getProtection().setEnabled(true);
+        properties.getProtection().setMinimumCalls(4);
+        properties.getProtection().setSlidingWindowSize(4);
+        properties.getProtection().setOpenTime(200L);
+        properties.getProtection().setHalfOpenCalls(2);
+        properties.getProtection().setInitialLimit(2);
+        properties.getProtection().setMinLimit(1);
+        properties.getProtection().setMaxLimit(10);
+        properties.getProtection().setBackoffRatio(0.5);
+        properties.getProtection().setLatencyTolerance(1000.0);
+
+        build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        graylogCluster.close();
+        server.shutdown();
+    }
+
+    @Test
+    void opensCircuitBreakerAndRejectsWithoutSending() {
+        enqueue(4, 500);
+
+        for (int request = 0; request < 4; request++) {
+            assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+                .isInstanceOf(GraylogServerException.class);
+        }
+
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+            .isInstanceOf(GraylogRequestRejectedException.class)
+            .isNotInstanceOf(GraylogServerException.class);
+        assertThat(server.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void closesCircuitBreakerWhenHalfOpenCallsSucceed() throws Exception {
+        enqueue(4, 500);
+        enqueue(2, 200);
+
+        failUntilOpen();
+        TimeUnit.MILLISECONDS.sleep(250);
+
+        assertThat(graylogRequest.httpGetRequest(searchUrl())).isEqualTo("ok");
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(graylogRequest.httpGetRequest(searchUrl())).isEqualTo("ok");
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensCircuitBreakerAgainWhenHalfOpenCallFails() throws Exception {
+        enqueue(5, 500);
+
+        failUntilOpen();
+        TimeUnit.MILLISECONDS.sleep(250);
+
+        assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+            .isInstanceOf(GraylogServerException.class);
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+            .isInstanceOf(GraylogRequestRejectedException.class);
+    }
+
+    @Test
+    void countsTooManyRequestsAgainstCircuitBreaker() {
+        enqueue(4, 429);
+
+        for (int request = 0; request < 4; request++) {
+            assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+                .isInstanceOf(GraylogServerException.class);
+        }
+
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void growsConcurrencyLimitWhileInUse() throws IOException {
+        enqueue(3, 200);
+
+        for (int request = 0; request < 3; request++) {
+            graylogRequest.httpGetRequest(searchUrl());
+        }
+
+        // a single request in flight uses a limit of two, but not a limit of three
+        assertThat(requestProtection.getConcurrencyLimiter().getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void shrinksConcurrencyLimitOnOverloadResponses() {
+        properties.getProtection().setInitialLimit(8);
+        properties.getProtection().setMinimumCalls(10);
+        properties.getProtection().setSlidingWindowSize(10);
+        build();
+
+        enqueue(1, 429);
+        enqueue(1, 503);
+
+        for (int request = 0; request < 2; request++) {
+            assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+                .isInstanceOf(GraylogServerException.class);
+        }
+
+        assertThat(requestProtection.getConcurrencyLimiter().getLimit()).isEqualTo(2);
+        assertThat(requestProtection.getConcurrencyLimiter().getInFlight()).isZero();
+    }
+
+    @Test
+    void rejectsAsynchronousRequestOverConcurrencyLimit() throws Exception {
+        properties.getProtection().setInitialLimit(1);
+        build();
+
+        server.enqueue(new MockResponse().setBody("ok").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<String> first = graylogRequest.httpGetRequestAsync(searchUrl());
+        CompletableFuture<String> second = graylogRequest.httpGetRequestAsync(searchUrl());
+
+        assertThatThrownBy(second::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(GraylogRequestRejectedException.class);
+        assertThat(first.get()).isEqualTo("ok");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    private void build() {
+        if (graylogCluster != null) {
+            graylogCluster.close();
+        }
+
+        OkHttpClient okHttpClient = new OkHttpClient();
+
+        graylogCluster = GraylogCluster.create(properties, okHttpClient);
+        requestProtection = new RequestProtection(properties.getProtection());
+        graylogRequest = GraylogRequest.builder()
+            .okHttpClient(okHttpClient)
+            .graylogApiProperties(properties)
+            .graylogCluster(graylogCluster)
+            .requestProtection(requestProtection)
+            .build();
+    }
+
+    private void failUntilOpen() {
+        while (circuitBreaker().getState() != CircuitBreaker.State.OPEN) {
+            assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+                .isInstanceOf(GraylogServerException.class);
+        }
+    }
+
+    private void enqueue(int count, int code) {
+        for (int response = 0; response < count; response++) {
+            server.enqueue(new MockResponse().setResponseCode(code).setBody(code == 200 ? "ok" : ""));
+        }
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        Request request = new Request.Builder().url(searchUrl()).build();
+
+        return requestProtection.getCircuitBreaker(graylogCluster.getNodes().get(0), request);
+    }
+
+    private HttpUrl searchUrl() {
+        return graylogRequest.getHttpUrlBuilder().addPathSegments("api/search").build();
+    }
+}
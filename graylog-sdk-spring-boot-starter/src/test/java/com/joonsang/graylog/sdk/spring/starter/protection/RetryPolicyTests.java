@@ -0,0 +1,210 @@
+package com.joonsang.graylog.sdk.spring.starter.protection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.ResponseHandler;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryPolicyTests {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private GraylogApiProperties properties;
+
+    private RetryPolicy retryPolicy;
+
+    private GraylogRequest graylogRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+
+        properties = new GraylogApiProperties();
+        properties.setHost(server.getHostName());
+        properties.setPort(server.getPort());
+        properties.getRetry().setEnabled(true);
+        properties.getRetry().setInitialBackoff(10L);
+        properties.getRetry().setMaxBackoff(20L);
+
+        build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        retryPolicy.close();
+        server.shutdown();
+    }
+
+    @Test
+    void retriesRetryableStatusUntilAnswered() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertThat(graylogRequest.httpGetRequest(searchUrl())).isEqualTo("ok");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        for (int response = 0; response < 4; response++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+            .isInstanceOf(GraylogServerException.class)
+            .hasMessageContaining("503");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryOtherStatuses() {
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+            .isInstanceOf(GraylogServerException.class);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesOnlyReadOnlyPosts() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        RequestBody requestBody = RequestBody.create("{}", MediaType.get("application/json"));
+
+        assertThatThrownBy(() -> graylogRequest.httpPostRequest(url("api/views/search"), requestBody))
+            .isInstanceOf(GraylogServerException.class);
+        assertThat(graylogRequest.httpPostRequest(url("api/views/search/sync"), requestBody)).isEqualTo("ok");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void waitsAsLongAsRetryAfterAsks() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        long startedAt = System.nanoTime();
+
+        assertThat(graylogRequest.httpGetRequest(searchUrl())).isEqualTo("ok");
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test
+    void doesNotRetryWhenRetryAfterExceedsDeadline() {
+        properties.getRetry().setDeadline(500L);
+        build();
+
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "5"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        long startedAt = System.nanoTime();
+
+        assertThatThrownBy(() -> graylogRequest.httpGetRequest(searchUrl()))
+            .isInstanceOf(GraylogServerException.class);
+        assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesAsynchronousRequests() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(504));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertThat(graylogRequest.httpGetRequestAsync(searchUrl()).get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotRetryMalformedResponseBody() {
+        server.enqueue(new MockResponse().setBody("{\"execution\":"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        RequestBody requestBody = RequestBody.create("{}", MediaType.get("application/json"));
+        ResponseHandler<JsonNode> readTree = responseBody -> new ObjectMapper().readTree(responseBody.byteStream());
+
+        assertThatThrownBy(() -> graylogRequest.httpPostRequest(url("api/views/search/sync"), requestBody, readTree))
+            .isInstanceOf(JsonProcessingException.class);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRetryMalformedResponseBodyAsynchronously() {
+        server.enqueue(new MockResponse().setBody("{\"execution\":"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        ResponseHandler<JsonNode> readTree = responseBody -> new ObjectMapper().readTree(responseBody.byteStream());
+
+        CompletableFuture<JsonNode> future = graylogRequest.httpGetRequestAsync(searchUrl(), readTree);
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(JsonProcessingException.class);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndDate() {
+        String inOneMinute = ZonedDateTime.now(ZoneOffset.UTC)
+            .plusMinutes(1)
+            .format(DateTimeFormatter.RFC_1123_DATE_TIME);
+
+        assertThat(RetryPolicy.parseRetryAfter("2")).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+        assertThat(RetryPolicy.parseRetryAfter(inOneMinute))
+            .isBetween(TimeUnit.SECONDS.toNanos(58), TimeUnit.SECONDS.toNanos(60));
+        assertThat(RetryPolicy.parseRetryAfter("soon")).isEqualTo(-1);
+        assertThat(RetryPolicy.parseRetryAfter(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void capsBackoffAtMaxBackoff() {
+        for (int attempt = 1; attempt < 10; attempt++) {
+            assertThat(retryPolicy.backoffNanos(attempt)).isBetween(0L, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+    }
+
+    private void build() {
+        if (retryPolicy != null) {
+            retryPolicy.close();
+        }
+
+        retryPolicy = new RetryPolicy(properties.getRetry());
+        graylogRequest = GraylogRequest.builder()
+            .okHttpClient(new OkHttpClient())
+            .graylogApiProperties(properties)
+            .retryPolicy(retryPolicy)
+            .build();
+    }
+
+    private HttpUrl searchUrl() {
+        return url("api/search");
+    }
+
+    private HttpUrl url(String path) {
+        return graylogRequest.getHttpUrlBuilder().addPathSegments(path).build();
+    }
+}
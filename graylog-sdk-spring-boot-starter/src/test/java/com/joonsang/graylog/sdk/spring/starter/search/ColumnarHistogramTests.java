@@ -0,0 +1,112 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.domain.ColumnarHistogram;
+import com.joonsang.graylog.sdk.spring.starter.domain.MetricColumn;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarHistogramTests {
+
+    private static final double NaN = Double.NaN;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Series> seriesList = List.of(
+        Series.builder().type(SeriesType.count).build(),
+        Series.builder().type(SeriesType.avg).field("took_ms").build()
+    );
+
+    private List<PivotRow> rows;
+
+    private ColumnarHistogram histogram;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SearchResponseReader reader = new SearchResponseReader(objectMapper);
+        rows = reader.read(
+            ColumnarHistogramTests.class.getResourceAsStream("/search/pivot-histogram.json"),
+            "histogram",
+            reader::readPivotRows
+        );
+
+        histogram = ColumnarResultReader.readHistogram(rows, seriesList);
+    }
+
+    @Test
+    void readsBucketTimestampsAsEpochMillis() {
+        assertThat(histogram.getSize()).isEqualTo(4);
+        assertThat(histogram.getTimestamps()).containsExactly(
+            1596196800000L,
+            1596196860000L,
+            1596196920000L,
+            1596196980000L
+        );
+    }
+
+    @Test
+    void readsValuesOfEverySeriesIntoColumns() {
+        List<MetricColumn> columns = histogram.getColumns();
+
+        assertThat(columns).extracting(MetricColumn::getType).containsExactly(
+            SeriesType.count, SeriesType.avg,
+            SeriesType.count, SeriesType.avg,
+            SeriesType.count, SeriesType.avg
+        );
+        assertThat(columns).extracting(column -> String.join(",", histogram.getColumnLabels(column)))
+            .containsExactly("", "", "GET", "GET", "POST", "POST");
+
+        assertThat(columns.get(0).getValues()).containsExactly(4.0, 2.0, 1.0, NaN);
+        assertThat(columns.get(1).getValues()).containsExactly(12.5, 8.0, 30.0, NaN);
+        assertThat(columns.get(2).getValues()).containsExactly(3.0, 2.0, NaN, NaN);
+        assertThat(columns.get(3).getValues()).containsExactly(10.0, 8.0, NaN, NaN);
+        assertThat(columns.get(4).getValues()).containsExactly(1.0, NaN, 1.0, NaN);
+        assertThat(columns.get(5).getValues()).containsExactly(20.0, NaN, 30.0, NaN);
+    }
+
+    @Test
+    void holdsMissingValuesAsNaN() {
+        MetricColumn post = histogram.getColumns().get(4);
+
+        assertThat(post.isRowColumn()).isFalse();
+        assertThat(Double.isNaN(post.getValue(1))).isTrue();
+        assertThat(Double.isNaN(post.getValue(3))).isTrue();
+        assertThat(MetricColumn.toStatisticsList(histogram.getColumns(), 3)).isEmpty();
+    }
+
+    @Test
+    void convertsToSameHistogramAsRowOrientedReading() {
+        GraylogApiProperties properties = new GraylogApiProperties();
+        Search search = new Search(new GraylogRequest(new OkHttpClient(), properties), properties, objectMapper);
+        SearchType searchType = SearchType.builder().series(seriesList).build();
+
+        JsonNode columnar = objectMapper.valueToTree(histogram.toHistogram());
+        JsonNode rowOriented = objectMapper.valueToTree(search.readHistogram(rows, searchType));
+
+        assertThat(columnar).isEqualTo(rowOriented);
+    }
+
+    @Test
+    void rejectsBucketKeyWhichIsNotTimestamp() {
+        List<PivotRow> terms = List.of(new PivotRow(List.of("example.org"), rows.get(0).getValues()));
+
+        assertThatThrownBy(() -> ColumnarResultReader.readHistogram(terms, seriesList))
+            .isInstanceOf(GraylogServerException.class)
+            .hasMessageContaining("example.org");
+    }
+}
@@ -0,0 +1,143 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.domain.ColumnarTerms;
+import com.joonsang.graylog.sdk.spring.starter.domain.MetricColumn;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTermsTests {
+
+    private static final double NaN = Double.NaN;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Series> seriesList = List.of(
+        Series.builder().type(SeriesType.count).build(),
+        Series.builder().type(SeriesType.avg).field("took_ms").build()
+    );
+
+    private List<PivotRow> rows;
+
+    private ColumnarTerms terms;
+
+    private MetricColumn count;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SearchResponseReader reader = new SearchResponseReader(objectMapper);
+        rows = reader.read(
+            ColumnarTermsTests.class.getResourceAsStream("/search/pivot-terms.json"),
+            "terms",
+            reader::readPivotRows
+        );
+
+        terms = ColumnarResultReader.readTerms(rows, seriesList);
+        count = terms.getColumns().get(0);
+    }
+
+    @Test
+    void readsMultiLevelRowKeys() {
+        assertThat(terms.getSize()).isEqualTo(5);
+        assertThat(terms.getBaseLabels(0)).containsExactly("a.example.org", "/login");
+        assertThat(terms.getBaseLabels(4)).containsExactly("c.example.org", "/");
+        assertThat(terms.getBaseLabel(3, 1)).isEqualTo("/home");
+        assertThat(terms.getBaseLabelCode(0, 0)).isEqualTo(terms.getBaseLabelCode(1, 0));
+        assertThat(terms.getBaseLabelCode(0, 1)).isEqualTo(terms.getBaseLabelCode(2, 1));
+        assertThat(terms.getBaseLabelCode(0, 0)).isNotEqualTo(terms.getBaseLabelCode(2, 0));
+
+        assertThatThrownBy(() -> terms.getBaseLabelCode(0, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void readsRowAndStackedColumns() {
+        List<MetricColumn> columns = terms.getColumns();
+
+        assertThat(columns).extracting(column -> String.join(",", terms.getColumnLabels(column)))
+            .containsExactly("", "", "GET", "POST");
+        assertThat(columns.get(0).getValues()).containsExactly(5.0, 9.0, 5.0, 1.0, NaN);
+        assertThat(columns.get(1).getValues()).containsExactly(10.0, 20.0, 30.0, 40.0, NaN);
+        assertThat(columns.get(2).getValues()).containsExactly(3.0, 9.0, NaN, 1.0, NaN);
+        assertThat(columns.get(3).getValues()).containsExactly(2.0, NaN, 5.0, NaN, NaN);
+    }
+
+    @Test
+    void selectsTopRowsInDescendingOrder() {
+        assertThat(terms.topRows(count, 1)).containsExactly(1);
+        assertThat(terms.topRows(terms.getColumns().get(1), 3)).containsExactly(3, 2, 1);
+        assertThat(terms.topRows(count, 0)).isEmpty();
+    }
+
+    @Test
+    void keepsTiedRowsInRowOrder() {
+        assertThat(terms.topRows(count, 2)).containsExactly(1, 0);
+        assertThat(terms.topRows(count, 3)).containsExactly(1, 0, 2);
+    }
+
+    @Test
+    void leavesOutRowsWithoutValueWhenLimitExceedsRowCount() {
+        assertThat(terms.topRows(count, 10)).containsExactly(1, 0, 2, 3);
+        assertThat(terms.topRows(terms.getColumns().get(3), 10)).containsExactly(2, 0);
+    }
+
+    @Test
+    void selectsTopRowsByStackedColumn() {
+        ColumnarTerms top = terms.top(terms.getColumns().get(2), 2);
+
+        assertThat(top.getSize()).isEqualTo(2);
+        assertThat(top.getBaseLabels(0)).containsExactly("a.example.org", "/home");
+        assertThat(top.getBaseLabels(1)).containsExactly("a.example.org", "/login");
+        assertThat(top.getColumns().get(2).getValues()).containsExactly(9.0, 3.0);
+        assertThat(top.getColumns().get(3).getValues()).containsExactly(NaN, 2.0);
+    }
+
+    @Test
+    void slicesRowsInGivenOrderSharingLabels() {
+        ColumnarTerms sliced = terms.slice(new int[] {3, 0});
+
+        assertThat(sliced.getSize()).isEqualTo(2);
+        assertThat(sliced.getLabels()).isSameAs(terms.getLabels());
+        assertThat(sliced.getBaseLabels(0)).containsExactly("b.example.org", "/home");
+        assertThat(sliced.getBaseLabels(1)).containsExactly("a.example.org", "/login");
+        assertThat(sliced.getRowKeyOffsets()).containsExactly(0, 2, 4);
+        assertThat(sliced.getColumns()).extracting(MetricColumn::getColumnKey)
+            .containsExactlyElementsOf(terms.getColumns().stream().map(MetricColumn::getColumnKey)::iterator);
+        assertThat(sliced.getColumns().get(0).getValues()).containsExactly(1.0, 5.0);
+        assertThat(sliced.getColumns().get(3).getValues()).containsExactly(NaN, 2.0);
+
+        assertThat(terms.slice(new int[0]).getSize()).isZero();
+    }
+
+    @Test
+    void convertsToSameTermsAsRowOrientedReading() {
+        GraylogApiProperties properties = new GraylogApiProperties();
+        Search search = new Search(new GraylogRequest(new OkHttpClient(), properties), properties, objectMapper);
+        SearchType searchType = SearchType.builder().series(seriesList).build();
+
+        JsonNode columnar = objectMapper.valueToTree(terms.toTerms());
+        JsonNode rowOriented = objectMapper.valueToTree(search.readTerms(rows, searchType));
+
+        assertThat(columnar).isEqualTo(rowOriented);
+
+        JsonNode topColumnar = objectMapper.valueToTree(terms.top(count, 2).toTerms());
+        JsonNode topRowOriented = objectMapper.valueToTree(
+            search.readTerms(List.of(rows.get(1), rows.get(0)), searchType)
+        );
+
+        assertThat(topColumnar).isEqualTo(topRowOriented);
+    }
+}
@@ -0,0 +1,173 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchKey;
+import com.joonsang.graylog.sdk.spring.starter.constant.IntervalTimeunit;
+import com.joonsang.graylog.sdk.spring.starter.constant.IntervalType;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Histogram;
+import com.joonsang.graylog.sdk.spring.starter.domain.Interval;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistogramBucketCacheTests {
+
+    private static final long MINUTE = 60000L;
+
+    private static final SearchKey KEY = SearchKey.of("histogram", "histogram-buckets");
+
+    private static final Interval ONE_MINUTE = Interval.builder()
+        .type(IntervalType.timeunit)
+        .timeunit(IntervalTimeunit.get(IntervalTimeunit.Unit.minutes, 1))
+        .build();
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2020-07-31T12:00:30Z").toEpochMilli());
+
+    private HistogramBucketCache cache;
+
+    @BeforeEach
+    void setUp() {
+        GraylogApiProperties.Cache properties = new GraylogApiProperties.Cache();
+        properties.setIncrementalHistogram(true);
+        properties.setHistogramSettleTime(0L);
+
+        cache = new HistogramBucketCache(properties, now::get);
+    }
+
+    @Test
+    void fetchesWholeRangeFirst() {
+        HistogramBucketCache.Plan plan = cache.plan(KEY, relative(3600), ONE_MINUTE);
+
+        assertThat(plan.getPeriods()).hasSize(1);
+        assertThat(labels(plan.splice(fetch(plan)))).isEqualTo(expectedLabels(3600));
+    }
+
+    @Test
+    void fetchesOnlyFirstBucketAndUnclosedBucketsWhenRangeMovesForward() {
+        HistogramBucketCache.Plan first = cache.plan(KEY, relative(3600), ONE_MINUTE);
+        first.splice(fetch(first));
+
+        now.addAndGet(2 * MINUTE);
+
+        HistogramBucketCache.Plan second = cache.plan(KEY, relative(3600), ONE_MINUTE);
+
+        assertThat(second.getPeriods()).hasSize(2);
+        assertThat(second.getPeriods().get(1).getFrom()).isEqualTo("2020-07-31T12:00:00Z");
+        assertThat(labels(second.splice(fetch(second)))).isEqualTo(expectedLabels(3600));
+    }
+
+    @Test
+    void fetchesWholeRangeWhenKeptBucketsDoNotCoverLongerRange() {
+        HistogramBucketCache.Plan shorter = cache.plan(KEY, relative(3600), ONE_MINUTE);
+        shorter.splice(fetch(shorter));
+
+        now.addAndGet(MINUTE);
+
+        HistogramBucketCache.Plan longer = cache.plan(KEY, relative(86400), ONE_MINUTE);
+
+        assertThat(longer.getPeriods()).hasSize(1);
+        assertThat(labels(longer.splice(fetch(longer)))).isEqualTo(expectedLabels(86400));
+
+        now.addAndGet(MINUTE);
+
+        HistogramBucketCache.Plan refresh = cache.plan(KEY, relative(86400), ONE_MINUTE);
+
+        assertThat(refresh.getPeriods()).hasSize(2);
+        assertThat(labels(refresh.splice(fetch(refresh)))).isEqualTo(expectedLabels(86400));
+    }
+
+    @Test
+    void reusesKeptBucketsForShorterRange() {
+        HistogramBucketCache.Plan longer = cache.plan(KEY, relative(86400), ONE_MINUTE);
+        longer.splice(fetch(longer));
+
+        now.addAndGet(MINUTE);
+
+        HistogramBucketCache.Plan shorter = cache.plan(KEY, relative(3600), ONE_MINUTE);
+
+        assertThat(shorter.getPeriods()).hasSize(2);
+        assertThat(labels(shorter.splice(fetch(shorter)))).isEqualTo(expectedLabels(3600));
+    }
+
+    @Test
+    void keepsBucketsOnlyAfterSettleTime() {
+        GraylogApiProperties.Cache properties = new GraylogApiProperties.Cache();
+        properties.setIncrementalHistogram(true);
+        properties.setHistogramSettleTime(5 * MINUTE);
+        cache = new HistogramBucketCache(properties, now::get);
+
+        HistogramBucketCache.Plan first = cache.plan(KEY, relative(3600), ONE_MINUTE);
+        first.splice(fetch(first));
+
+        now.addAndGet(MINUTE);
+
+        HistogramBucketCache.Plan second = cache.plan(KEY, relative(3600), ONE_MINUTE);
+
+        assertThat(second.getPeriods().get(1).getFrom()).isEqualTo("2020-07-31T11:55:00Z");
+        assertThat(labels(second.splice(fetch(second)))).isEqualTo(expectedLabels(3600));
+    }
+
+    @Test
+    void acceptsOnlyIntervalsOfFixedLength() {
+        assertThat(cache.accepts(relative(3600), ONE_MINUTE)).isTrue();
+        assertThat(cache.accepts(relative(86400 * 30), timeunit(IntervalTimeunit.Unit.days))).isTrue();
+        assertThat(cache.accepts(relative(86400 * 30), timeunit(IntervalTimeunit.Unit.weeks))).isFalse();
+        assertThat(cache.accepts(relative(86400 * 365), timeunit(IntervalTimeunit.Unit.months))).isFalse();
+        assertThat(cache.accepts(relative(3600), Interval.builder().type(IntervalType.auto).scaling(1).build()))
+            .isFalse();
+    }
+
+    private static Timerange relative(int range) {
+        return Timerange.builder().type(TimeRangeType.relative).range(range).build();
+    }
+
+    private static Interval timeunit(IntervalTimeunit.Unit unit) {
+        return Interval.builder().type(IntervalType.timeunit).timeunit(IntervalTimeunit.get(unit, 1)).build();
+    }
+
+    /**
+     * Buckets Graylog answers with for each period: one per minute starting within the period.
+     */
+    private static List<Histogram> fetch(HistogramBucketCache.Plan plan) {
+        List<Histogram> histograms = new ArrayList<>();
+
+        for (Timerange period : plan.getPeriods()) {
+            long from = Instant.parse(period.getFrom()).toEpochMilli();
+            long to = Instant.parse(period.getTo()).toEpochMilli();
+            List<Histogram.HistogramData> buckets = new ArrayList<>();
+
+            for (long bucket = Math.floorDiv(from, MINUTE) * MINUTE; bucket < to; bucket += MINUTE) {
+                String baseLabel = Instant.ofEpochMilli(bucket).toString();
+
+                buckets.add(Histogram.HistogramData.builder().baseLabel(baseLabel).build());
+            }
+
+            histograms.add(Histogram.builder().histogram(buckets).build());
+        }
+
+        return histograms;
+    }
+
+    private List<String> expectedLabels(int range) {
+        return fetch(cache.plan(SearchKey.of("expected", "histogram-buckets"), relative(range), ONE_MINUTE)).get(0)
+            .getHistogram()
+            .stream()
+            .map(Histogram.HistogramData::getBaseLabel)
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> labels(Histogram histogram) {
+        return histogram.getHistogram().stream()
+            .map(Histogram.HistogramData::getBaseLabel)
+            .collect(Collectors.toList());
+    }
+}
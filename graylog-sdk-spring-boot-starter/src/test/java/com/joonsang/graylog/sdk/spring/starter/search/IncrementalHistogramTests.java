@@ -0,0 +1,120 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchResultCache;
+import com.joonsang.graylog.sdk.spring.starter.constant.IntervalTimeunit;
+import com.joonsang.graylog.sdk.spring.starter.constant.IntervalType;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Interval;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalHistogramTests {
+
+    private static final Timerange LAST_HOUR = Timerange.builder().type(TimeRangeType.relative).range(3600).build();
+
+    private static final Interval ONE_MINUTE = Interval.builder()
+        .type(IntervalType.timeunit)
+        .timeunit(IntervalTimeunit.get(IntervalTimeunit.Unit.minutes, 1))
+        .build();
+
+    private static final List<Series> COUNT = List.of(Series.builder().type(SeriesType.count).build());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MockWebServer server = new MockWebServer();
+
+    private SearchResultCache resultCache;
+
+    private Search search;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.setDispatcher(new EmptyResultsDispatcher());
+        server.start();
+
+        GraylogApiProperties properties = new GraylogApiProperties();
+        properties.setHost(server.getHostName());
+        properties.setPort(server.getPort());
+        properties.getCache().setEnabled(true);
+        properties.getCache().setCoalescing(true);
+        properties.getCache().setIncrementalHistogram(true);
+        properties.getCache().setHistogramSettleTime(0L);
+
+        resultCache = new SearchResultCache(properties.getCache());
+        search = new Search(
+            new GraylogRequest(new OkHttpClient(), properties),
+            properties,
+            objectMapper,
+            resultCache,
+            IdStrategies.get()
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        resultCache.close();
+        server.shutdown();
+    }
+
+    @Test
+    void refreshesBypassResultCache() throws Exception {
+        search.getHistogram(LAST_HOUR, ONE_MINUTE, "*", COUNT, List.of(), List.of());
+        TimeUnit.MILLISECONDS.sleep(5L);
+        search.getHistogram(LAST_HOUR, ONE_MINUTE, "*", COUNT, List.of(), List.of());
+        search.getHistogramAsync(LAST_HOUR, ONE_MINUTE, "*", COUNT, List.of(), List.of()).get(5, TimeUnit.SECONDS);
+
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        assertThat(resultCache.size()).isZero();
+        assertThat(resultCache.stats().requestCount()).isZero();
+    }
+
+    /**
+     * Answers every search type of a synchronous search with no rows.
+     */
+    private class EmptyResultsDispatcher extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            try {
+                JsonNode searchSpec = objectMapper.readTree(request.getBody().readUtf8());
+                ObjectNode results = objectMapper.createObjectNode();
+
+                for (JsonNode query : searchSpec.path("queries")) {
+                    ObjectNode searchTypes = results.putObject(query.path("id").asText()).putObject("search_types");
+
+                    for (JsonNode searchType : query.path("search_types")) {
+                        searchTypes.putObject(searchType.path("id").asText()).putArray("rows");
+                    }
+                }
+
+                ObjectNode response = objectMapper.createObjectNode();
+                response.set("results", results);
+
+                return new MockResponse().setBody(objectMapper.writeValueAsString(response));
+            } catch (IOException e) {
+                return new MockResponse().setResponseCode(400);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Histogram;
+import com.joonsang.graylog.sdk.spring.starter.domain.HistogramComparison;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeriodAlignmentTests {
+
+    @Test
+    void alignsBucketsByOffsetFromPeriodStart() {
+        List<Timerange> periods = List.of(
+            absolute("2020-07-31T09:00:00Z", "2020-07-31T10:00:00Z"),
+            absolute("2020-07-30T09:00:00Z", "2020-07-30T10:00:00Z")
+        );
+        List<Histogram> histograms = List.of(
+            histogram("2020-07-31T09:00:00.000Z", "2020-07-31T09:30:00.000Z"),
+            histogram("2020-07-30T09:30:00.000Z")
+        );
+
+        HistogramComparison comparison = PeriodAlignment.alignHistograms(periods, histograms);
+
+        assertThat(comparison.getHistograms()).isSameAs(histograms);
+        assertThat(comparison.getComparison()).extracting(HistogramComparison.ComparisonData::getOffset)
+            .containsExactly(0L, 1800000L);
+        assertThat(comparison.getComparison().get(0).getPeriods().get(1)).isNull();
+        assertThat(comparison.getComparison().get(1).getPeriods())
+            .extracting(Histogram.HistogramData::getBaseLabel)
+            .containsExactly("2020-07-31T09:30:00.000Z", "2020-07-30T09:30:00.000Z");
+    }
+
+    @Test
+    void startsPeriodAtFirstBucketUnlessAbsolute() {
+        List<Timerange> periods = List.of(
+            Timerange.builder().type(TimeRangeType.keyword).keyword("yesterday").build()
+        );
+
+        HistogramComparison comparison = PeriodAlignment.alignHistograms(
+            periods,
+            List.of(histogram("2020-07-30T00:00:00.000Z", "2020-07-30T01:00:00.000Z"))
+        );
+
+        assertThat(comparison.getComparison()).extracting(HistogramComparison.ComparisonData::getOffset)
+            .containsExactly(0L, 3600000L);
+    }
+
+    private static Timerange absolute(String from, String to) {
+        return Timerange.builder().type(TimeRangeType.absolute).from(from).to(to).build();
+    }
+
+    private static Histogram histogram(String... baseLabels) {
+        return Histogram.builder()
+            .histogram(
+                Arrays.stream(baseLabels)
+                    .map(baseLabel -> Histogram.HistogramData.builder().baseLabel(baseLabel).build())
+                    .collect(Collectors.toList())
+            )
+            .build();
+    }
+}
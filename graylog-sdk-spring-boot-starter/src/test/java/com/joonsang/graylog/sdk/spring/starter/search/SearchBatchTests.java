@@ -0,0 +1,127 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.cache.SearchResultCache;
+import com.joonsang.graylog.sdk.spring.starter.constant.IdGeneration;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Parameter;
+import com.joonsang.graylog.sdk.spring.starter.domain.Query;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchSpec;
+import com.joonsang.graylog.sdk.spring.starter.domain.SearchType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategies;
+import com.joonsang.graylog.sdk.spring.starter.id.IdStrategy;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SearchBatchTests {
+
+    private static final Timerange TIMERANGE = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+    private static final List<Series> COUNT = List.of(Series.builder().type(SeriesType.count).build());
+
+    @Test
+    void namesSearchTypesAfterTheirPosition() {
+        SearchBatch batch = search(IdStrategies.of(IdGeneration.DETERMINISTIC)).batch(TIMERANGE, "*", List.of());
+        batch.statistics(COUNT);
+        batch.statistics(COUNT);
+        batch.histogram(null, COUNT, List.of());
+
+        List<SearchType> searchTypes = searchTypes(batch);
+
+        assertThat(searchTypes).extracting(SearchType::getName).containsExactly("batch-0", "batch-1", "batch-2");
+        assertThat(searchTypes.stream().map(SearchType::getId).distinct()).hasSize(3);
+    }
+
+    @Test
+    void derivesSameIdsForSameBatch() {
+        Search search = search(IdStrategies.of(IdGeneration.DETERMINISTIC));
+        SearchBatch batch = search.batch(TIMERANGE, "*", List.of());
+        SearchBatch sameBatch = search.batch(TIMERANGE, "*", List.of());
+        batch.statistics(COUNT);
+        sameBatch.statistics(COUNT);
+
+        assertThat(ids(batch)).isEqualTo(ids(sameBatch));
+    }
+
+    @Test
+    void rejectsSearchTypesSharingId() {
+        IdStrategy constant = new IdStrategy() {
+            @Override
+            public String searchSpecId(SearchSpec searchSpec) {
+                return "5f23aa2a0f4b8a3b4f7a0d11";
+            }
+
+            @Override
+            public String queryId(Query query) {
+                return "query";
+            }
+
+            @Override
+            public String searchTypeId(SearchType searchType) {
+                return "search-type";
+            }
+        };
+
+        SearchBatch batch = search(constant).batch(TIMERANGE, "*", List.of());
+        batch.statistics(COUNT);
+        batch.messages(10, 0, null);
+
+        assertThatIllegalStateException().isThrownBy(batch::buildSearchSpec).withMessageContaining("search-type");
+    }
+
+    @Test
+    void bindsParametersInsteadOfWritingValuesIntoQuery() {
+        SearchBatch batch = search(IdStrategies.of(IdGeneration.SEQUENTIAL))
+            .batch(TIMERANGE, "source:$host$", List.of());
+        batch.parameter(Parameter.of("host", "example.org \"quoted\""));
+        batch.statistics(COUNT);
+
+        SearchSpec searchSpec = batch.buildSearchSpec();
+        JsonNode parameter = new ObjectMapper().valueToTree(searchSpec).path("parameters").path(0);
+
+        assertThat(searchSpec.getQueries().get(0).getQuery().getQueryString()).isEqualTo("source:$host$");
+        assertThat(parameter.path("name").asText()).isEqualTo("host");
+        assertThat(parameter.path("data_type").asText()).isEqualTo("any");
+        assertThat(parameter.path("binding").path("value").asText()).isEqualTo("example.org \"quoted\"");
+    }
+
+    @Test
+    void rejectsEmptyBatch() {
+        SearchBatch batch = search(IdStrategies.of(IdGeneration.SEQUENTIAL)).batch(TIMERANGE, "*", List.of());
+
+        assertThatIllegalStateException().isThrownBy(batch::buildSearchSpec);
+    }
+
+    private static Search search(IdStrategy idStrategy) {
+        GraylogApiProperties properties = new GraylogApiProperties();
+        GraylogRequest request = new GraylogRequest(new OkHttpClient(), properties);
+
+        return new Search(
+            request,
+            properties,
+            new ObjectMapper(),
+            new SearchResultCache(properties.getCache()),
+            idStrategy
+        );
+    }
+
+    private static List<SearchType> searchTypes(SearchBatch batch) {
+        return batch.buildSearchSpec().getQueries().get(0).getSearchTypes();
+    }
+
+    private static List<String> ids(SearchBatch batch) {
+        return searchTypes(batch).stream().map(SearchType::getId).collect(Collectors.toList());
+    }
+}
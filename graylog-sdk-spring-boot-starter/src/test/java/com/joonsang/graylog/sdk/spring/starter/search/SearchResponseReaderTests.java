@@ -0,0 +1,130 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.domain.MessageList;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.TypedMessageList;
+import com.joonsang.graylog.sdk.spring.starter.exception.GraylogServerException;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchResponseReaderTests {
+
+    private final SearchResponseReader reader = new SearchResponseReader(
+        new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+    );
+
+    @Test
+    void readsOnlyRequestedSearchTypesAcrossQueries() throws IOException {
+        Map<String, Object> results = reader.read(
+            fixture("sync-search-response.json"),
+            Map.of("messages", reader::readMessageList, "pivot", reader::readPivotRows)
+        );
+
+        assertThat(results).containsOnlyKeys("messages", "pivot");
+
+        MessageList messageList = (MessageList) results.get("messages");
+
+        assertThat(messageList.getTotalCount()).isEqualTo(42);
+        assertThat(messageList.getMessages()).hasSize(2);
+        assertThat(messageList.getMessages().get(0).get("message").get("_id")).isEqualTo("a");
+        assertThat(messageList.getMessages().get(1)).containsKeys("message", "index");
+    }
+
+    @Test
+    void readsSearchTypeOfOtherQuery() throws IOException {
+        List<PivotRow> rows = reader.read(fixture("sync-search-response.json"), "other-pivot", reader::readPivotRows);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getKey()).containsExactly("other");
+    }
+
+    @Test
+    void keepsLeafRowsAndLeafValuesOnly() throws IOException {
+        List<PivotRow> rows = reader.read(fixture("sync-search-response.json"), "pivot", reader::readPivotRows);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getKey()).containsExactly("example.org", "GET");
+        assertThat(rows.get(1).getKey()).containsExactly("example.org", "POST");
+
+        List<PivotRow.PivotValue> getValues = rows.get(0).getValues();
+
+        assertThat(getValues).extracting(PivotRow.PivotValue::getSource).containsExactly("col-leaf", "row-leaf");
+        assertThat(getValues.get(0).getKey()).containsExactly("200", "count()");
+        assertThat(getValues.get(0).getValue().intValue()).isEqualTo(7);
+        assertThat(getValues.get(1).getValue().intValue()).isEqualTo(9);
+
+        List<PivotRow.PivotValue> postValues = rows.get(1).getValues();
+
+        assertThat(postValues.get(0).getValue().doubleValue()).isEqualTo(12.5);
+        assertThat(postValues.get(1).getValue()).isNull();
+    }
+
+    @Test
+    void bindsMessagesIntoMessageClass() throws IOException {
+        TypedMessageList<Message> messageList = reader.read(
+            fixture("sync-search-response.json"),
+            "messages",
+            reader.typedMessageListReader(Message.class)
+        );
+
+        assertThat(messageList.getTotalCount()).isEqualTo(42);
+        assertThat(messageList.getMessages()).extracting(Message::getMessage)
+            .containsExactly("first message", "second message");
+        assertThat(messageList.getMessages()).extracting(Message::getSource)
+            .containsOnly("example.org");
+    }
+
+    @Test
+    void reportsCollectedErrorsWhenSearchTypeResultIsMissing() {
+        assertThatThrownBy(() -> reader.read(fixture("sync-search-errors.json"), "pivot", reader::readPivotRows))
+            .isInstanceOf(GraylogServerException.class)
+            .hasMessageContaining("search type pivot")
+            .hasMessageContaining("Search failed on stream")
+            .hasMessageContaining("Failed to parse query [source:(]")
+            .hasMessageContaining("plain error");
+    }
+
+    @Test
+    void reportsMissingSearchTypeResultWithoutErrors() {
+        assertThatThrownBy(() -> reader.read(fixture("sync-search-response.json"), "absent", reader::readPivotRows))
+            .isInstanceOf(GraylogServerException.class)
+            .hasMessage("Graylog server responded without result of search type absent.");
+    }
+
+    @Test
+    void rejectsResponseOtherThanObject() {
+        InputStream response = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> reader.read(response, "pivot", reader::readPivotRows))
+            .isInstanceOf(GraylogServerException.class)
+            .hasMessageContaining("START_OBJECT");
+    }
+
+    private static InputStream fixture(String name) {
+        return SearchResponseReaderTests.class.getResourceAsStream("/search/" + name);
+    }
+
+    @Getter
+    @Setter
+    static class Message {
+
+        private String message;
+
+        private String source;
+
+        private String timestamp;
+    }
+}
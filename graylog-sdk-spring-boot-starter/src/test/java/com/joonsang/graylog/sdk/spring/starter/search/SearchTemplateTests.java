@@ -0,0 +1,70 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.GraylogRequest;
+import com.joonsang.graylog.sdk.spring.starter.autoconfigure.GraylogApiProperties;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Parameter;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.domain.Statistics;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTemplateTests {
+
+    private static final Timerange TIMERANGE = Timerange.builder().type(TimeRangeType.relative).range(300).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SearchTemplate<List<Statistics>> template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        GraylogApiProperties properties = new GraylogApiProperties();
+        Search search = new Search(new GraylogRequest(new OkHttpClient(), properties), properties, objectMapper);
+
+        template = search.statisticsTemplate(
+            List.of(Series.builder().type(SeriesType.count).build()),
+            List.of("stream")
+        );
+    }
+
+    @Test
+    void splicesVariablePartsIntoSkeleton() throws IOException {
+        JsonNode spec = render(TIMERANGE, "source:\"example.org\"", List.of(Parameter.of("host", "example.org")));
+        JsonNode query = spec.path("queries").path(0);
+
+        assertThat(query.path("query").path("query_string").asText()).isEqualTo("source:\"example.org\"");
+        assertThat(query.path("timerange")).isEqualTo(objectMapper.valueToTree(TIMERANGE));
+        assertThat(spec.path("parameters").path(0).path("name").asText()).isEqualTo("host");
+        assertThat(query.path("search_types").path(0).path("series").path(0).path("type").asText())
+            .isEqualTo("count");
+        assertThat(query.path("filter").toString()).contains("stream");
+    }
+
+    @Test
+    void keepsIdsFixedAcrossExecutions() throws IOException {
+        JsonNode first = render(TIMERANGE, "*", List.of());
+        JsonNode second = render(Timerange.builder().type(TimeRangeType.relative).range(60).build(), "error", null);
+
+        assertThat(second.path("id")).isEqualTo(first.path("id"));
+        assertThat(second.path("queries").path(0).path("id")).isEqualTo(first.path("queries").path(0).path("id"));
+        assertThat(second.path("queries").path(0).path("search_types").path(0).path("id"))
+            .isEqualTo(first.path("queries").path(0).path("search_types").path(0).path("id"));
+        assertThat(second.path("parameters").isArray()).isTrue();
+        assertThat(second.path("parameters")).isEmpty();
+    }
+
+    private JsonNode render(Timerange timerange, String searchQuery, List<Parameter> parameters) throws IOException {
+        return objectMapper.readTree(template.render(timerange, searchQuery, parameters));
+    }
+}
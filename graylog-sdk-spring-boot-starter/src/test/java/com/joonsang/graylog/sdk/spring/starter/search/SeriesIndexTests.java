@@ -0,0 +1,111 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joonsang.graylog.sdk.spring.starter.constant.SeriesType;
+import com.joonsang.graylog.sdk.spring.starter.domain.PivotRow;
+import com.joonsang.graylog.sdk.spring.starter.domain.Series;
+import com.joonsang.graylog.sdk.spring.starter.domain.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesIndexTests {
+
+    private static final String FIELD = "took_ms";
+
+    private SeriesIndex seriesIndex;
+
+    private PivotRow row;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<Series> seriesList = new ArrayList<>();
+
+        for (SeriesType type : SeriesType.values()) {
+            if (type == SeriesType.count) {
+                continue;
+            }
+
+            if (type == SeriesType.percentile) {
+                seriesList.add(Series.builder().type(type).field(FIELD).percentile(95.0f).build());
+                seriesList.add(Series.builder().type(type).field(FIELD).percentile(99.0f).build());
+            } else {
+                seriesList.add(Series.builder().type(type).field(FIELD).build());
+            }
+        }
+
+        seriesList.add(Series.builder().type(SeriesType.count).build());
+
+        seriesIndex = new SeriesIndex(seriesList);
+
+        SearchResponseReader reader = new SearchResponseReader(new ObjectMapper());
+        List<PivotRow> rows = reader.read(
+            SeriesIndexTests.class.getResourceAsStream("/search/pivot-every-series.json"),
+            "pivot",
+            reader::readPivotRows
+        );
+
+        row = rows.get(0);
+    }
+
+    @Test
+    void fillsEverySeriesTypeIntoItsOwnField() {
+        List<Statistics> statisticsList = seriesIndex.fill(row.getValues()).getStatisticsList();
+
+        assertThat(statisticsList).extracting(Statistics::getField).containsExactly(FIELD, "");
+
+        Statistics statistics = statisticsList.get(0);
+
+        assertThat(statistics.getAverage()).isEqualTo(12.5);
+        assertThat(statistics.getCardinality()).isEqualTo(3);
+        assertThat(statistics.getMax()).isEqualTo(99.5);
+        assertThat(statistics.getMin()).isEqualTo(0.5);
+        assertThat(statistics.getStdDeviation()).isEqualTo(2.25);
+        assertThat(statistics.getSum()).isEqualTo(525.0);
+        assertThat(statistics.getSumOfSquares()).isEqualTo(7000.0);
+        assertThat(statistics.getVariance()).isEqualTo(5.0625);
+        assertThat(statistics.getPercentiles()).containsExactly(80.0, 97.0);
+        assertThat(statistics.getPercentileRanks()).containsExactly("95.0", "99.0");
+        assertThat(statistics.getCount()).isNull();
+
+        assertThat(statisticsList.get(1).getCount()).isEqualTo(42);
+        assertThat(statisticsList.get(1).getSum()).isNull();
+    }
+
+    @Test
+    void fillsStackedColumnsByColumnLabels() {
+        Map<List<String>, List<Statistics>> columns = seriesIndex.fill(row.getValues()).getColumns();
+
+        assertThat(columns).containsOnlyKeys(List.of("GET"), List.of("POST"));
+
+        List<Statistics> get = columns.get(List.of("GET"));
+
+        assertThat(get).extracting(Statistics::getField).containsExactly(FIELD, "");
+        assertThat(get.get(0).getAverage()).isEqualTo(10.0);
+        assertThat(get.get(1).getCount()).isEqualTo(30);
+
+        List<Statistics> post = columns.get(List.of("POST"));
+
+        assertThat(post.get(0).getAverage()).isEqualTo(18.75);
+        assertThat(post.get(1).getCount()).isEqualTo(12);
+    }
+
+    @Test
+    void visitsKnownSeriesOfLeafValuesOnly() {
+        List<String> visited = new ArrayList<>();
+
+        seriesIndex.visit(
+            row.getValues(),
+            (columnValue, columnLabels, seriesSlot, value) -> visited.add(columnLabels + " " + seriesSlot.getType())
+        );
+
+        assertThat(visited).hasSize(15);
+        assertThat(visited).startsWith("[GET] count", "[GET] avg", "[POST] count", "[POST] avg", "[] avg");
+    }
+}
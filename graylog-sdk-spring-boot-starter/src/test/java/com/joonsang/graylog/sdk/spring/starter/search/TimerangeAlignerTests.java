@@ -0,0 +1,88 @@
+package com.joonsang.graylog.sdk.spring.starter.search;
+
+import com.joonsang.graylog.sdk.spring.starter.constant.TimeRangeType;
+import com.joonsang.graylog.sdk.spring.starter.domain.Timerange;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerangeAlignerTests {
+
+    private static final long NOW = Instant.parse("2020-07-31T12:00:42.500Z").toEpochMilli();
+
+    private static final long MINUTE = 60000L;
+
+    @Test
+    void leavesTimerangesAsTheyAreWhenDisabled() {
+        TimerangeAligner aligner = new TimerangeAligner(0L, () -> NOW);
+        Timerange relative = relative(300);
+
+        assertThat(aligner.isEnabled()).isFalse();
+        assertThat(aligner.align(relative)).isSameAs(relative);
+    }
+
+    @Test
+    void alignsRelativeTimerangeToGrid() {
+        Timerange aligned = new TimerangeAligner(MINUTE, () -> NOW).align(relative(300));
+
+        assertThat(aligned.getType()).isEqualTo(TimeRangeType.absolute);
+        assertThat(aligned.getFrom()).isEqualTo("2020-07-31T11:55:00Z");
+        assertThat(aligned.getTo()).isEqualTo("2020-07-31T12:00:00Z");
+    }
+
+    @Test
+    void alignsLastKeywordsOnly() {
+        TimerangeAligner aligner = new TimerangeAligner(MINUTE, () -> NOW);
+        Timerange yesterday = keyword("yesterday");
+
+        assertThat(aligner.align(keyword("Last 5 minutes")).getFrom()).isEqualTo("2020-07-31T11:55:00Z");
+        assertThat(aligner.align(keyword("last hour")).getFrom()).isEqualTo("2020-07-31T11:00:00Z");
+        assertThat(aligner.align(yesterday)).isSameAs(yesterday);
+    }
+
+    @Test
+    void leavesAllMessagesAndAbsoluteTimerangesAsTheyAre() {
+        TimerangeAligner aligner = new TimerangeAligner(MINUTE, () -> NOW);
+        Timerange allMessages = relative(0);
+        Timerange absolute = Timerange.builder()
+            .type(TimeRangeType.absolute)
+            .from("2020-07-31T09:00:00Z")
+            .to("2020-07-31T10:00:00Z")
+            .build();
+
+        assertThat(aligner.align(allMessages)).isSameAs(allMessages);
+        assertThat(aligner.align(absolute)).isSameAs(absolute);
+    }
+
+    @Test
+    void resolvesPeriodsToSameEndWithoutGrid() {
+        long[] clock = {NOW};
+        TimerangeAligner aligner = new TimerangeAligner(0L, () -> clock[0]++);
+
+        List<Timerange> resolved = aligner.resolve(List.of(relative(3600), keyword("last 1 day"), keyword("today")));
+
+        assertThat(resolved.get(0).getTo()).isEqualTo("2020-07-31T12:00:42.500Z");
+        assertThat(resolved.get(1).getTo()).isEqualTo(resolved.get(0).getTo());
+        assertThat(resolved.get(1).getFrom()).isEqualTo("2020-07-30T12:00:42.500Z");
+        assertThat(resolved.get(2).getType()).isEqualTo(TimeRangeType.keyword);
+    }
+
+    @Test
+    void resolvesPeriodsToGridWhenEnabled() {
+        List<Timerange> resolved = new TimerangeAligner(MINUTE, () -> NOW).resolve(List.of(relative(3600)));
+
+        assertThat(resolved.get(0).getFrom()).isEqualTo("2020-07-31T11:00:00Z");
+        assertThat(resolved.get(0).getTo()).isEqualTo("2020-07-31T12:00:00Z");
+    }
+
+    private static Timerange relative(int range) {
+        return Timerange.builder().type(TimeRangeType.relative).range(range).build();
+    }
+
+    private static Timerange keyword(String keyword) {
+        return Timerange.builder().type(TimeRangeType.keyword).keyword(keyword).build();
+    }
+}